@@ -0,0 +1,84 @@
+package qa.combined_approach.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.OntologyToProgram;
+import qa.combined_approach.Program;
+import qa.combined_approach.Util;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Rule;
+
+/**
+ * Benchmarks the {@link Util} file writers, writing the rules and facts of a compiled program.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileWriterBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int tboxSize;
+
+	private List<Rule> rules;
+	private List<Atom> facts;
+	private File file;
+
+	@Setup
+	public void setup() throws OWLOntologyCreationException, IOException {
+		final Program program = new OntologyToProgram(SyntheticTBox.create(tboxSize)).getProgram();
+		rules = program.getRules();
+		facts = program.getFacts();
+		file = File.createTempFile("benchmark", ".txt");
+	}
+
+	/**
+	 * The file writers append, so the file is truncated before each call, for them to write the same amount of data. Each call opens, writes and closes
+	 * the file, which takes much longer than the truncation, so the invocation-level setup does not distort the measurement.
+	 *
+	 * @throws IOException
+	 */
+	@Setup(Level.Invocation)
+	public void truncate() throws IOException {
+		Util.initializeFile(file);
+	}
+
+	@TearDown
+	public void delete() {
+		file.delete();
+	}
+
+	@Benchmark
+	public void appendRulesToFile() throws IOException {
+		Util.appendRulesToFile(rules, file);
+	}
+
+	@Benchmark
+	public void appendFactsToFile() throws IOException {
+		Util.appendFactsToFile(facts, file);
+	}
+
+}
@@ -0,0 +1,84 @@
+package qa.combined_approach.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+
+import qa.combined_approach.AxiomsToRules;
+import qa.combined_approach.OntologyToProgram;
+import qa.combined_approach.Program;
+import qa.combined_approach.SuperProperties;
+
+/**
+ * Benchmarks compiling a TBox into a program: the whole {@link OntologyToProgram} construction, and its stages {@link AxiomsToRules#collectRules} and
+ * {@link SuperProperties#computeSuperProperties()}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgramCompilationBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int tboxSize;
+
+	private OWLOntology ontology;
+	private List<OWLAxiom> axioms;
+	private List<OWLSubObjectPropertyOfAxiom> roleSubsumptions;
+
+	@Setup
+	public void setup() throws OWLOntologyCreationException {
+		ontology = SyntheticTBox.create(tboxSize);
+		axioms = ontology.logicalAxioms().collect(Collectors.toList());
+		roleSubsumptions = axioms.stream().filter(axiom -> axiom instanceof OWLSubObjectPropertyOfAxiom).map(axiom -> (OWLSubObjectPropertyOfAxiom) axiom)
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public Program ontologyToProgram() {
+		return new OntologyToProgram(ontology).getProgram();
+	}
+
+	@Benchmark
+	public Program collectRules() {
+		final Program program = new Program();
+		for (final OWLAxiom axiom : axioms) {
+			AxiomsToRules.collectRules(axiom, program);
+		}
+		return program;
+	}
+
+	@Benchmark
+	public SuperProperties computeSuperProperties() {
+		final SuperProperties superProperties = new SuperProperties();
+		for (final OWLSubObjectPropertyOfAxiom axiom : roleSubsumptions) {
+			superProperties.addPropertyAndItsInverse(axiom.getSubProperty());
+			superProperties.addPropertyAndItsInverse(axiom.getSuperProperty());
+			superProperties.addPropertySubsumptionAndItsInverse(axiom.getSubProperty(), axiom.getSuperProperty());
+		}
+		superProperties.computeSuperProperties();
+		return superProperties;
+	}
+
+}
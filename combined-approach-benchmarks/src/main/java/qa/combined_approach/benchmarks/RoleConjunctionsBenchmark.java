@@ -0,0 +1,80 @@
+package qa.combined_approach.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.ActiveRoleConjunctions;
+import qa.combined_approach.OntologyToProgram;
+import qa.combined_approach.Program;
+
+/**
+ * Benchmarks {@link ActiveRoleConjunctions#getRoleConjunctionsContainingRole}, which is called for every universal and at-most-one axiom in every
+ * materialisation iteration. Besides the initial role conjunctions of the TBox, role conjunctions of random pairs of roles are activated, as during
+ * materialisation.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleConjunctionsBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int tboxSize;
+
+	private ActiveRoleConjunctions activeRoleConjunctions;
+	private List<OWLObjectPropertyExpression> roles;
+
+	@Setup
+	public void setup() throws OWLOntologyCreationException {
+		final Program program = new OntologyToProgram(SyntheticTBox.create(tboxSize)).getProgram();
+		activeRoleConjunctions = program.getActiveRoleConjunctions();
+		roles = new ArrayList<>(program.getSuperProperties().getSuperProperties().keySet());
+
+		final Random random = new Random(tboxSize);
+		for (int i = 0; i < roles.size(); i++) {
+			final Set<OWLObjectPropertyExpression> roleSet = new HashSet<>();
+			roleSet.add(roles.get(random.nextInt(roles.size())));
+			roleSet.add(roles.get(random.nextInt(roles.size())));
+			if (activeRoleConjunctions.getRoleConjunctionName(roleSet) == null) {
+				activeRoleConjunctions.addRoleConjunction(roleSet);
+			}
+		}
+	}
+
+	/**
+	 * Looks up the role conjunctions containing each role of the TBox.
+	 *
+	 * @param blackhole
+	 */
+	@Benchmark
+	public void getRoleConjunctionsContainingRole(final Blackhole blackhole) {
+		for (final OWLObjectPropertyExpression role : roles) {
+			blackhole.consume(activeRoleConjunctions.getRoleConjunctionsContainingRole(role));
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package qa.combined_approach.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.OntologyToProgram;
+import qa.combined_approach.Program;
+import qa.combined_approach.Util;
+import qa.combined_approach.rules.Query;
+import qa.combined_approach.rules.Rule;
+
+/**
+ * Benchmarks the serialisation of a compiled program to strings: {@link Rule#toRDFOxFormat()} and {@link Query#toSPARQLQuery()} (for queries with the
+ * bodies of the program rules). The {@link Util} file writers are benchmarked by {@link FileWriterBenchmark}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int tboxSize;
+
+	private List<Rule> rules;
+	private List<Query> queries;
+
+	@Setup
+	public void setup() throws OWLOntologyCreationException {
+		final Program program = new OntologyToProgram(SyntheticTBox.create(tboxSize)).getProgram();
+		rules = program.getRules();
+		queries = new ArrayList<>();
+		for (final Rule rule : rules) {
+			queries.add(new Query(Util.VAR_X, rule.getBody()));
+		}
+	}
+
+	@Benchmark
+	public void ruleToRDFOxFormat(final Blackhole blackhole) {
+		for (final Rule rule : rules) {
+			blackhole.consume(rule.toRDFOxFormat());
+		}
+	}
+
+	@Benchmark
+	public void queryToSPARQLQuery(final Blackhole blackhole) {
+		for (final Query query : queries) {
+			blackhole.consume(query.toSPARQLQuery());
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package qa.combined_approach.benchmarks;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+
+/**
+ * Normalised Horn-ALCHOIQ TBox of a given size, with a fixed seed, as input for the benchmarks. For a size n, there are n classes, n / 10 roles in
+ * hierarchies of depth 2, and about n axioms: 40% of type (1), 25% existential, 20% universal, 5% at-most-one and 2% nominal axioms.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class SyntheticTBox {
+
+	private SyntheticTBox() {
+	}
+
+	static OWLOntology create(final int size) throws OWLOntologyCreationException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		generator.setSeed(size);
+		generator.setClasses(size);
+		generator.setRoles(Math.max(2, size / 10));
+		generator.setConceptConjunctionAxioms(size * 40 / 100);
+		generator.setExistentialAxioms(size * 25 / 100);
+		generator.setUniversalAxioms(size * 20 / 100);
+		generator.setAtMostOneAxioms(size * 5 / 100);
+		generator.setNominalAxioms(size * 2 / 100);
+		generator.setRoleHierarchyDepth(2);
+		return generator.generateTBox();
+	}
+
+}
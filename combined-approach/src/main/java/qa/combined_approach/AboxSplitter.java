@@ -0,0 +1,325 @@
+package qa.combined_approach;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+/**
+ * Splits an ontology in OWL/XML syntax into its TBox, written as an OWL/XML ontology to be loaded with the OWL API, and its ABox, written as N-Triples
+ * facts to be imported directly into the data store, in a single streaming pass. Only one axiom is held in memory at a time, so that large ABoxes embedded
+ * in the ontology never enter the OWL API object model. <br>
+ * Class assertions of named classes, object property assertions, and same and different individual assertions over named individuals are written to the
+ * ABox, as {@link AxiomsToRules#collectAboxAssertions} would translate them, together with the class assertions of their individuals to
+ * <code>owl:NamedIndividual</code>. All other axioms (including annotated assertions) are kept in the TBox.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class AboxSplitter {
+
+	private static final String OWL_NAMESPACE = "http://www.w3.org/2002/07/owl#";
+	private static final String ONTOLOGY = "Ontology";
+	private static final String PREFIX = "Prefix";
+	private static final String CLASS_ASSERTION = "ClassAssertion";
+	private static final String OBJECT_PROPERTY_ASSERTION = "ObjectPropertyAssertion";
+	private static final String SAME_INDIVIDUAL = "SameIndividual";
+	private static final String DIFFERENT_INDIVIDUALS = "DifferentIndividuals";
+	private static final String CLASS = "Class";
+	private static final String OBJECT_PROPERTY = "ObjectProperty";
+	private static final String OBJECT_INVERSE_OF = "ObjectInverseOf";
+	private static final String NAMED_INDIVIDUAL = "NamedIndividual";
+	private static final QName XML_BASE = new QName("http://www.w3.org/XML/1998/namespace", "base");
+
+	private static final String RDF_TYPE = "<" + OWLRDFVocabulary.RDF_TYPE.getIRI() + ">";
+	private static final String NAMED_INDIVIDUAL_CLASS = "<" + Util.NAMED_PRED + ">";
+	private static final String SAME_AS = "<" + OWLRDFVocabulary.OWL_SAME_AS + ">";
+	private static final String DIFFERENT_FROM = "<" + OWLRDFVocabulary.OWL_DIFFERENT_FROM + ">";
+
+	private final File ontologyFile;
+	private final File tboxFile;
+	private final File aboxFile;
+
+	private URI base;
+	private final Map<String, String> prefixes = new HashMap<>();
+	private long assertionCount;
+	private long keptAxiomCount;
+	/* whether the input was recognised as OWL/XML */
+	private boolean rootElementRead;
+
+	/**
+	 *
+	 * @param ontologyFile
+	 * @param folder
+	 *            folder the TBox and ABox files are written to
+	 */
+	public AboxSplitter(final File ontologyFile, final File folder) {
+		this.ontologyFile = ontologyFile;
+		this.tboxFile = new File(folder, ontologyFile.getName() + ".tbox.owl");
+		this.aboxFile = new File(folder, ontologyFile.getName() + ".abox.nt");
+	}
+
+	/**
+	 * Splits the ontology into the TBox and ABox files.
+	 *
+	 * @return true, if the ontology was split; false, if it is not in OWL/XML syntax, and must be loaded as a whole.
+	 * @throws IOException
+	 */
+	public boolean split() throws IOException {
+		this.tboxFile.getAbsoluteFile().getParentFile().mkdirs();
+		this.assertionCount = 0;
+		this.keptAxiomCount = 0;
+		this.rootElementRead = false;
+		this.prefixes.clear();
+		boolean split = false;
+		try (InputStream input = new BufferedInputStream(new FileInputStream(this.ontologyFile), 1 << 16);
+				OutputStream tboxOutput = new BufferedOutputStream(new FileOutputStream(this.tboxFile), 1 << 16);
+				Writer abox = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(this.aboxFile), StandardCharsets.UTF_8), 1 << 16)) {
+			final XMLEventReader reader = XMLInputFactory.newInstance().createXMLEventReader(input);
+			final XMLEventWriter tbox = XMLOutputFactory.newInstance().createXMLEventWriter(tboxOutput, StandardCharsets.UTF_8.name());
+			split = split(reader, tbox, abox);
+			tbox.close();
+			reader.close();
+		} catch (final XMLStreamException e) {
+			/* a syntax that is not XML, e.g. functional syntax or Turtle, fails before the root element */
+			if (this.rootElementRead) {
+				throw new CombinedApproachException("Error while trying to split ontology [" + this.ontologyFile + "]: " + e.getMessage());
+			}
+		} finally {
+			if (!split) {
+				this.tboxFile.delete();
+				this.aboxFile.delete();
+			}
+		}
+		return split;
+	}
+
+	private boolean split(final XMLEventReader reader, final XMLEventWriter tbox, final Writer abox) throws XMLStreamException, IOException {
+		int depth = 0;
+		while (reader.hasNext()) {
+			final XMLEvent event = reader.nextEvent();
+			if (event.isStartElement()) {
+				depth++;
+				final StartElement element = event.asStartElement();
+				if (depth == 1) {
+					if (!isOwlElement(element, ONTOLOGY)) {
+						return false;
+					}
+					this.rootElementRead = true;
+					final Attribute xmlBase = element.getAttributeByName(XML_BASE);
+					this.base = (xmlBase == null) ? null : toURI(xmlBase.getValue());
+				} else if (depth == 2 && isOwlElement(element, PREFIX)) {
+					this.prefixes.put(attribute(element, "name"), attribute(element, "IRI"));
+				} else if (depth == 2 && isAssertion(element)) {
+					/* the assertion is buffered, and written to the ABox if it can be translated */
+					final List<XMLEvent> axiom = readElement(event, reader);
+					depth--;
+					if (!writeAssertion(axiom, abox)) {
+						this.keptAxiomCount++;
+						for (final XMLEvent axiomEvent : axiom) {
+							tbox.add(axiomEvent);
+						}
+					}
+					continue;
+				} else if (depth == 2) {
+					this.keptAxiomCount++;
+				}
+			} else if (event.isEndElement()) {
+				depth--;
+			}
+			tbox.add(event);
+		}
+		return true;
+	}
+
+	private static boolean isOwlElement(final StartElement element, final String localName) {
+		return OWL_NAMESPACE.equals(element.getName().getNamespaceURI()) && localName.equals(element.getName().getLocalPart());
+	}
+
+	private static boolean isAssertion(final StartElement element) {
+		return isOwlElement(element, CLASS_ASSERTION) || isOwlElement(element, OBJECT_PROPERTY_ASSERTION) || isOwlElement(element, SAME_INDIVIDUAL)
+				|| isOwlElement(element, DIFFERENT_INDIVIDUALS);
+	}
+
+	private static String attribute(final StartElement element, final String name) {
+		final Attribute attribute = element.getAttributeByName(new QName(name));
+		return (attribute == null) ? null : attribute.getValue();
+	}
+
+	/**
+	 * @return the events of the element starting with given event, until its end element
+	 */
+	private static List<XMLEvent> readElement(final XMLEvent start, final XMLEventReader reader) throws XMLStreamException {
+		final List<XMLEvent> events = new ArrayList<>();
+		events.add(start);
+		int depth = 1;
+		while (depth > 0) {
+			final XMLEvent event = reader.nextEvent();
+			if (event.isStartElement()) {
+				depth++;
+			} else if (event.isEndElement()) {
+				depth--;
+			}
+			events.add(event);
+		}
+		return events;
+	}
+
+	/**
+	 * Writes the facts of given assertion to the ABox, if it only mentions named classes, (inverse) object properties and named individuals.
+	 *
+	 * @return true, if the assertion was written; false, if it must be kept in the TBox.
+	 */
+	private boolean writeAssertion(final List<XMLEvent> axiom, final Writer abox) throws IOException {
+		final StartElement assertion = axiom.get(0).asStartElement();
+		String concept = null;
+		String role = null;
+		final List<String> individuals = new ArrayList<>();
+		boolean inverse = false;
+		for (final XMLEvent event : axiom.subList(1, axiom.size())) {
+			if (!event.isStartElement()) {
+				continue;
+			}
+			final StartElement element = event.asStartElement();
+			if (isOwlElement(element, CLASS) && concept == null) {
+				concept = iri(element);
+			} else if (isOwlElement(element, OBJECT_INVERSE_OF) && role == null) {
+				inverse = true;
+			} else if (isOwlElement(element, OBJECT_PROPERTY) && role == null) {
+				role = iri(element);
+				if (role == null) {
+					return false;
+				}
+				role = inverse ? "<INV_" + role + ">" : "<" + role + ">";
+			} else if (isOwlElement(element, NAMED_INDIVIDUAL)) {
+				final String individual = iri(element);
+				if (individual == null) {
+					return false;
+				}
+				individuals.add("<" + individual + ">");
+			} else {
+				return false;
+			}
+		}
+
+		if (isOwlElement(assertion, CLASS_ASSERTION)) {
+			if (concept == null || individuals.size() != 1) {
+				return false;
+			}
+			writeTriple(abox, individuals.get(0), RDF_TYPE, "<" + concept + ">");
+		} else if (isOwlElement(assertion, OBJECT_PROPERTY_ASSERTION)) {
+			if (role == null || individuals.size() != 2) {
+				return false;
+			}
+			writeTriple(abox, individuals.get(0), role, individuals.get(1));
+		} else {
+			if (concept != null || role != null || individuals.size() < 2) {
+				return false;
+			}
+			final String predicate = isOwlElement(assertion, SAME_INDIVIDUAL) ? SAME_AS : DIFFERENT_FROM;
+			/* pairwise, as OWLNaryIndividualAxiom#asPairwiseAxioms */
+			for (int i = 0; i < individuals.size(); i++) {
+				for (int j = i + 1; j < individuals.size(); j++) {
+					writeTriple(abox, individuals.get(i), predicate, individuals.get(j));
+				}
+			}
+		}
+		for (final String individual : individuals) {
+			writeTriple(abox, individual, RDF_TYPE, NAMED_INDIVIDUAL_CLASS);
+		}
+		this.assertionCount++;
+		return true;
+	}
+
+	/**
+	 * @return the full IRI of given entity element, or null if it cannot be resolved
+	 */
+	private String iri(final StartElement element) {
+		final String iri = attribute(element, "IRI");
+		if (iri != null) {
+			final URI uri = toURI(iri);
+			if (uri == null) {
+				return null;
+			}
+			return (uri.isAbsolute() || this.base == null) ? iri : this.base.resolve(uri).toString();
+		}
+		final String abbreviatedIRI = attribute(element, "abbreviatedIRI");
+		if (abbreviatedIRI != null && abbreviatedIRI.indexOf(':') >= 0) {
+			final String prefix = this.prefixes.get(abbreviatedIRI.substring(0, abbreviatedIRI.indexOf(':')));
+			return (prefix == null) ? null : prefix + abbreviatedIRI.substring(abbreviatedIRI.indexOf(':') + 1);
+		}
+		return null;
+	}
+
+	private static URI toURI(final String iri) {
+		try {
+			return new URI(iri);
+		} catch (final URISyntaxException e) {
+			return null;
+		}
+	}
+
+	private static void writeTriple(final Writer writer, final String subject, final String predicate, final String object) throws IOException {
+		writer.write(subject);
+		writer.write(' ');
+		writer.write(predicate);
+		writer.write(' ');
+		writer.write(object);
+		writer.write(" .\n");
+	}
+
+	/**
+	 * @return the TBox of the ontology, in OWL/XML syntax
+	 */
+	public File getTBoxFile() {
+		return this.tboxFile;
+	}
+
+	/**
+	 * @return the ABox of the ontology, as N-Triples facts
+	 */
+	public File getAboxFile() {
+		return this.aboxFile;
+	}
+
+	/**
+	 * @return the number of assertions written to the ABox
+	 */
+	public long getAssertionCount() {
+		return this.assertionCount;
+	}
+
+	/**
+	 * @return the number of axioms kept in the TBox
+	 */
+	public long getKeptAxiomCount() {
+		return this.keptAxiomCount;
+	}
+
+}
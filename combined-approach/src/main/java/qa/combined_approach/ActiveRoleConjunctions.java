@@ -1,7 +1,10 @@
 package qa.combined_approach;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,14 +27,22 @@ public class ActiveRoleConjunctions {
 
 	/**
 	 * Map with the role conjuncts set as key, and the role conjunction name as value. Role conjunctions are unique per conjuncts set, and the role conjunction
-	 * name can be retrieved by the role conjuncts set .
+	 * name can be retrieved by the role conjuncts set. Role conjunct sets are represented as bitsets over the ids in {@link #roleIds}.
 	 */
-	private final Map<Set<OWLObjectPropertyExpression>, OWLObjectPropertyExpression> roleConjunctions = new HashMap<>();
+	private final Map<BitSet, OWLObjectPropertyExpression> roleConjunctions = new HashMap<>();
 	/**
 	 * Map with the role conjunction name as key, and the role conjunction as value. Each unique role conjunct set has a unique name. Role conjunctions can be
 	 * retrieved by name.
 	 */
 	private final Map<OWLObjectPropertyExpression, RoleConjunction> roleConjunctionsByName = new HashMap<>();
+	/**
+	 * Interned ids of the roles occurring in active role conjunctions.
+	 */
+	private final Map<OWLObjectPropertyExpression, Integer> roleIds = new HashMap<>();
+	/**
+	 * Inverted index: for each role id, the names of the active role conjunctions containing that role.
+	 */
+	private final List<Set<OWLObjectPropertyExpression>> roleConjunctionsContainingRole = new ArrayList<>();
 
 	/**
 	 * Initializes the set of active role conjunctions from the transitive closure of the super-property relation, for each property occuring in the TBox, and
@@ -47,7 +58,7 @@ public class ActiveRoleConjunctions {
 
 		superProperties.getSuperProperties().forEach((property, superRolesSet) -> {
 			/* if the role conjunction already exists in the active sets, do nothing */
-			if (!roleConjunctions.containsKey(superRolesSet)) {
+			if (!containsRoleSet(superRolesSet)) {
 
 				final OWLObjectPropertyExpression inverseProperty = property.getInverseProperty().getSimplified();
 				final Set<OWLObjectPropertyExpression> inverseSuperRoleSet = superProperties.getSuperProperties(inverseProperty);
@@ -57,8 +68,8 @@ public class ActiveRoleConjunctions {
 				/*
 				 * if the inverse role conjunction already exists in the active sets, invert its name
 				 */
-				if (roleConjunctions.containsKey(inverseSuperRoleSet)) {
-					final OWLObjectPropertyExpression inverseRoleConjunctionName = roleConjunctions.get(inverseSuperRoleSet);
+				final OWLObjectPropertyExpression inverseRoleConjunctionName = getRoleConjunctionName(inverseSuperRoleSet);
+				if (inverseRoleConjunctionName != null) {
 					roleConjunctionName = inverseRoleConjunctionName.getInverseProperty().getSimplified();
 
 				} else {
@@ -66,9 +77,7 @@ public class ActiveRoleConjunctions {
 					roleConjunctionName = generateRoleConjunctionName();
 				}
 
-				final RoleConjunction roleConjunction = new RoleConjunction(roleConjunctionName, superRolesSet);
-				roleConjunctions.put(roleConjunction.getRoleSet(), roleConjunction.getRoleName());
-				roleConjunctionsByName.put(roleConjunction.getRoleName(), roleConjunction);
+				put(new RoleConjunction(roleConjunctionName, superRolesSet));
 			}
 
 		});
@@ -76,12 +85,51 @@ public class ActiveRoleConjunctions {
 
 	private void addSingleRoles(final Set<OWLObjectPropertyExpression> singleRoles) {
 		singleRoles.forEach(role -> {
-			final RoleConjunction singleRoleConjunction = new RoleConjunction(role, Sets.newHashSet(role));
-			roleConjunctionsByName.put(role, singleRoleConjunction);
-			roleConjunctions.put(singleRoleConjunction.getRoleSet(), role);
+			put(new RoleConjunction(role, Sets.newHashSet(role)));
 		});
 	}
 
+	/**
+	 * Adds given role conjunction to the active role conjunctions, and to the inverted index of each of its roles.
+	 *
+	 * @param roleConjunction
+	 */
+	private void put(final RoleConjunction roleConjunction) {
+		final OWLObjectPropertyExpression roleName = roleConjunction.getRoleName();
+		final BitSet roleSetBits = new BitSet();
+		for (final OWLObjectPropertyExpression role : roleConjunction.getRoleSet()) {
+			final int roleId = roleIds.computeIfAbsent(role, k -> {
+				roleConjunctionsContainingRole.add(new HashSet<>());
+				return roleIds.size();
+			});
+			roleSetBits.set(roleId);
+			roleConjunctionsContainingRole.get(roleId).add(roleName);
+		}
+		roleConjunctions.put(roleSetBits, roleName);
+		roleConjunctionsByName.put(roleName, roleConjunction);
+	}
+
+	/**
+	 *
+	 * @param roleSet
+	 * @return the bitset over role ids representing given role set, or null if it contains a role that does not occur in any active role conjunction.
+	 */
+	private BitSet toRoleSetBits(final Set<OWLObjectPropertyExpression> roleSet) {
+		final BitSet roleSetBits = new BitSet(roleIds.size());
+		for (final OWLObjectPropertyExpression role : roleSet) {
+			final Integer roleId = roleIds.get(role);
+			if (roleId == null) {
+				return null;
+			}
+			roleSetBits.set(roleId);
+		}
+		return roleSetBits;
+	}
+
+	private boolean containsRoleSet(final Set<OWLObjectPropertyExpression> roleSet) {
+		return getRoleConjunctionName(roleSet) != null;
+	}
+
 	/**
 	 * Adds on demand a new active role conjunction.
 	 *
@@ -92,7 +140,7 @@ public class ActiveRoleConjunctions {
 		/*
 		 * the role conjunction must not already exist in the active sets .
 		 */
-		if (roleConjunctions.containsKey(roleSet)) {
+		if (containsRoleSet(roleSet)) {
 			throw new CombinedApproachException("Expected a new role conjunction: " + roleSet);
 		}
 
@@ -103,8 +151,8 @@ public class ActiveRoleConjunctions {
 		/*
 		 * if the inverse role conjunction already exists in the active sets, invert its name
 		 */
-		if (roleConjunctions.containsKey(inverseRoleSet)) {
-			final OWLObjectPropertyExpression inverseRoleConjunction = roleConjunctions.get(inverseRoleSet);
+		final OWLObjectPropertyExpression inverseRoleConjunction = getRoleConjunctionName(inverseRoleSet);
+		if (inverseRoleConjunction != null) {
 			roleConjunctionName = inverseRoleConjunction.getInverseProperty().getSimplified();
 
 		} else {
@@ -113,12 +161,20 @@ public class ActiveRoleConjunctions {
 		}
 
 		final RoleConjunction roleConjunction = new RoleConjunction(roleConjunctionName, roleSet);
-		roleConjunctions.put(roleConjunction.getRoleSet(), roleConjunction.getRoleName());
-		roleConjunctionsByName.put(roleConjunction.getRoleName(), roleConjunction);
+		put(roleConjunction);
 
 		return roleConjunction;
 	}
 
+	/**
+	 * Restores a role conjunction, with its name, e.g. from a {@link ProgramCache}.
+	 *
+	 * @param roleConjunction
+	 */
+	public void restoreRoleConjunction(final RoleConjunction roleConjunction) {
+		put(roleConjunction);
+	}
+
 	/**
 	 * Gets the inverse set of roles.
 	 *
@@ -133,20 +189,17 @@ public class ActiveRoleConjunctions {
 	}
 
 	/**
-	 * Returns the set of active role conjunctions containing given role.
+	 * Returns the set of active role conjunctions containing given role, from the inverted index.
 	 *
 	 * @param role
-	 * @return
+	 * @return a copy of the role conjunctions containing given role, that is not affected by adding new role conjunctions.
 	 */
 	public Set<OWLObjectPropertyExpression> getRoleConjunctionsContainingRole(final OWLObjectPropertyExpression role) {
-		final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole = new HashSet<>();
-		roleConjunctions.keySet().forEach(roleSet -> {
-			if (roleSet.contains(role)) {
-				final OWLObjectPropertyExpression roleConjunction = roleConjunctions.get(roleSet);
-				roleConjunctionsContainingRole.add(roleConjunction);
-			}
-		});
-		return roleConjunctionsContainingRole;
+		final Integer roleId = roleIds.get(role);
+		if (roleId == null) {
+			return new HashSet<>();
+		}
+		return new HashSet<>(roleConjunctionsContainingRole.get(roleId));
 	}
 
 	private OWLObjectPropertyImpl generateRoleConjunctionName() {
@@ -154,7 +207,8 @@ public class ActiveRoleConjunctions {
 	}
 
 	public OWLObjectPropertyExpression getRoleConjunctionName(final Set<OWLObjectPropertyExpression> roleSet) {
-		return roleConjunctions.get(roleSet);
+		final BitSet roleSetBits = toRoleSetBits(roleSet);
+		return roleSetBits == null ? null : roleConjunctions.get(roleSetBits);
 	}
 
 	public Set<OWLObjectPropertyExpression> getRoleConjunctionByName(final OWLObjectPropertyExpression roleConjunctionName) {
@@ -0,0 +1,135 @@
+package qa.combined_approach;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import qa.combined_approach.dataStore.AnswerHandler;
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+
+/**
+ * Query issued when firing an axiom during materialisation, together with the handler that generates the rules and facts of the axiom for the answers
+ * of the query. Evaluating a query only reads the data store, so the queries of several axioms can be evaluated concurrently; the handlers, which
+ * modify the program, are called on the materialisation thread, in firing order.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class AxiomQuery {
+
+	private static final String[] EMPTY_TUPLE = new String[0];
+
+	/**
+	 * Answers to a query, collected by {@link AxiomQuery#collect(DataStoreInterface)}.
+	 */
+	static class Answers {
+		private final List<String[]> tuples = new ArrayList<>();
+		private long nanos;
+
+		/**
+		 * @return the duration of evaluating the query
+		 */
+		long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * @return the answer tuples
+		 */
+		List<String[]> getTuples() {
+			return tuples;
+		}
+	}
+
+	private final HornAlchoiqAxiomType axiomType;
+	private final String sparqlQuery;
+	private final boolean ask;
+	private final AnswerHandler handler;
+
+	/**
+	 * @param axiomType
+	 *            type of the fired axiom
+	 * @param sparqlQuery
+	 *            SPARQL SELECT query
+	 * @param handler
+	 *            called for each answer
+	 */
+	AxiomQuery(final HornAlchoiqAxiomType axiomType, final String sparqlQuery, final AnswerHandler handler) {
+		this(axiomType, sparqlQuery, false, handler);
+	}
+
+	/**
+	 * @param axiomType
+	 *            type of the fired axiom
+	 * @param sparqlQuery
+	 *            SPARQL SELECT query or, if {@code ask}, SPARQL ASK query. If null, the query is not evaluated, and is considered satisfied.
+	 * @param ask
+	 *            if true, handler is called once, with an empty tuple, if the ASK query is satisfied.
+	 * @param handler
+	 */
+	AxiomQuery(final HornAlchoiqAxiomType axiomType, final String sparqlQuery, final boolean ask, final AnswerHandler handler) {
+		this.axiomType = axiomType;
+		this.sparqlQuery = sparqlQuery;
+		this.ask = ask;
+		this.handler = handler;
+	}
+
+	HornAlchoiqAxiomType getAxiomType() {
+		return axiomType;
+	}
+
+	/**
+	 * @return false if the query is considered satisfied without being evaluated
+	 */
+	boolean isEvaluated() {
+		return sparqlQuery != null;
+	}
+
+	/**
+	 * Evaluates the query, streaming the answers to the handler.
+	 *
+	 * @param dataStore
+	 * @return the number of answers
+	 * @throws IOException
+	 */
+	long answer(final DataStoreInterface dataStore) throws IOException {
+		return evaluate(dataStore, handler);
+	}
+
+	/**
+	 * Evaluates the query, collecting its answers, without calling the handler. Only reads given data store.
+	 *
+	 * @param dataStore
+	 * @return
+	 * @throws IOException
+	 */
+	Answers collect(final DataStoreInterface dataStore) throws IOException {
+		final Answers answers = new Answers();
+		final long start = System.nanoTime();
+		evaluate(dataStore, tuple -> answers.tuples.add(tuple.clone()));
+		answers.nanos = System.nanoTime() - start;
+		return answers;
+	}
+
+	/**
+	 * Calls the handler for given collected answers.
+	 *
+	 * @param answers
+	 * @throws IOException
+	 */
+	void replay(final Answers answers) throws IOException {
+		for (final String[] tuple : answers.tuples) {
+			handler.answer(tuple);
+		}
+	}
+
+	private long evaluate(final DataStoreInterface dataStore, final AnswerHandler answerHandler) throws IOException {
+		if (sparqlQuery == null || ask && dataStore.answerASKQuery(sparqlQuery)) {
+			answerHandler.answer(EMPTY_TUPLE);
+			return 1;
+		}
+		return ask ? 0 : dataStore.forEachAnswer(sparqlQuery, answerHandler);
+	}
+
+}
@@ -0,0 +1,205 @@
+package qa.combined_approach;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Rule;
+
+/**
+ * {@link RuleSink} and {@link FactSink} holding a single buffered channel open until {@link #close()}, either to a file or to memory. The content can then
+ * be imported into a data store with {@link #importInto(DataStoreInterface)}.<br>
+ * A sink holds either rules or facts, so that it is imported in the format of what it holds.<br>
+ * An in-memory sink holds at most a given number of characters: once they are exceeded, its content is moved to a temporary file, and the following
+ * rules or facts are written to that file. The file is deleted once imported.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class BufferedSink implements RuleSink, FactSink {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Default number of characters an in-memory sink holds before its content is moved to a temporary file: 16M characters, that is 32 MB.
+	 */
+	public static final int DEFAULT_MEMORY_LIMIT = 1 << 24;
+
+	private File file;
+	/* true, if the file is a temporary file the content of an in-memory sink has been moved to */
+	private boolean spilled;
+	private StringWriter memory;
+	private Writer writer;
+	private final int memoryLimit;
+	private TextFormat format;
+	private boolean closed;
+	private int count;
+
+	private BufferedSink(final File file, final StringWriter memory, final Writer writer, final int memoryLimit) {
+		this.file = file;
+		this.memory = memory;
+		this.writer = writer;
+		this.memoryLimit = memoryLimit;
+	}
+
+	/**
+	 * Creates a sink writing to given file.
+	 *
+	 * @param file
+	 * @param append
+	 *            if true, content is appended to the existing content of the file; otherwise, the existing content is overwritten
+	 * @return
+	 * @throws IOException
+	 */
+	public static BufferedSink toFile(final File file, final boolean append) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8), BUFFER_SIZE);
+		return new BufferedSink(file, null, writer, 0);
+	}
+
+	/**
+	 * Creates a sink collecting the content in memory, up to {@link #DEFAULT_MEMORY_LIMIT} characters.
+	 *
+	 * @return
+	 */
+	public static BufferedSink inMemory() {
+		return inMemory(DEFAULT_MEMORY_LIMIT);
+	}
+
+	/**
+	 * Creates a sink collecting the content in memory, up to given number of characters. Beyond it, the content is moved to a temporary file.
+	 *
+	 * @param memoryLimit
+	 *            maximum number of characters held in memory
+	 * @return
+	 */
+	public static BufferedSink inMemory(final int memoryLimit) {
+		final StringWriter memory = new StringWriter(Math.min(BUFFER_SIZE, memoryLimit));
+		return new BufferedSink(null, memory, memory, memoryLimit);
+	}
+
+	@Override
+	public void appendRule(final Rule rule) throws IOException {
+		write(rule.toRDFOxFormat(), TextFormat.DATALOG);
+	}
+
+	@Override
+	public void appendFact(final Atom fact) throws IOException {
+		write(fact.toTurtleAtom(), TextFormat.TURTLE);
+		this.writer.write('\n');
+	}
+
+	private void write(final String content, final TextFormat contentFormat) throws IOException {
+		if (this.closed) {
+			throw new CombinedApproachException("Sink has already been closed: " + this);
+		}
+		if (this.format != null && this.format != contentFormat) {
+			throw new CombinedApproachException("Cannot write both rules and facts to sink: " + this);
+		}
+		this.format = contentFormat;
+		if (this.memory != null && this.memory.getBuffer().length() >= this.memoryLimit) {
+			spill();
+		}
+		this.writer.write(content);
+		this.count++;
+	}
+
+	/* moves the content held in memory to a temporary file, with the extension of the format the data store recognises it by */
+	private void spill() throws IOException {
+		final File spillFile = File.createTempFile("sink", this.format == TextFormat.TURTLE ? ".ttl" : ".txt");
+		spillFile.deleteOnExit();
+		final Writer spillWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+		final StringBuffer buffer = this.memory.getBuffer();
+		final char[] chunk = new char[BUFFER_SIZE];
+		for (int start = 0; start < buffer.length(); start += chunk.length) {
+			final int end = Math.min(start + chunk.length, buffer.length());
+			buffer.getChars(start, end, chunk, 0);
+			spillWriter.write(chunk, 0, end - start);
+		}
+		this.memory = null;
+		this.file = spillFile;
+		this.spilled = true;
+		this.writer = spillWriter;
+	}
+
+	/**
+	 *
+	 * @return true, if the content of this in-memory sink has been moved to a temporary file
+	 */
+	public boolean isSpilled() {
+		return this.spilled;
+	}
+
+	/**
+	 *
+	 * @return true, if nothing has been written to this sink
+	 */
+	public boolean isEmpty() {
+		return this.count == 0;
+	}
+
+	/**
+	 *
+	 * @return the number of rules or facts written to this sink
+	 */
+	public int getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Closes this sink and imports its content into given data store: from the file, for file sinks and spilled in-memory sinks; as text, for the other
+	 * in-memory sinks. Nothing is imported if the sink is empty. The temporary file of a spilled sink is deleted.
+	 *
+	 * @param dataStore
+	 * @throws IOException
+	 */
+	public void importInto(final DataStoreInterface dataStore) throws IOException {
+		close();
+		if (isEmpty()) {
+			return;
+		}
+		if (this.file != null) {
+			try {
+				dataStore.importFiles(this.file);
+			} finally {
+				if (this.spilled) {
+					Files.deleteIfExists(this.file.toPath());
+				}
+			}
+		} else {
+			dataStore.importText(this.memory.toString(), this.format);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (!this.closed) {
+			this.writer.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!this.closed) {
+			this.closed = true;
+			this.writer.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (this.spilled) {
+			return "in-memory sink spilled to " + this.file;
+		}
+		return this.file != null ? this.file.toString() : "in-memory sink";
+	}
+
+}
@@ -0,0 +1,86 @@
+package qa.combined_approach;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.rules.Atom;
+
+/**
+ * Tracks the number of facts of the predicates in the bodies of the axioms fired during materialisation, between iterations. Since materialisation is
+ * monotonic, the answers to the query of an axiom can only change if one of its (non-negated) body predicates gained facts. Axioms whose body predicates
+ * did not change since they were last checked can be skipped.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ChangeTracker {
+
+	private final DataStoreInterface dataStore;
+
+	/* number of facts of each predicate in the current iteration, counted on demand */
+	private final Map<Long, Long> currentCounts = new HashMap<>();
+
+	/* for each trigger, the number of facts of each body predicate at the time it was last checked */
+	private final Map<Object, Map<Long, Long>> checkedCounts = new HashMap<>();
+
+	private int checked;
+	private int skipped;
+
+	public ChangeTracker(final DataStoreInterface dataStore) {
+		this.dataStore = dataStore;
+	}
+
+	/**
+	 * Must be called at the beginning of each iteration, after the store has been updated.
+	 */
+	public void nextIteration() {
+		this.currentCounts.clear();
+		this.checked = 0;
+		this.skipped = 0;
+	}
+
+	/**
+	 * Checks whether any of given body atoms gained facts since the last time given trigger was checked, and records the current number of facts for the
+	 * next check.
+	 *
+	 * @param trigger
+	 *            axiom (or axiom part) whose body is checked
+	 * @param bodyAtoms
+	 *            atoms whose arguments are distinct variables
+	 * @return true, if trigger has never been checked before, or if one of given atoms gained facts since; false, if trigger can be skipped.
+	 */
+	public boolean hasChanged(final Object trigger, final Collection<Atom> bodyAtoms) {
+		final Map<Long, Long> newCounts = new HashMap<>();
+		for (final Atom atom : bodyAtoms) {
+			/* predicate id and arity */
+			final Long key = ((long) atom.getPredicateId() << 8) | atom.getArity();
+			newCounts.put(key, this.currentCounts.computeIfAbsent(key, k -> this.dataStore.countFacts(atom)));
+		}
+		final Map<Long, Long> oldCounts = this.checkedCounts.put(trigger, newCounts);
+		if (newCounts.equals(oldCounts)) {
+			this.skipped++;
+			return false;
+		}
+		this.checked++;
+		return true;
+	}
+
+	/**
+	 *
+	 * @return the number of triggers re-checked in the current iteration
+	 */
+	public int getChecked() {
+		return this.checked;
+	}
+
+	/**
+	 *
+	 * @return the number of triggers skipped in the current iteration
+	 */
+	public int getSkipped() {
+		return this.skipped;
+	}
+
+}
@@ -0,0 +1,154 @@
+package qa.combined_approach;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+
+/**
+ * Checkpoint of a materialisation, written to a folder after completed iterations, from which an interrupted materialisation can be resumed. A checkpoint
+ * consists of the state of the {@link Program} (unnamed individuals, active role conjunctions, unprocessed axioms and the rules handed to the data store so
+ * far) and of a snapshot of all facts in the data store, as an N-Triples file. The program state is replaced atomically, and refers to its snapshot, so
+ * that a crash while writing a checkpoint leaves the previous checkpoint intact.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class Checkpoint {
+
+	private static final int MAGIC = 0x434b5054;
+	private static final int VERSION = 1;
+	private static final String STATE_FILE = "checkpoint.gz";
+	private static final String FACTS_FILE_PREFIX = "facts-";
+	private static final String FACTS_FILE_EXTENSION = ".nt";
+
+	private final File folder;
+
+	private int iteration;
+	private Program program;
+	private File factsFile;
+
+	/**
+	 *
+	 * @param folder
+	 *            folder the checkpoint is written to and loaded from
+	 */
+	public Checkpoint(final File folder) {
+		this.folder = folder;
+	}
+
+	/**
+	 * Writes a checkpoint, replacing the previous one.
+	 *
+	 * @param iteration
+	 *            number of completed materialisation iterations
+	 * @param program
+	 *            the program being materialised, after the iteration
+	 * @param dataStore
+	 *            the data store, after reasoning in the iteration
+	 * @throws IOException
+	 */
+	public void write(final int iteration, final Program program, final DataStoreInterface dataStore) throws IOException {
+		this.folder.mkdirs();
+		final File newFactsFile = new File(this.folder, FACTS_FILE_PREFIX + iteration + FACTS_FILE_EXTENSION);
+		final File temporaryFactsFile = File.createTempFile(newFactsFile.getName(), ".tmp", this.folder);
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryFactsFile), StandardCharsets.UTF_8), 1 << 16)) {
+			dataStore.forEachTriple((subject, predicate, object) -> {
+				writer.write(subject);
+				writer.write(' ');
+				writer.write(predicate);
+				writer.write(' ');
+				writer.write(object);
+				writer.write(" .\n");
+			});
+		}
+		move(temporaryFactsFile, newFactsFile);
+
+		final File stateFile = new File(this.folder, STATE_FILE);
+		final File temporaryStateFile = File.createTempFile(STATE_FILE, ".tmp", this.folder);
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temporaryStateFile))))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(iteration);
+			output.writeUTF(newFactsFile.getName());
+			ProgramCache.writeMaterialized(program, output);
+		}
+		move(temporaryStateFile, stateFile);
+
+		/* the snapshots of previous checkpoints are not referred to anymore */
+		for (final File file : this.folder.listFiles()) {
+			if (file.getName().startsWith(FACTS_FILE_PREFIX) && !file.equals(newFactsFile)) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Loads the last checkpoint written to the folder, if any.
+	 *
+	 * @return true, if a checkpoint was loaded; false, if the folder contains no checkpoint.
+	 * @throws IOException
+	 */
+	public boolean load() throws IOException {
+		final File stateFile = new File(this.folder, STATE_FILE);
+		if (!stateFile.isFile()) {
+			return false;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(stateFile))))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new CombinedApproachException("Not a compatible checkpoint file: " + stateFile);
+			}
+			this.iteration = input.readInt();
+			this.factsFile = new File(this.folder, input.readUTF());
+			this.program = ProgramCache.readMaterialized(input);
+		}
+		if (!this.factsFile.isFile()) {
+			throw new CombinedApproachException("Missing facts snapshot of checkpoint: " + this.factsFile);
+		}
+		return true;
+	}
+
+	private static void move(final File source, final File target) throws IOException {
+		Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public File getFolder() {
+		return this.folder;
+	}
+
+	/**
+	 * @return the number of completed iterations of the loaded checkpoint.
+	 */
+	public int getIteration() {
+		return this.iteration;
+	}
+
+	/**
+	 * @return the program of the loaded checkpoint, to be materialised further.
+	 */
+	public Program getProgram() {
+		return this.program;
+	}
+
+	/**
+	 * @return the snapshot of the facts in the data store, of the loaded checkpoint.
+	 */
+	public File getFactsFile() {
+		return this.factsFile;
+	}
+
+}
@@ -1,11 +1,15 @@
 package qa.combined_approach;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.AxiomType;
-import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
-import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
@@ -23,10 +27,11 @@ public class CompareFacts {
 		final OWLOntology ontA = Util.loadOntologyWithImports(a);
 		final OWLOntology ontB = Util.loadOntologyWithImports(b);
 
+		/* hashed membership instead of a scan of b per axiom of a */
+		final Set<OWLAxiom> bAxioms = ontB.axioms().collect(Collectors.toSet());
 		// boolean allFound = true;
 		ontA.axioms().forEach(aAxiom -> {
-			final boolean anyMatch = ontB.axioms().anyMatch(bAxiom -> bAxiom.equals(aAxiom));
-			if (!anyMatch) {
+			if (!bAxioms.contains(aAxiom)) {
 				// allFound = false;
 				System.out.println("Axiom not found: " + aAxiom);
 			}
@@ -48,9 +53,9 @@ public class CompareFacts {
 		// B Axioms: 383
 		// boolean allFound = true;
 
+		final Set<List<String>> bAssertions = ontB.axioms(AxiomType.CLASS_ASSERTION).map(CompareFacts::toKey).collect(Collectors.toSet());
 		ontA.axioms(AxiomType.CLASS_ASSERTION).forEach(aAxiom -> {
-			final boolean anyMatch = ontB.axioms(AxiomType.CLASS_ASSERTION).anyMatch(bAxiom -> isEqual(bAxiom, aAxiom));
-			if (!anyMatch) {
+			if (!bAssertions.contains(toKey(aAxiom))) {
 				// allFound = false;
 				System.out.println("Axiom not found: " + aAxiom);
 			}
@@ -58,12 +63,26 @@ public class CompareFacts {
 		// return allFound;
 	}
 
-	private static boolean isEqual(final OWLClassAssertionAxiom bAxiom, final OWLClassAssertionAxiom aAxiom) {
-		final OWLClass bAxiomClass = bAxiom.getClassExpression().asOWLClass();
-		final OWLClass aAxiomClass = aAxiom.getClassExpression().asOWLClass();
-		final OWLIndividual bIndividual = bAxiom.getIndividual();
-		final OWLIndividual aIndividual = aAxiom.getIndividual();
-		return bAxiomClass.toStringID().equals(aAxiomClass.toStringID()) && bIndividual.toStringID().equals(aIndividual.toStringID());
+	private static List<String> toKey(final OWLClassAssertionAxiom axiom) {
+		return Arrays.asList(axiom.getClassExpression().asOWLClass().toStringID(), axiom.getIndividual().toStringID());
+	}
+
+	/**
+	 * Compares the facts of two N-Triples files, such as materialisations exported by different reasoners, and prints the missing and extra facts of b
+	 * per predicate. Unlike {@link #areAFactsContainedInB(File, File)}, the files are not loaded as ontologies, so this scales to large
+	 * materialisations.
+	 *
+	 * @param a
+	 *            reference N-Triples file
+	 * @param b
+	 *            N-Triples file compared to the reference
+	 * @return true, if a and b contain the same facts.
+	 * @throws IOException
+	 */
+	public static boolean compareNTriples(final File a, final File b) throws IOException {
+		final FactsDiff diff = FactsDiff.compare(a, b);
+		diff.print(System.out);
+		return diff.isEqual();
 	}
 
 }
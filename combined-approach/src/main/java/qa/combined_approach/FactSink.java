@@ -0,0 +1,27 @@
+package qa.combined_approach;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Collection;
+
+import qa.combined_approach.rules.Atom;
+
+/**
+ * Destination of the facts generated by the combined approach, in Turtle format. Facts are buffered; they are only guaranteed to be written after
+ * {@link #flush()} or {@link #close()}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public interface FactSink extends Flushable, Closeable {
+
+	void appendFact(Atom fact) throws IOException;
+
+	default void appendFacts(final Collection<Atom> facts) throws IOException {
+		for (final Atom fact : facts) {
+			appendFact(fact);
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+package qa.combined_approach;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+/**
+ * Difference between the facts of two N-Triples files: the facts of a reference file <i>a</i> missing from a file <i>b</i>, and the extra facts of
+ * <i>b</i>, not in <i>a</i>, counted per predicate. The predicate of a class assertion <code>x rdf:type C</code> is the class <code>C</code>.<br>
+ * The diff is computed by merging the sorted facts of both files, so it runs in time linear in the size of the files after sorting, and within the
+ * memory bound of {@link SortedFacts}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class FactsDiff {
+
+	private static final String RDF_TYPE = "<" + OWLRDFVocabulary.RDF_TYPE.getIRI() + ">";
+
+	/**
+	 * Default maximum number of facts sorted in memory at once.
+	 */
+	public static final int DEFAULT_MAX_FACTS_IN_MEMORY = 1_000_000;
+
+	/**
+	 * Missing and extra facts of a predicate.
+	 */
+	public static class PredicateDiff {
+		private long common;
+		private long missing;
+		private long extra;
+		private final List<String> missingSamples = new ArrayList<>();
+		private final List<String> extraSamples = new ArrayList<>();
+
+		/**
+		 * @return the number of facts of the predicate both in a and b.
+		 */
+		public long getCommon() {
+			return common;
+		}
+
+		/**
+		 * @return the number of facts of the predicate in a, but not in b.
+		 */
+		public long getMissing() {
+			return missing;
+		}
+
+		/**
+		 * @return the number of facts of the predicate in b, but not in a.
+		 */
+		public long getExtra() {
+			return extra;
+		}
+
+		/**
+		 * @return the first missing facts, in sorted order, up to the configured number of samples.
+		 */
+		public List<String> getMissingSamples() {
+			return missingSamples;
+		}
+
+		/**
+		 * @return the first extra facts, in sorted order, up to the configured number of samples.
+		 */
+		public List<String> getExtraSamples() {
+			return extraSamples;
+		}
+	}
+
+	private final Map<String, PredicateDiff> predicateDiffs = new TreeMap<>();
+	private final int maxSamples;
+	private long common;
+	private long missing;
+	private long extra;
+
+	private FactsDiff(final int maxSamples) {
+		this.maxSamples = maxSamples;
+	}
+
+	/**
+	 * Compares the facts of two N-Triples files, with the {@link #DEFAULT_MAX_FACTS_IN_MEMORY default memory bound}.
+	 *
+	 * @param a
+	 *            reference N-Triples file, gzip compressed if its name ends with <code>.gz</code>.
+	 * @param b
+	 *            N-Triples file compared to the reference, gzip compressed if its name ends with <code>.gz</code>.
+	 * @return
+	 * @throws IOException
+	 */
+	public static FactsDiff compare(final File a, final File b) throws IOException {
+		return compare(a, b, DEFAULT_MAX_FACTS_IN_MEMORY, null, 10);
+	}
+
+	/**
+	 * Compares the facts of two N-Triples files.
+	 *
+	 * @param a
+	 *            reference N-Triples file, gzip compressed if its name ends with <code>.gz</code>.
+	 * @param b
+	 *            N-Triples file compared to the reference, gzip compressed if its name ends with <code>.gz</code>.
+	 * @param maxFactsInMemory
+	 *            maximum number of facts of a file sorted in memory at once. Larger files are sorted externally.
+	 * @param tempFolder
+	 *            folder for the temporary files of the external sort. If null, the default temporary folder is used.
+	 * @param maxSamples
+	 *            maximum number of missing and extra facts recorded per predicate.
+	 * @return
+	 * @throws IOException
+	 */
+	public static FactsDiff compare(final File a, final File b, final int maxFactsInMemory, final File tempFolder, final int maxSamples)
+			throws IOException {
+		final FactsDiff diff = new FactsDiff(maxSamples);
+		try (SortedFacts aFacts = new SortedFacts(a, maxFactsInMemory, tempFolder);
+				SortedFacts bFacts = new SortedFacts(b, maxFactsInMemory, tempFolder)) {
+			String aFact = aFacts.hasNext() ? aFacts.next() : null;
+			String bFact = bFacts.hasNext() ? bFacts.next() : null;
+			while (aFact != null || bFact != null) {
+				final int comparison = (aFact == null) ? 1 : (bFact == null) ? -1 : aFact.compareTo(bFact);
+				if (comparison == 0) {
+					diff.common(aFact);
+					aFact = aFacts.hasNext() ? aFacts.next() : null;
+					bFact = bFacts.hasNext() ? bFacts.next() : null;
+				} else if (comparison < 0) {
+					diff.missing(aFact);
+					aFact = aFacts.hasNext() ? aFacts.next() : null;
+				} else {
+					diff.extra(bFact);
+					bFact = bFacts.hasNext() ? bFacts.next() : null;
+				}
+			}
+		}
+		return diff;
+	}
+
+	private void common(final String fact) {
+		common++;
+		predicateDiff(fact).common++;
+	}
+
+	private void missing(final String fact) {
+		missing++;
+		final PredicateDiff predicateDiff = predicateDiff(fact);
+		predicateDiff.missing++;
+		if (predicateDiff.missingSamples.size() < maxSamples) {
+			predicateDiff.missingSamples.add(fact);
+		}
+	}
+
+	private void extra(final String fact) {
+		extra++;
+		final PredicateDiff predicateDiff = predicateDiff(fact);
+		predicateDiff.extra++;
+		if (predicateDiff.extraSamples.size() < maxSamples) {
+			predicateDiff.extraSamples.add(fact);
+		}
+	}
+
+	private PredicateDiff predicateDiff(final String fact) {
+		final String[] triple = SortedFacts.parseNTriple(fact);
+		final String predicate = RDF_TYPE.equals(triple[1]) ? triple[2] : triple[1];
+		return predicateDiffs.computeIfAbsent(predicate, p -> new PredicateDiff());
+	}
+
+	/**
+	 * @return true, if both files have the same facts.
+	 */
+	public boolean isEqual() {
+		return missing == 0 && extra == 0;
+	}
+
+	/**
+	 * @return the number of facts both in a and b.
+	 */
+	public long getCommon() {
+		return common;
+	}
+
+	/**
+	 * @return the number of facts in a, but not in b.
+	 */
+	public long getMissing() {
+		return missing;
+	}
+
+	/**
+	 * @return the number of facts in b, but not in a.
+	 */
+	public long getExtra() {
+		return extra;
+	}
+
+	/**
+	 * @return the differences per predicate, sorted by predicate. Class assertions are counted under their class.
+	 */
+	public Map<String, PredicateDiff> getPredicateDiffs() {
+		return predicateDiffs;
+	}
+
+	/**
+	 * Prints the predicates with missing or extra facts, with samples of the missing and extra facts.
+	 *
+	 * @param out
+	 */
+	public void print(final PrintStream out) {
+		out.println("#common=" + common + ", #missing=" + missing + ", #extra=" + extra);
+		if (isEqual()) {
+			return;
+		}
+		out.println("predicate\t#common\t#missing\t#extra");
+		for (final Map.Entry<String, PredicateDiff> entry : predicateDiffs.entrySet()) {
+			final PredicateDiff predicateDiff = entry.getValue();
+			if (predicateDiff.missing == 0 && predicateDiff.extra == 0) {
+				continue;
+			}
+			out.println(entry.getKey() + "\t" + predicateDiff.common + "\t" + predicateDiff.missing + "\t" + predicateDiff.extra);
+			for (final String fact : predicateDiff.missingSamples) {
+				out.println("  - " + fact);
+			}
+			for (final String fact : predicateDiff.extraSamples) {
+				out.println("  + " + fact);
+			}
+		}
+	}
+
+}
@@ -9,12 +9,19 @@ import static qa.combined_approach.rules.Converter.PropertytoAtom;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -24,9 +31,17 @@ import org.semanticweb.owlapi.model.OWLObjectMinCardinality;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 
+import qa.combined_approach.abox.AboxImporter;
+import qa.combined_approach.abox.ImportConfiguration;
+import qa.combined_approach.dataStore.AnswerHandler;
 import qa.combined_approach.dataStore.DataStoreConfiguration;
 import qa.combined_approach.dataStore.DataStoreInterface;
-import qa.combined_approach.dataStore.RDFoxDataStoreWrapper;
+import qa.combined_approach.export.ExportConfiguration;
+import qa.combined_approach.export.TripleExporter;
+import qa.combined_approach.metrics.AxiomProfiler;
+import qa.combined_approach.metrics.IterationMetrics;
+import qa.combined_approach.metrics.MaterializationListener;
+import qa.combined_approach.metrics.PhaseMetrics;
 import qa.combined_approach.rules.Atom;
 import qa.combined_approach.rules.Converter;
 import qa.combined_approach.rules.HornAlchoiqAxiomType;
@@ -51,15 +66,44 @@ public class Materialization {
 	private long generatedFactsCount;
 	private long materializationDuration;
 	private long startMaterialization;
+	private ChangeTracker changeTracker;
 	private final String exportToFolderLocation;
+	private ExportConfiguration exportConfiguration;
+	private ImportConfiguration importConfiguration = new ImportConfiguration();
+	private final List<MaterializationListener> listeners = new ArrayList<>();
+	/* metrics of the current iteration */
+	private IterationMetrics iterationMetrics;
+	private AxiomProfiler axiomProfiler;
+	private int firingThreads = 1;
+	private int sinkMemoryLimit = BufferedSink.DEFAULT_MEMORY_LIMIT;
+	private Checkpoint checkpoint;
+	private int checkpointInterval = 1;
+	private Checkpoint resumeFrom;
+	private File[] resumeAdditions;
+	private boolean keepDataStore;
+	private File embeddedAboxFile;
+	/* number of completed iterations */
+	private int iterationCount;
+	/* evaluates the queries of the fired axioms, if firingThreads > 1 */
+	private ExecutorService firingExecutor;
 
+	/**
+	 *
+	 * @param rdfoxInputLocation
+	 *            if not null, the folder where the rules and facts imported into the store are also written to, for debugging and auditing. The rules and
+	 *            facts are handed to the store in memory in any case.
+	 * @param aboxFolderLocation
+	 * @param dataStoreConfiguration
+	 * @param program
+	 * @param exportToFolderLocation
+	 */
 	public Materialization(final File rdfoxInputLocation, final File aboxFolderLocation, final DataStoreConfiguration dataStoreConfiguration,
 			final Program program, final String exportToFolderLocation) {
 		super();
 		this.rdfoxInputLocation = rdfoxInputLocation;
 		this.aboxFolderLocation = aboxFolderLocation;
 		this.program = program;
-		this.dataStore = new RDFoxDataStoreWrapper(dataStoreConfiguration);
+		this.dataStore = dataStoreConfiguration.createDataStore();
 		this.exportToFolderLocation = exportToFolderLocation;
 	}
 
@@ -70,81 +114,244 @@ public class Materialization {
 	 * @throws JRDFoxException
 	 */
 	public void materialize() throws IOException, JRDFoxException {
-		// write Program to file
-		System.out.println("  - Writing program to files; Time: " + LocalDate.now() + " " + LocalTime.now());
-		final long startWrite = System.currentTimeMillis();
-		final File factsFile = createFactsFile(0);
-		final File rulesFile = createRulesFile(0);
-		Util.appendFactsToFile(program.getFacts(), factsFile);
-		Util.appendRulesToFile(program.getRules(), rulesFile);
-		final long writeDuration = System.currentTimeMillis() - startWrite;
-		System.out.println("    Done writing; Time: " + LocalDate.now() + " " + LocalTime.now() + "; writing duration: " + writeDuration + " ms");
+		if (this.resumeFrom != null) {
+			resume();
+		} else {
+			importProgram();
+		}
 
-		// import
-		System.out.println("  - Importing program to store; Time: " + LocalDate.now() + " " + LocalTime.now());
-		final long startImport = System.currentTimeMillis();
-		this.dataStore.importFiles(new File[] { rulesFile, factsFile });
-		if (this.aboxFolderLocation != null) {
-			this.dataStore.importFiles(aboxFolderLocation.listFiles());
+		System.out.println("  - Starting materialization; Time: " + LocalDate.now() + " " + LocalTime.now() + ", initial #triples="
+				+ dataStore.countTriples());
+		this.startMaterialization = System.currentTimeMillis();
+		this.dataStore.reason();
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.REASON, System.currentTimeMillis() - this.startMaterialization).put("triples", dataStore.countTriples()));
+		this.changeTracker = new ChangeTracker(this.dataStore);
+		this.iterationCount = (this.resumeFrom == null) ? 0 : this.resumeFrom.getIteration();
+
+		iterateToFixpoint();
+		exportAndDispose();
+	}
+
+	/**
+	 * Incrementally materialises given ABox additions into the store of a completed materialisation, instead of materialising the whole ABox again. The
+	 * additions are imported into the store, and materialisation continues from the fixpoint reached before: only the axioms whose body predicates gained
+	 * facts are fired again. The results are exported again, if an export location was given.<br>
+	 * Requires {@link #setKeepDataStore(boolean)} before {@link #materialize()}. Deletions are not supported: the unnamed individuals and role conjunctions
+	 * introduced because of deleted facts cannot be retracted, so the remaining ABox must be materialised from scratch.
+	 *
+	 * @param additions
+	 *            Turtle files with the ABox facts added since the last materialisation, including the class assertions of new named individuals to
+	 *            <code>owl:NamedIndividual</code>.
+	 * @throws IOException
+	 * @throws JRDFoxException
+	 */
+	public void update(final File... additions) throws IOException, JRDFoxException {
+		if (this.changeTracker == null) {
+			throw new CombinedApproachException("Can only update a completed materialisation whose data store was kept.");
 		}
+		System.out.println("  - Importing ABox update to store; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final long startImport = System.currentTimeMillis();
+		this.dataStore.importFiles(additions);
 		final long importDuration = System.currentTimeMillis() - startImport;
-		System.out.println("    Done importing to store; Time: " + LocalDate.now() + " " + LocalTime.now() + "; import duration: " + importDuration + " ms");
+		System.out.println("    Done importing update to store; Time: " + LocalDate.now() + " " + LocalTime.now() + "; import duration: " + importDuration
+				+ " ms");
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.IMPORT, importDuration).put("triples", dataStore.countTriples()).put("files", additions.length));
 
-		System.out.println("  - Starting materialization; Time: " + LocalDate.now() + " " + LocalTime.now() + ", initial #triples=" + dataStore.countTriples());
 		this.startMaterialization = System.currentTimeMillis();
 		this.dataStore.reason();
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.REASON, System.currentTimeMillis() - this.startMaterialization).put("triples", dataStore.countTriples()));
+		iterateToFixpoint();
+		exportAndDispose();
+	}
 
+	/**
+	 * Releases the data store, if it was kept after materialisation. See {@link #setKeepDataStore(boolean)}.
+	 */
+	public void dispose() {
+		if (this.changeTracker != null) {
+			this.changeTracker = null;
+			this.dataStore.dispose();
+		}
+	}
+
+	/**
+	 * Fires the applicable axioms and reasons, until no more facts are derived.
+	 */
+	private void iterateToFixpoint() throws IOException {
+		if (this.firingThreads > 1) {
+			this.firingExecutor = Executors.newFixedThreadPool(this.firingThreads);
+		}
 		boolean terminate = false;
-		int iterationCount = 0;
-		while (!terminate) {
-			final long initialTriples = this.dataStore.countTriples();
-			System.out.println("    - Iteration: " + iterationCount + "; Time: " + LocalDate.now() + " " + LocalTime.now() + ", #triples=" + initialTriples
-					+ ", #unnamedIndiv=" + program.getUnnamedIndividualNames().size());
-			iterationCount++;
-
-			/* Apply rules */
-			fireUntreatedAxioms(iterationCount);
-
-			this.dataStore.reason();
-
-			/* Terminate when no more facts are derived after an iteration. */
-			if (dataStore.countTriples() == initialTriples) {
-				System.out.println(" - Final #triples=" + initialTriples);
-				terminate = true;
+		try {
+			while (!terminate) {
+				final long initialTriples = this.dataStore.countTriples();
+				System.out.println("    - Iteration: " + iterationCount + "; Time: " + LocalDate.now() + " " + LocalTime.now() + ", #triples="
+						+ initialTriples + ", #unnamedIndiv=" + program.getUnnamedIndividualNames().size());
+				iterationCount++;
+				this.iterationMetrics = new IterationMetrics(iterationCount);
+				this.iterationMetrics.setTriplesBefore(initialTriples);
+
+				/* Apply rules */
+				final int suppressedBefore = program.getRuleRegistry().getSuppressed();
+				fireUntreatedAxioms(iterationCount);
+				System.out.println("      re-checked axioms: " + changeTracker.getChecked() + ", skipped unchanged axioms: " + changeTracker.getSkipped()
+						+ ", suppressed duplicate rules: " + (program.getRuleRegistry().getSuppressed() - suppressedBefore));
+				this.iterationMetrics.setCheckedAxioms(changeTracker.getChecked());
+				this.iterationMetrics.setSkippedAxioms(changeTracker.getSkipped());
+
+				final long startReason = System.currentTimeMillis();
+				this.dataStore.reason();
+				this.iterationMetrics.setReasonMs(System.currentTimeMillis() - startReason);
+				final long triples = dataStore.countTriples();
+				this.iterationMetrics.setTriplesAfter(triples);
+				for (final MaterializationListener listener : listeners) {
+					listener.iterationCompleted(this.iterationMetrics);
+				}
+
+				/* Terminate when no more facts are derived after an iteration. */
+				if (triples == initialTriples) {
+					System.out.println(" - Final #triples=" + initialTriples);
+					terminate = true;
+				}
+				/* the checkpoint of the fixpoint allows to materialise later ABox additions incrementally */
+				if (this.checkpoint != null && (terminate || iterationCount % this.checkpointInterval == 0)) {
+					final long startCheckpoint = System.currentTimeMillis();
+					this.checkpoint.write(iterationCount, this.program, this.dataStore);
+					System.out.println("      checkpoint written to " + this.checkpoint.getFolder() + "; checkpoint duration: "
+							+ (System.currentTimeMillis() - startCheckpoint) + " ms");
+				}
+			}
+		} finally {
+			if (this.firingExecutor != null) {
+				this.firingExecutor.shutdownNow();
+				this.firingExecutor = null;
 			}
 		}
 		this.materializationDuration = System.currentTimeMillis() - this.startMaterialization;
 		System.out.println(
 				"    Done materializing; Time: " + LocalDate.now() + " " + LocalTime.now() + "; materialization duration: " + materializationDuration + " ms");
 		this.generatedFactsCount = dataStore.countTriples();
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.MATERIALIZATION, materializationDuration).put("triples", generatedFactsCount)
+				.put("iterations", iterationCount).put("unnamedIndividuals", program.getUnnamedIndividualNames().size())
+				.put("roleConjunctions", program.getActiveRoleConjunctions().getRoleConjunctionNames().size()));
+	}
 
-		// export results
+	/**
+	 * Exports the results, if an export location was given, and disposes of the data store, unless it is kept.
+	 */
+	private void exportAndDispose() throws IOException, JRDFoxException {
 		if (exportToFolderLocation != null) {
-			dataStore.export(new File(exportToFolderLocation), Format.NTriples);
+			final long startExport = System.currentTimeMillis();
+			long exportedTriples = generatedFactsCount;
+			if (exportConfiguration == null) {
+				dataStore.export(new File(exportToFolderLocation), Format.NTriples);
+			} else {
+				final TripleExporter exporter = new TripleExporter(exportConfiguration);
+				exportedTriples = exporter.export(dataStore, new File(exportToFolderLocation));
+				System.out.println("    Done exporting; #exported=" + exporter.getExportedCount() + ", #filtered=" + exporter.getFilteredCount() + ", #files="
+						+ exporter.getChunkCount() + "; export duration: " + (System.currentTimeMillis() - startExport) + " ms");
+			}
+			phaseCompleted(new PhaseMetrics(PhaseMetrics.EXPORT, System.currentTimeMillis() - startExport).put("triples", exportedTriples));
 		}
 
-		this.dataStore.dispose();
+		if (!this.keepDataStore) {
+			dispose();
+		}
+	}
+
+	/**
+	 * Writes the program and imports it, together with the ABox, into the store.
+	 */
+	private void importProgram() throws IOException {
+		// serialise Program
+		System.out.println("  - Writing program; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final long startWrite = System.currentTimeMillis();
+		final BufferedSink rules = createRuleSink(0);
+		final BufferedSink facts = createFactSink(0);
+		facts.appendFacts(program.getFacts());
+		program.getRuleRegistry().filter(rules).appendRules(program.getRules());
+		rules.close();
+		facts.close();
+		final long writeDuration = System.currentTimeMillis() - startWrite;
+		System.out.println("    Done writing; Time: " + LocalDate.now() + " " + LocalTime.now() + "; writing duration: " + writeDuration + " ms");
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.WRITE, writeDuration).put("rules", rules.getCount()).put("facts", facts.getCount()));
+
+		// import
+		System.out.println("  - Importing program to store; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final long startImport = System.currentTimeMillis();
+		importToStore(rules, facts);
+		int importedFiles = 0;
+		if (this.aboxFolderLocation != null) {
+			importedFiles = new AboxImporter(this.importConfiguration).importFolder(this.dataStore, this.aboxFolderLocation);
+		}
+		if (this.embeddedAboxFile != null) {
+			this.dataStore.importFiles(this.embeddedAboxFile);
+		}
+		final long importDuration = System.currentTimeMillis() - startImport;
+		System.out.println("    Done importing to store; #ABox files: " + importedFiles + "; Time: " + LocalDate.now() + " " + LocalTime.now()
+				+ "; import duration: " + importDuration + " ms");
+		final long importedTriples = dataStore.countTriples();
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.IMPORT, importDuration).put("triples", importedTriples).put("files", importedFiles));
+	}
+
+	/**
+	 * Imports the rules handed to the store before the checkpoint to resume from, and its snapshot of the facts in the store, into the store.
+	 */
+	private void resume() throws IOException {
+		if (this.resumeFrom.getProgram() != this.program) {
+			throw new CombinedApproachException("Can only resume the materialisation of the program of the checkpoint.");
+		}
+		System.out.println("  - Resuming from checkpoint " + this.resumeFrom.getFolder() + " after iteration " + this.resumeFrom.getIteration() + "; Time: "
+				+ LocalDate.now() + " " + LocalTime.now());
+		final long startImport = System.currentTimeMillis();
+		final BufferedSink rules = createRuleSink(0);
+		rules.appendRules(this.program.getRuleRegistry().getRules());
+		rules.close();
+		rules.importInto(this.dataStore);
+		this.dataStore.importFiles(this.resumeFrom.getFactsFile());
+		if (this.resumeAdditions.length > 0) {
+			this.dataStore.importFiles(this.resumeAdditions);
+		}
+		final long importDuration = System.currentTimeMillis() - startImport;
+		System.out.println("    Done importing checkpoint to store; Time: " + LocalDate.now() + " " + LocalTime.now() + "; import duration: " + importDuration
+				+ " ms");
+		phaseCompleted(new PhaseMetrics(PhaseMetrics.IMPORT, importDuration).put("triples", dataStore.countTriples()).put("rules", rules.getCount()));
 	}
 
 	private void fireUntreatedAxioms(final int iteration) throws IOException {
-		final File rulesFile = createRulesFile(iteration);
-		final File factsFile = createFactsFile(iteration);
+		final long startFire = System.currentTimeMillis();
+		final int unnamedIndividualsBefore = program.getUnnamedIndividualNames().size();
+		final int roleConjunctionsBefore = program.getActiveRoleConjunctions().getRoleConjunctionNames().size();
+		final BufferedSink ruleSink = createRuleSink(iteration);
+		final BufferedSink facts = createFactSink(iteration);
+		/* rules that have already been imported in previous iterations are not imported again */
+		final RuleSink rules = this.program.getRuleRegistry().filter(ruleSink);
+		this.changeTracker.nextIteration();
 
 		final Set<OWLAxiom> existAxiomsToRemove = new HashSet<>();
+		/* firings whose queries are evaluated concurrently, in firing order */
+		final List<PendingFiring> pendingFirings = new ArrayList<>();
 
 		/* Rule (2) */
 		for (final OWLAxiom axiom : this.program.getUnprocessedAxioms(HornAlchoiqAxiomType.EXISTS)) {
-			/* remove exist axiom after you added the rule */
-			final boolean fired = fireExistentialAxiom((OWLSubClassOfAxiom) axiom, rulesFile, factsFile);
-			if (fired) {
-				existAxiomsToRemove.add(axiom);
+			/* C(x) */
+			if (!this.changeTracker.hasChanged(axiom, Collections.singleton(ConceptToAtom(((OWLSubClassOfAxiom) axiom).getSubClass(), VAR_X)))) {
+				continue;
 			}
+			final List<AxiomQuery> queries = new ArrayList<>(1);
+			/* remove exist axiom after you added the rule */
+			fireExistentialAxiom((OWLSubClassOfAxiom) axiom, rules, facts, queries, existAxiomsToRemove);
+			fire(axiom, queries, ruleSink, pendingFirings);
 		}
-		this.program.getUnprocessedAxioms(HornAlchoiqAxiomType.EXISTS).removeAll(existAxiomsToRemove);
 
 		/* Rule (3.2) */
 		for (final OWLAxiom axiom : this.program.getUnprocessedAxioms(HornAlchoiqAxiomType.FOR_ALL_ROLES_FROM_DOMAIN)) {
-			fireAllRolesFromDomainAxiom((OWLSubClassOfAxiom) axiom, rulesFile, factsFile);
+			if (!this.changeTracker.hasChanged(axiom, forAllRolesFromDomainBody((OWLSubClassOfAxiom) axiom))) {
+				continue;
+			}
+			final List<AxiomQuery> queries = new ArrayList<>();
+			fireAllRolesFromDomainAxiom((OWLSubClassOfAxiom) axiom, rules, facts, queries);
+			fire(axiom, queries, ruleSink, pendingFirings);
 		}
 
 		for (final OWLAxiom axiom : this.program.getUnprocessedAxioms(HornAlchoiqAxiomType.AT_MOST_ONE)) {
@@ -155,15 +362,168 @@ public class Materialization {
 			final OWLClassExpression rangeD = maxCard.getFiller();
 			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole = this.program.getActiveRoleConjunctions()
 					.getRoleConjunctionsContainingRole(property);
+			if (!this.changeTracker.hasChanged(axiom, atMostBody(domainC, rangeD, roleConjunctionsContainingRole))) {
+				continue;
+			}
 
+			final List<AxiomQuery> queries = new ArrayList<>();
 			/* (4.2) */
-			fireAtMostNewIndividual(domainC, rangeD, roleConjunctionsContainingRole, rulesFile, factsFile);
+			fireAtMostNewIndividual(domainC, rangeD, roleConjunctionsContainingRole, rules, facts, queries);
 			/* (4.3) */
-			fireAtMostAxiomFlip(domainC, rangeD, roleConjunctionsContainingRole, rulesFile);
+			fireAtMostAxiomFlip(domainC, rangeD, roleConjunctionsContainingRole, rules, queries);
+			fire(axiom, queries, ruleSink, pendingFirings);
+		}
+		completeFirings(pendingFirings, ruleSink);
+		this.program.getUnprocessedAxioms(HornAlchoiqAxiomType.EXISTS).removeAll(existAxiomsToRemove);
+		iterationMetrics.setFireMs(System.currentTimeMillis() - startFire);
+		iterationMetrics.setRules(ruleSink.getCount());
+		iterationMetrics.setFacts(facts.getCount());
+		iterationMetrics.setNewUnnamedIndividuals(program.getUnnamedIndividualNames().size() - unnamedIndividualsBefore);
+		iterationMetrics.setNewRoleConjunctions(program.getActiveRoleConjunctions().getRoleConjunctionNames().size() - roleConjunctionsBefore);
+
+		final long startImport = System.currentTimeMillis();
+		importToStore(ruleSink, facts);
+		iterationMetrics.setImportMs(System.currentTimeMillis() - startImport);
+	}
+
+	/**
+	 * Fires an axiom, by evaluating its queries and generating its rules and facts for their answers. If {@link #firingThreads} is 1, this is done
+	 * immediately. Otherwise, the queries are submitted to the {@link #firingExecutor} and the firing is appended to the pending firings.
+	 */
+	private void fire(final OWLAxiom axiom, final List<AxiomQuery> queries, final BufferedSink ruleSink, final List<PendingFiring> pendingFirings)
+			throws IOException {
+		if (this.firingExecutor == null) {
+			startProfiling(axiom, ruleSink);
+			for (final AxiomQuery query : queries) {
+				final long startQuery = System.nanoTime();
+				final long answers = query.answer(this.dataStore);
+				if (query.isEvaluated()) {
+					recordQuery(query.getAxiomType(), System.nanoTime() - startQuery, answers);
+				}
+			}
+			endProfiling(ruleSink);
+		} else {
+			final List<Future<AxiomQuery.Answers>> answers = new ArrayList<>(queries.size());
+			for (final AxiomQuery query : queries) {
+				answers.add(this.firingExecutor.submit(() -> query.collect(this.dataStore)));
+			}
+			pendingFirings.add(new PendingFiring(axiom, queries, answers));
+		}
+	}
+
+	/**
+	 * Generates the rules and facts of the pending firings for the answers of their queries, in firing order, so that unnamed individuals and role
+	 * conjunctions are created in the same order as if the axioms were fired sequentially.
+	 */
+	private void completeFirings(final List<PendingFiring> pendingFirings, final BufferedSink ruleSink) throws IOException {
+		for (final PendingFiring pendingFiring : pendingFirings) {
+			startProfiling(pendingFiring.axiom, ruleSink);
+			for (int i = 0; i < pendingFiring.queries.size(); i++) {
+				final AxiomQuery query = pendingFiring.queries.get(i);
+				final AxiomQuery.Answers answers = getAnswers(pendingFiring.answers.get(i));
+				query.replay(answers);
+				if (query.isEvaluated()) {
+					recordQuery(query.getAxiomType(), answers.getNanos(), answers.getTuples().size());
+				}
+			}
+			endProfiling(ruleSink);
+		}
+	}
+
+	private static AxiomQuery.Answers getAnswers(final Future<AxiomQuery.Answers> answers) throws IOException {
+		try {
+			return answers.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for query answers");
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new CombinedApproachException("Error while evaluating the query of an axiom: " + e.getCause());
 		}
+	}
+
+	/**
+	 * Axiom whose queries are being evaluated by the {@link #firingExecutor}.
+	 */
+	private static class PendingFiring {
+		private final OWLAxiom axiom;
+		private final List<AxiomQuery> queries;
+		private final List<Future<AxiomQuery.Answers>> answers;
+
+		private PendingFiring(final OWLAxiom axiom, final List<AxiomQuery> queries, final List<Future<AxiomQuery.Answers>> answers) {
+			this.axiom = axiom;
+			this.queries = queries;
+			this.answers = answers;
+		}
+	}
+
+	private void startProfiling(final OWLAxiom axiom, final BufferedSink ruleSink) {
+		if (this.axiomProfiler != null) {
+			this.axiomProfiler.start(axiom, ruleSink.getCount(), this.program.getUnnamedIndividualNames().size());
+		}
+	}
 
-		this.dataStore.importFiles(new File[] { rulesFile, factsFile });
+	private void endProfiling(final BufferedSink ruleSink) {
+		if (this.axiomProfiler != null) {
+			this.axiomProfiler.end(ruleSink.getCount(), this.program.getUnnamedIndividualNames().size());
+		}
+	}
+
+	private void recordQuery(final HornAlchoiqAxiomType axiomType, final long nanos, final long answers) {
+		this.iterationMetrics.addQuery(axiomType, nanos);
+		if (this.axiomProfiler != null) {
+			this.axiomProfiler.query(nanos, answers);
+		}
+	}
+
+	/**
+	 * Body of the queries of rule (3.2) for axiom C subseteq forall S.D: C(x), U(y) and SS(x, y) for all role conjunctions SS containing S. D only occurs
+	 * negated, so the query can not gain answers when D gains facts.
+	 */
+	private List<Atom> forAllRolesFromDomainBody(final OWLSubClassOfAxiom axiom) {
+		final List<Atom> body = new ArrayList<>();
+		body.add(ConceptToAtom(axiom.getSubClass(), VAR_X));
+		body.add(new Atom(Util.UNNAMED_PRED, VAR_Y));
+		final OWLObjectAllValuesFrom allValuesFrom = (OWLObjectAllValuesFrom) axiom.getSuperClass();
+		for (final OWLObjectPropertyExpression roleConjunction : this.program.getActiveRoleConjunctions()
+				.getRoleConjunctionsContainingRole(allValuesFrom.getProperty())) {
+			body.add(PropertytoAtom(roleConjunction, VAR_X, VAR_Y));
+		}
+		return body;
+	}
+
+	/**
+	 * Body of the queries of rules (4.2) and (4.3) for axiom C subseteq <1 R.D: C(x), D(x), U(x), and RR(x, y), RR^-(x, y) for all role conjunctions RR
+	 * containing R.
+	 */
+	private static List<Atom> atMostBody(final OWLClassExpression domainC, final OWLClassExpression rangeD,
+			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole) {
+		final List<Atom> body = new ArrayList<>();
+		body.add(ConceptToAtom(domainC, VAR_X));
+		body.add(ConceptToAtom(rangeD, VAR_X));
+		body.add(new Atom(Util.UNNAMED_PRED, VAR_X));
+		for (final OWLObjectPropertyExpression roleConjunction : roleConjunctionsContainingRole) {
+			body.add(PropertytoAtom(roleConjunction, VAR_X, VAR_Y));
+			body.add(PropertytoAtom(roleConjunction.getInverseProperty(), VAR_X, VAR_Y));
+		}
+		return body;
+	}
 
+	/**
+	 * Imports the rules and facts generated in an iteration into the store, in this order.
+	 *
+	 * @param rules
+	 * @param facts
+	 * @throws IOException
+	 */
+	private void importToStore(final BufferedSink rules, final BufferedSink facts) throws IOException {
+		rules.importInto(this.dataStore);
+		facts.importInto(this.dataStore);
 	}
 
 	/**
@@ -178,34 +538,36 @@ public class Materialization {
 	 *
 	 * @param axiom
 	 *            C subclass >=1 R.D
-	 * @param rulesFile
-	 * @param factsFile
-	 * @return true, if rule was fired (if class C is not empty); false, otherwise
-	 * @throws IOException
+	 * @param rules
+	 * @param facts
+	 * @param queries
+	 *            the query of the axiom is added to these
+	 * @param firedAxioms
+	 *            the axiom is added to these, if the rule is fired (if class C is not empty)
 	 */
-	private boolean fireExistentialAxiom(final OWLSubClassOfAxiom axiom, final File rulesFile, final File factsFile) throws IOException {
+	private void fireExistentialAxiom(final OWLSubClassOfAxiom axiom, final RuleSink rules, final FactSink facts, final List<AxiomQuery> queries,
+			final Set<OWLAxiom> firedAxioms) {
 
 		final OWLClassExpression domainC = axiom.getSubClass(); // C
 
-		final String askQueryExistsSubstitution = "ASK { " + ConceptToAtom(domainC, VAR_X).toTurtleAtom() + " }";
-		final boolean existsSubstitution = dataStore.answerASKQuery(askQueryExistsSubstitution);
-		if (existsSubstitution || domainC.isOWLThing()) {
+		/* for C = Top, the rule is always fired */
+		final String askQueryExistsSubstitution = domainC.isOWLThing() ? null : "ASK { " + ConceptToAtom(domainC, VAR_X).toTurtleAtom() + " }";
+		queries.add(new AxiomQuery(HornAlchoiqAxiomType.EXISTS, askQueryExistsSubstitution, true, tuple -> {
 			final OWLObjectMinCardinality minCard = (OWLObjectMinCardinality) axiom.getSuperClass();
 			final OWLObjectPropertyExpression property = minCard.getProperty().getSimplified();
 
 			/* add facts T(ts), U(ts), E(ts) for all E in set s. */
-			final String unnamedIndividual = createUnnamedIndividual(minCard, factsFile);
+			final String unnamedIndividual = createUnnamedIndividual(minCard, facts);
 
 			/* add rule C(x) -> R(x, tD) */
 			final Rule rule = new Rule(PropertytoAtom(property, VAR_X, unnamedIndividual), ConceptToAtom(domainC, VAR_X));
-			Util.appendRuleToFile(rule, rulesFile);
-			return true;
-		}
-		return false;
+			rules.appendRule(rule);
+			firedAxioms.add(axiom);
+		}));
 	}
 
 	/* create tD; assert T(tD), U(tD), D(tD). */
-	private String createUnnamedIndividual(final OWLObjectMinCardinality minCardinality, final File factsFile) throws IOException {
+	private String createUnnamedIndividual(final OWLObjectMinCardinality minCardinality, final FactSink facts) throws IOException {
 		final Set<String> unnamedIndivConcepts = new HashSet<>(1);
 		final OWLClassExpression rangeD = minCardinality.getFiller();
 		/* Never add Top to the concept conjunction; Empty concept conjunction means top. */
@@ -213,7 +575,7 @@ public class Materialization {
 			unnamedIndivConcepts.add(Converter.getConceptName(rangeD));
 		}
 
-		return createUnnamedIndividual(unnamedIndivConcepts, factsFile);
+		return createUnnamedIndividual(unnamedIndivConcepts, facts);
 	}
 
 	/**
@@ -234,11 +596,13 @@ public class Materialization {
 	 *
 	 * @param axiom
 	 *            C subseteq forall S.D
-	 * @param rulesFile
-	 * @param factsFile
-	 * @throws IOException
+	 * @param rules
+	 * @param facts
+	 * @param queries
+	 *            the queries of the axiom are added to these
 	 */
-	private void fireAllRolesFromDomainAxiom(final OWLSubClassOfAxiom axiom, final File rulesFile, final File factsFile) throws IOException {
+	private void fireAllRolesFromDomainAxiom(final OWLSubClassOfAxiom axiom, final RuleSink rules, final FactSink facts,
+			final List<AxiomQuery> queries) {
 		final OWLClassExpression domainC = axiom.getSubClass();
 		final OWLObjectAllValuesFrom maxCard = (OWLObjectAllValuesFrom) axiom.getSuperClass();
 		final OWLClassExpression rangeD = maxCard.getFiller();
@@ -253,23 +617,22 @@ public class Materialization {
 			final Query existsUnnamed = new Query(VAR_Y, new Atom(Util.UNNAMED_PRED, VAR_Y), PropertytoAtom(roleConjunction, VAR_X, VAR_Y),
 					ConceptToAtom(domainC, VAR_X));
 			String existsSubstFilterQuery = existsUnnamed.toSPARQLQuery().replace("}", "");
-			// TODO avoid adding the same rule repeatedly
 			existsSubstFilterQuery += " FILTER NOT EXISTS {" + new Atom(rangeD.asOWLClass().toStringID(), VAR_Y).toTurtleAtom() + " }\n}";
 
-			final Set<String> oldUnnamedIndividuals = dataStore.answerSPARQLUnaryQuery(existsSubstFilterQuery);
-			for (final String oldUnnamedIndividual : oldUnnamedIndividuals) {
+			queries.add(new AxiomQuery(HornAlchoiqAxiomType.FOR_ALL_ROLES_FROM_DOMAIN, existsSubstFilterQuery, tuple -> {
+				final String oldUnnamedIndividual = tuple[0];
 				final Set<String> oldUnnamedIndividualClassConjunctions = this.program.getUnnamedIndividualClassConjunctions(oldUnnamedIndividual);
 
 				final Set<String> newUnnamedIndividualClassConjunctions = new HashSet<>(oldUnnamedIndividualClassConjunctions);
 				if (!rangeD.isOWLThing()) {
 					newUnnamedIndividualClassConjunctions.add(Converter.getConceptName(rangeD));
 				}
-				final String newUnnamedIndividual = createUnnamedIndividual(newUnnamedIndividualClassConjunctions, factsFile);
+				final String newUnnamedIndividual = createUnnamedIndividual(newUnnamedIndividualClassConjunctions, facts);
 				/* C(x), SS(x, ts) -> SS(x, t{s,D}) . */
 				final Rule rule = new Rule(PropertytoAtom(roleConjunction, VAR_X, newUnnamedIndividual), ConceptToAtom(domainC, VAR_X),
 						PropertytoAtom(roleConjunction, VAR_X, oldUnnamedIndividual));
-				Util.appendRuleToFile(rule, rulesFile);
-			}
+				rules.appendRule(rule);
+			}));
 		}
 	}
 
@@ -294,11 +657,12 @@ public class Materialization {
 	 *            D
 	 * @param roleConjunctionsContainingRole
 	 *            RR, SS
-	 * @param rulesFile
-	 * @throws IOException
+	 * @param rules
+	 * @param queries
+	 *            the queries of the axiom are added to these
 	 */
 	private void fireAtMostAxiomFlip(final OWLClassExpression domainC, final OWLClassExpression rangeD,
-			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole, final File rulesFile) throws IOException {
+			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole, final RuleSink rules, final List<AxiomQuery> queries) {
 
 		for (final OWLObjectPropertyExpression rRoleConjunction : roleConjunctionsContainingRole) {
 			for (final OWLObjectPropertyExpression sRoleConjunction : roleConjunctionsContainingRole) {
@@ -308,28 +672,17 @@ public class Materialization {
 						PropertytoAtom(sRoleConjunction, VAR_X, VAR_Z), ConceptToAtom(domainC, VAR_X),
 						PropertytoAtom(rRoleConjunction.getInverseProperty(), VAR_Y, VAR_X), ConceptToAtom(rangeD, VAR_Y));
 
-				final Set<String> unnamedIndividuals = dataStore.answerUnaryQuery(existsSubstitution);
-				if (!unnamedIndividuals.isEmpty()) {
-
-					final RoleConjunction rInverseRoleConjunction = program.getActiveRoleConjunctions().getRoleConjunctionsByName()
-							.get(rRoleConjunction.getInverseProperty());
-					final RoleConjunction sInverseRoleConjunction = program.getActiveRoleConjunctions().getRoleConjunctionsByName()
-							.get(sRoleConjunction.getInverseProperty());
-					final Set<OWLObjectPropertyExpression> rsInverseRoleSet = new HashSet<>();
-					rsInverseRoleSet.addAll(rInverseRoleConjunction.getRoleSet());
-					rsInverseRoleSet.addAll(sInverseRoleConjunction.getRoleSet());
-
-					final OWLObjectPropertyExpression rsInverseRoleConjunction = obtainRoleConjunction(rulesFile, rsInverseRoleSet);
-					/* U(?z), D(?z), SS(?x,?z), C(?x), RR^-(?y,?x), D(?y) -> {RR^-,SS^-}(y,x) . */
-					final Rule rolesRule = new Rule(PropertytoAtom(rsInverseRoleConjunction, VAR_Y, VAR_X),
-							new Atom[] { new Atom(Util.UNNAMED_PRED, VAR_Z), ConceptToAtom(rangeD, VAR_Z), PropertytoAtom(sRoleConjunction, VAR_X, VAR_Z),
-									ConceptToAtom(domainC, VAR_X), PropertytoAtom(rRoleConjunction.getInverseProperty(), VAR_Y, VAR_X),
-									ConceptToAtom(rangeD, VAR_Y) });
-					Util.appendRuleToFile(rolesRule, rulesFile);
-
-					for (final String unnamedIndividual : unnamedIndividuals) {
-						// TODO prevent adding this rule again and again for the same RR,SS and ts
+				queries.add(new AxiomQuery(HornAlchoiqAxiomType.AT_MOST_ONE, existsSubstitution.toSPARQLQuery(), new AnswerHandler() {
+					private boolean first = true;
 
+					@Override
+					public void answer(final String[] tuple) throws IOException {
+						if (first) {
+							/* there is at least one answer */
+							first = false;
+							appendAtMostFlipRolesRule(domainC, rangeD, rRoleConjunction, sRoleConjunction, rules);
+						}
+						final String unnamedIndividual = tuple[0];
 						/* D(y), RR^-(y,x), C(x), SS(x,ts), D(ts) -> */
 						final Atom[] ruleBody = { ConceptToAtom(rangeD, VAR_Y), PropertytoAtom(rRoleConjunction.getInverseProperty(), VAR_Y, VAR_X),
 								ConceptToAtom(domainC, VAR_X), PropertytoAtom(sRoleConjunction, VAR_X, unnamedIndividual),
@@ -339,14 +692,37 @@ public class Materialization {
 						for (final String classConjunct : classConjunction) {
 							/* -> X(y) for all X in s. */
 							final Rule classesRule = new Rule(new Atom(classConjunct, VAR_Y), ruleBody);
-							Util.appendRuleToFile(classesRule, rulesFile);
+							rules.appendRule(classesRule);
 						}
 					}
-				}
+				}));
 			}
 		}
 	}
 
+	/**
+	 * Adds rule U(?z), D(?z), SS(?x,?z), C(?x), RR^-(?y,?x), D(?y) -> {RR^-,SS^-}(y,x) of rule (4.3), once the query has an answer.
+	 */
+	private void appendAtMostFlipRolesRule(final OWLClassExpression domainC, final OWLClassExpression rangeD,
+			final OWLObjectPropertyExpression rRoleConjunction, final OWLObjectPropertyExpression sRoleConjunction, final RuleSink rules)
+			throws IOException {
+		final RoleConjunction rInverseRoleConjunction = program.getActiveRoleConjunctions().getRoleConjunctionsByName()
+				.get(rRoleConjunction.getInverseProperty());
+		final RoleConjunction sInverseRoleConjunction = program.getActiveRoleConjunctions().getRoleConjunctionsByName()
+				.get(sRoleConjunction.getInverseProperty());
+		final Set<OWLObjectPropertyExpression> rsInverseRoleSet = new HashSet<>();
+		rsInverseRoleSet.addAll(rInverseRoleConjunction.getRoleSet());
+		rsInverseRoleSet.addAll(sInverseRoleConjunction.getRoleSet());
+
+		final OWLObjectPropertyExpression rsInverseRoleConjunction = obtainRoleConjunction(rules, rsInverseRoleSet);
+		/* U(?z), D(?z), SS(?x,?z), C(?x), RR^-(?y,?x), D(?y) -> {RR^-,SS^-}(y,x) . */
+		final Rule rolesRule = new Rule(PropertytoAtom(rsInverseRoleConjunction, VAR_Y, VAR_X),
+				new Atom[] { new Atom(Util.UNNAMED_PRED, VAR_Z), ConceptToAtom(rangeD, VAR_Z), PropertytoAtom(sRoleConjunction, VAR_X, VAR_Z),
+						ConceptToAtom(domainC, VAR_X), PropertytoAtom(rRoleConjunction.getInverseProperty(), VAR_Y, VAR_X),
+						ConceptToAtom(rangeD, VAR_Y) });
+		rules.appendRule(rolesRule);
+	}
+
 	/**
 	 * axiom: C subseteq <1 R.D<br>
 	 * Rule (4.2): C(x), RR(x, ta), D(ta), SS(x, tb), D(tb) -> {RR,SS}(x, t{a,b}), X(t{a,b}) for all X in {a,b}, T(t{a,b}), U(t{a,b}). <br>
@@ -369,14 +745,14 @@ public class Materialization {
 	 *            D
 	 * @param roleConjunctionsContainingRole
 	 *            RR, SS
-	 * @param rulesFile
-	 * @param factsFile
-	 * @throws IOException
+	 * @param rules
+	 * @param facts
+	 * @param queries
+	 *            the queries of the axiom are added to these
 	 */
 	private void fireAtMostNewIndividual(final OWLClassExpression domainC, final OWLClassExpression rangeD,
-			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole, final File rulesFile, final File factsFile) throws IOException {
-		// TODO prevent adding this rule again and again for the same RR,SS, ta and tb
-
+			final Set<OWLObjectPropertyExpression> roleConjunctionsContainingRole, final RuleSink rules, final FactSink facts,
+			final List<AxiomQuery> queries) {
 		for (final OWLObjectPropertyExpression rRoleConjunction : roleConjunctionsContainingRole) {
 			for (final OWLObjectPropertyExpression sRoleConjunction : roleConjunctionsContainingRole) {
 				/* Query ?z, ?t such that D(?z), U(?z), RR(x, ?z), C(x), SS(x, ?t), D(?t), U(?t) . (?z for ta, ?t for tb). */
@@ -384,31 +760,35 @@ public class Materialization {
 						PropertytoAtom(rRoleConjunction, VAR_X, VAR_Z), ConceptToAtom(domainC, VAR_X), PropertytoAtom(sRoleConjunction, VAR_X, VAR_T),
 						ConceptToAtom(rangeD, VAR_T), new Atom(Util.UNNAMED_PRED, VAR_T));
 
-				final Set<Map<String, String>> unnamedIndividuals = dataStore.answerQuery(existsSubstitution);
-				if (!unnamedIndividuals.isEmpty()) {
-
-					final Set<OWLObjectPropertyExpression> rsRoleSet = new HashSet<>();
-					rsRoleSet.addAll(program.getActiveRoleConjunctions().getRoleConjunctionByName(rRoleConjunction));
-					rsRoleSet.addAll(program.getActiveRoleConjunctions().getRoleConjunctionByName(sRoleConjunction));
-					final OWLObjectPropertyExpression rsRoleConjunction = obtainRoleConjunction(rulesFile, rsRoleSet);
-
-					for (final Map<String, String> unnamedPair : unnamedIndividuals) {
-						final String unnamedA = unnamedPair.get(VAR_Z);
-						final String unnamedB = unnamedPair.get(VAR_T);
+				queries.add(new AxiomQuery(HornAlchoiqAxiomType.AT_MOST_ONE, existsSubstitution.toSPARQLQuery(), new AnswerHandler() {
+					private OWLObjectPropertyExpression rsRoleConjunction;
+
+					@Override
+					public void answer(final String[] tuple) throws IOException {
+						if (rsRoleConjunction == null) {
+							/* there is at least one answer */
+							final Set<OWLObjectPropertyExpression> rsRoleSet = new HashSet<>();
+							rsRoleSet.addAll(program.getActiveRoleConjunctions().getRoleConjunctionByName(rRoleConjunction));
+							rsRoleSet.addAll(program.getActiveRoleConjunctions().getRoleConjunctionByName(sRoleConjunction));
+							rsRoleConjunction = obtainRoleConjunction(rules, rsRoleSet);
+						}
+						/* answer variables ?z, ?t */
+						final String unnamedA = tuple[0];
+						final String unnamedB = tuple[1];
 						final Set<String> classConjunction = new HashSet<>();
 						classConjunction.addAll(program.getUnnamedIndividualClassConjunctions(unnamedA));
 						classConjunction.addAll(program.getUnnamedIndividualClassConjunctions(unnamedB));
 
 						/* the first time t{a,b} appears in the program, assert T(t{a,b}), U(t{a,b}), X(t{a,b}) for all X in {a,b}. */
-						final String unnamedIndividualAB = createUnnamedIndividual(classConjunction, factsFile);
+						final String unnamedIndividualAB = createUnnamedIndividual(classConjunction, facts);
 
 						/* C(x), RR(x, ta), D(ta), SS(x, tb), D(tb) -> {RR,SS}(x, t{a,b}) */
 						final Rule rule = new Rule(PropertytoAtom(rsRoleConjunction, VAR_X, unnamedIndividualAB), ConceptToAtom(domainC, VAR_X),
 								PropertytoAtom(rRoleConjunction, VAR_X, unnamedA), ConceptToAtom(rangeD, unnamedA),
 								PropertytoAtom(sRoleConjunction, VAR_X, unnamedB), ConceptToAtom(rangeD, unnamedB));
-						Util.appendRuleToFile(rule, rulesFile);
+						rules.appendRule(rule);
 					}
-				}
+				}));
 			}
 		}
 	}
@@ -418,20 +798,20 @@ public class Materialization {
 	 * Else, a new role conjunction and its inverse are created and added to the active roles. Rules (Role.1) and (Role.2) are created for the new new
 	 * roleConjunction and for its inverse.
 	 *
-	 * @param rulesFile
+	 * @param rules
 	 * @param roleSet
 	 * @return the role conjunction corresponding to given {@code roleSet}.
 	 * @throws IOException
 	 */
-	private OWLObjectPropertyExpression obtainRoleConjunction(final File rulesFile, final Set<OWLObjectPropertyExpression> roleSet) throws IOException {
+	private OWLObjectPropertyExpression obtainRoleConjunction(final RuleSink rules, final Set<OWLObjectPropertyExpression> roleSet) throws IOException {
 		final OWLObjectPropertyExpression existingRoleConjunction = program.getActiveRoleConjunctions().getRoleConjunctionName(roleSet);
 		if (existingRoleConjunction == null) {
 
-			final RoleConjunction newRoleConjunction = addNewActiveRoleConjunction(rulesFile, roleSet);
+			final RoleConjunction newRoleConjunction = addNewActiveRoleConjunction(rules, roleSet);
 
 			/* when a new role conjunction is added, its inverse must be added, too, to the active role conjunctions. */
 			final Set<OWLObjectPropertyExpression> newInverseRoleConjunction = ActiveRoleConjunctions.invert(newRoleConjunction.getRoleSet());
-			addNewActiveRoleConjunction(rulesFile, newInverseRoleConjunction);
+			addNewActiveRoleConjunction(rules, newInverseRoleConjunction);
 
 			return newRoleConjunction.getRoleName();
 
@@ -445,12 +825,12 @@ public class Materialization {
 	 * Creates a new role conjunction (that did not exist before in the active role set) and adds it to the active role set. <br>
 	 * (Role.1) and (Role.2) are created for the new roleConjunction.
 	 *
-	 * @param rulesFile
+	 * @param rules
 	 * @param roleSet
 	 * @return the new role conjunction.
 	 * @throws IOException
 	 */
-	private RoleConjunction addNewActiveRoleConjunction(final File rulesFile, final Set<OWLObjectPropertyExpression> roleSet) throws IOException {
+	private RoleConjunction addNewActiveRoleConjunction(final RuleSink rules, final Set<OWLObjectPropertyExpression> roleSet) throws IOException {
 		/* new role conjunction is added. */
 		final RoleConjunction newRoleConjunction = program.getActiveRoleConjunctions().addRoleConjunction(roleSet);
 		/* (Role.1) */
@@ -459,8 +839,8 @@ public class Materialization {
 		final Set<Rule> rulesDeriveRolesFromRoleConjunction = OntologyToProgram.createRulesDeriveRolesFromRoleConjunction(newRoleConjunction.getRoleName(),
 				newRoleConjunction);
 
-		Util.appendRuleToFile(rulePropagateInverseRoleConjunction, rulesFile);
-		Util.appendRulesToFile(rulesDeriveRolesFromRoleConjunction, rulesFile);
+		rules.appendRule(rulePropagateInverseRoleConjunction);
+		rules.appendRules(rulesDeriveRolesFromRoleConjunction);
 		return newRoleConjunction;
 	}
 
@@ -468,29 +848,41 @@ public class Materialization {
 	 * the first time ts appears in the program, assert T(ts), U(ts), C(ts) for all C in S. Else, reuse ts.
 	 *
 	 * @param classConjunction
-	 * @param factsFile
+	 * @param facts
 	 * @return
 	 * @throws IOException
 	 */
-	private String createUnnamedIndividual(final Set<String> classConjunction, final File factsFile) throws IOException {
+	private String createUnnamedIndividual(final Set<String> classConjunction, final FactSink facts) throws IOException {
 		final String existingUnnamedIndividual = program.getUnnamedIndividualNames().get(classConjunction);
 		if (existingUnnamedIndividual != null) {
 			return existingUnnamedIndividual;
 		} else {
-			return program.createNewUnnamedIndividual(classConjunction, factsFile);
+			return program.createNewUnnamedIndividual(classConjunction, facts);
 		}
 	}
 
-	private File createFactsFile(final int iteration) throws IOException {
-		final File factsFile = new File(this.rdfoxInputLocation + File.separator + "Iteration" + iteration + "_" + UUID.randomUUID().toString() + ".ttl");
-		Util.initializeFile(factsFile);
-		return factsFile;
+	/**
+	 * If {@link #rdfoxInputLocation} is set, the facts are written to a new file in that folder, for debugging. Otherwise, they are kept in memory, up to
+	 * {@link #sinkMemoryLimit} characters.
+	 */
+	private BufferedSink createFactSink(final int iteration) throws IOException {
+		if (this.rdfoxInputLocation == null) {
+			return BufferedSink.inMemory(this.sinkMemoryLimit);
+		}
+		return BufferedSink.toFile(
+				new File(this.rdfoxInputLocation + File.separator + "Iteration" + iteration + "_" + UUID.randomUUID().toString() + ".ttl"), false);
 	}
 
-	private File createRulesFile(final int iteration) throws IOException {
-		final File rulesFile = new File(this.rdfoxInputLocation + File.separator + "Iteration" + iteration + "_" + UUID.randomUUID().toString() + ".txt");
-		Util.initializeFile(rulesFile);
-		return rulesFile;
+	/**
+	 * If {@link #rdfoxInputLocation} is set, the rules are written to a new file in that folder, for debugging. Otherwise, they are kept in memory, up to
+	 * {@link #sinkMemoryLimit} characters.
+	 */
+	private BufferedSink createRuleSink(final int iteration) throws IOException {
+		if (this.rdfoxInputLocation == null) {
+			return BufferedSink.inMemory(this.sinkMemoryLimit);
+		}
+		return BufferedSink.toFile(
+				new File(this.rdfoxInputLocation + File.separator + "Iteration" + iteration + "_" + UUID.randomUUID().toString() + ".txt"), false);
 	}
 
 	public Program getProgram() {
@@ -509,4 +901,171 @@ public class Materialization {
 		return this.startMaterialization;
 	}
 
+	/**
+	 * Registers a listener, notified of the metrics of each phase and iteration of the materialisation.
+	 *
+	 * @param listener
+	 */
+	public void addListener(final MaterializationListener listener) {
+		this.listeners.add(listener);
+	}
+
+	public int getFiringThreads() {
+		return this.firingThreads;
+	}
+
+	/**
+	 * Sets the number of threads evaluating the queries of the axioms fired in an iteration concurrently. The rules and facts of the fired axioms are
+	 * still generated in firing order, so the result does not depend on the number of threads. Default value is 1 (axioms are fired sequentially, and
+	 * their answers are not collected in memory).
+	 *
+	 * @param firingThreads
+	 */
+	public void setFiringThreads(final int firingThreads) {
+		this.firingThreads = firingThreads;
+	}
+
+	public int getSinkMemoryLimit() {
+		return this.sinkMemoryLimit;
+	}
+
+	/**
+	 * Sets the number of characters of the rules, or of the facts, of an iteration that are held in memory before being handed to the data store. Beyond
+	 * it, they are moved to a temporary file, imported and deleted at the end of the iteration. Default value is
+	 * {@link BufferedSink#DEFAULT_MEMORY_LIMIT}.
+	 *
+	 * @param sinkMemoryLimit
+	 */
+	public void setSinkMemoryLimit(final int sinkMemoryLimit) {
+		this.sinkMemoryLimit = sinkMemoryLimit;
+	}
+
+	public Checkpoint getCheckpoint() {
+		return this.checkpoint;
+	}
+
+	/**
+	 * Sets the checkpoint written every {@link #getCheckpointInterval()} iterations. If null (default), no checkpoints are written.
+	 *
+	 * @param checkpoint
+	 */
+	public void setCheckpoint(final Checkpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+
+	public int getCheckpointInterval() {
+		return this.checkpointInterval;
+	}
+
+	/**
+	 * Sets the number of iterations between checkpoints. Default value is 1 (a checkpoint is written after each iteration).
+	 *
+	 * @param checkpointInterval
+	 */
+	public void setCheckpointInterval(final int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Resumes the materialisation from given loaded checkpoint, instead of starting it from the beginning. The program of this materialisation must be the
+	 * program of the checkpoint.
+	 *
+	 * @param resumeFrom
+	 */
+	public void setResumeFrom(final Checkpoint resumeFrom) {
+		setResumeFrom(resumeFrom, new File[0]);
+	}
+
+	/**
+	 * Resumes the materialisation from given loaded checkpoint, importing given ABox additions together with its snapshot. Resuming from the checkpoint
+	 * written at the fixpoint of a materialisation materialises the additions incrementally. See {@link #update(File...)}.
+	 *
+	 * @param resumeFrom
+	 * @param additions
+	 *            Turtle files with the ABox facts added since the checkpoint was written
+	 */
+	public void setResumeFrom(final Checkpoint resumeFrom, final File... additions) {
+		this.resumeFrom = resumeFrom;
+		this.resumeAdditions = additions;
+	}
+
+	/**
+	 * @return the data store. After {@link #materialize()}, it is only usable if {@link #setKeepDataStore(boolean)} was set.
+	 */
+	public DataStoreInterface getDataStore() {
+		return this.dataStore;
+	}
+
+	public File getEmbeddedAboxFile() {
+		return this.embeddedAboxFile;
+	}
+
+	/**
+	 * Sets the ABox split from the ontology by {@link AboxSplitter}, imported together with the ABox folder. Default value is null.
+	 *
+	 * @param embeddedAboxFile
+	 */
+	public void setEmbeddedAboxFile(final File embeddedAboxFile) {
+		this.embeddedAboxFile = embeddedAboxFile;
+	}
+
+	public boolean isKeepDataStore() {
+		return this.keepDataStore;
+	}
+
+	/**
+	 * If true, the data store is kept after {@link #materialize()}, so that ABox additions can be materialised incrementally with {@link #update(File...)}.
+	 * It must be released with {@link #dispose()}. Default value is false.
+	 *
+	 * @param keepDataStore
+	 */
+	public void setKeepDataStore(final boolean keepDataStore) {
+		this.keepDataStore = keepDataStore;
+	}
+
+	public AxiomProfiler getAxiomProfiler() {
+		return this.axiomProfiler;
+	}
+
+	/**
+	 * Sets the profiler recording the cost of firing each axiom. If null (default), axiom firings are not profiled.
+	 *
+	 * @param axiomProfiler
+	 */
+	public void setAxiomProfiler(final AxiomProfiler axiomProfiler) {
+		this.axiomProfiler = axiomProfiler;
+	}
+
+	private void phaseCompleted(final PhaseMetrics phase) {
+		for (final MaterializationListener listener : listeners) {
+			listener.phaseCompleted(phase);
+		}
+	}
+
+	public ImportConfiguration getImportConfiguration() {
+		return this.importConfiguration;
+	}
+
+	/**
+	 * Sets how the files of the ABox folder are imported. Default value imports the Turtle and N-Triples files, gzip compressed or not, one at a time.
+	 *
+	 * @param importConfiguration
+	 */
+	public void setImportConfiguration(final ImportConfiguration importConfiguration) {
+		this.importConfiguration = importConfiguration;
+	}
+
+	public ExportConfiguration getExportConfiguration() {
+		return this.exportConfiguration;
+	}
+
+	/**
+	 * Sets how the materialised facts are exported. If null (default), the data store exports all its facts to a single N-Triples file.
+	 *
+	 * @param exportConfiguration
+	 */
+	public void setExportConfiguration(final ExportConfiguration exportConfiguration) {
+		this.exportConfiguration = exportConfiguration;
+	}
+
 }
@@ -11,10 +11,8 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.AxiomType;
-import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -47,7 +45,8 @@ public class OntologyToProgram {
 		System.out.println("  - Creating program from ontology; Time: " + LocalDate.now() + " " + LocalTime.now());
 		final long startCreateProgram = System.currentTimeMillis();
 		this.program = new Program();
-		for (final OWLAxiom axiom : ontology.logicalAxioms().collect(Collectors.toList())) {
+		/* axioms are streamed, rather than copied to a list. Large ABoxes should be split from the ontology with AboxSplitter, and imported directly. */
+		ontology.logicalAxioms().forEach(axiom -> {
 			if (!AxiomType.ABoxAxiomTypes.contains(axiom.getAxiomType())) {
 				AxiomsToRules.collectRules(axiom, program);
 			} else {
@@ -59,7 +58,7 @@ public class OntologyToProgram {
 					program.getFacts().add(new Atom(Util.NAMED_PRED, namedIndividual));
 				});
 			}
-		}
+		});
 		program.computeSuperProperties();
 
 		/* (6.1) and (6.2) */
@@ -84,7 +83,7 @@ public class OntologyToProgram {
 
 	}
 
-	public int countTBoxAxioms(final Map<HornAlchoiqAxiomType, Integer> countAxiomsByType) {
+	public static int countTBoxAxioms(final Map<HornAlchoiqAxiomType, Integer> countAxiomsByType) {
 		int tboxCount = 0;
 		final EnumSet<HornAlchoiqAxiomType> tBoxAxiomTypes = EnumSet.of(HornAlchoiqAxiomType.SUBSUME_CONCEPT_CONJUNCTION,
 				HornAlchoiqAxiomType.FOR_ALL_ROLES_FROM_DOMAIN, HornAlchoiqAxiomType.EXISTS, HornAlchoiqAxiomType.AT_MOST_ONE, HornAlchoiqAxiomType.NOMINAL,
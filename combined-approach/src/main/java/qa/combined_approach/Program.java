@@ -1,6 +1,5 @@
 package qa.combined_approach;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -35,6 +34,8 @@ public class Program {
 
 	private final Map<HornAlchoiqAxiomType, Integer> countAxiomsByType = new HashMap<>();
 	private final List<Rule> rules = new ArrayList<>();
+	/* rules handed to the data store */
+	private final RuleRegistry ruleRegistry = new RuleRegistry();
 	private final List<Atom> facts = new ArrayList<>();
 	private final Map<HornAlchoiqAxiomType, List<OWLAxiom>> unprocessedAxioms = new HashMap<>();
 
@@ -42,22 +43,32 @@ public class Program {
 	 * Asserts T(ts), U(ts), C(ts) for each C in S (S = classConjunction)
 	 *
 	 * @param classConjunction
-	 * @param resultingFactsFile
+	 * @param resultingFacts
 	 * @return
 	 * @throws IOException
 	 */
-	public String createNewUnnamedIndividual(final Set<String> classConjunction, final File resultingFactsFile)
-			throws IOException {
+	public String createNewUnnamedIndividual(final Set<String> classConjunction, final FactSink resultingFacts) throws IOException {
 
 		final int id = unnamedIndividualClassConjunctions.size();
 		final String newUnnamedIndividual = "<Unnamed_" + id + ">";
 		unnamedIndividualClassConjunctions.put(newUnnamedIndividual, classConjunction);
 		unnamedIndividualNames.put(classConjunction, newUnnamedIndividual);
 
-		assertFactsForNewUnnamedIndividual(newUnnamedIndividual, classConjunction, resultingFactsFile);
+		assertFactsForNewUnnamedIndividual(newUnnamedIndividual, classConjunction, resultingFacts);
 		return newUnnamedIndividual;
 	}
 
+	/**
+	 * Restores an unnamed individual, with its name, e.g. from a {@link Checkpoint}.
+	 *
+	 * @param unnamedIndividual
+	 * @param classConjunction
+	 */
+	public void restoreUnnamedIndividual(final String unnamedIndividual, final Set<String> classConjunction) {
+		unnamedIndividualClassConjunctions.put(unnamedIndividual, classConjunction);
+		unnamedIndividualNames.put(classConjunction, unnamedIndividual);
+	}
+
 	/**
 	 * Asserts T(ts), U(ts), C(ts) for each C in S (S = classConjunction)
 	 *
@@ -65,18 +76,18 @@ public class Program {
 	 *            ts
 	 * @param classConjunction
 	 *            S
-	 * @param resultingFactsFile
+	 * @param assertedFacts
 	 * @throws IOException
 	 */
 	private void assertFactsForNewUnnamedIndividual(final String unnamedIndividual, final Set<String> classConjunction,
-			final File assertedFactsFile) throws IOException {
+			final FactSink assertedFacts) throws IOException {
 		/* T(ts) */
-		Util.appendFactToFile(AxiomsToRules.assertIndividualInTop(unnamedIndividual), assertedFactsFile);
+		assertedFacts.appendFact(AxiomsToRules.assertIndividualInTop(unnamedIndividual));
 		/* U(ts) */
-		Util.appendFactToFile(new Atom(Util.UNNAMED_PRED, unnamedIndividual), assertedFactsFile);
+		assertedFacts.appendFact(new Atom(Util.UNNAMED_PRED, unnamedIndividual));
 		/* C(ts) for each C in S */
 		for (final String classConjunct : classConjunction) {
-			Util.appendFactToFile(new Atom(classConjunct, unnamedIndividual), assertedFactsFile);
+			assertedFacts.appendFact(new Atom(classConjunct, unnamedIndividual));
 		}
 	}
 
@@ -140,6 +151,10 @@ public class Program {
 		return this.rules;
 	}
 
+	public RuleRegistry getRuleRegistry() {
+		return ruleRegistry;
+	}
+
 	public List<Atom> getFacts() {
 		return this.facts;
 	}
@@ -0,0 +1,550 @@
+package qa.combined_approach;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectCardinalityRestriction;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+import qa.combined_approach.rules.Rule;
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Binary cache of the {@link Program} compiled from an ontology by {@link OntologyToProgram}, keyed by a content hash of the ontology file. The cache
+ * contains the rules, facts, super properties, active role conjunctions, unprocessed axioms and axiom counts of the program, so that a program can be
+ * restored without parsing the ontology with the OWL API. Since the imports of an ontology are only known once it is parsed, the cache file also records
+ * the content hashes of the documents of its import closure, and a cached program is only loaded if none of them changed. Programs of ontologies importing
+ * documents that are not local files are not cached.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ProgramCache {
+
+	private static final int MAGIC = 0x48414c51;
+	private static final int VERSION = 1;
+	/* version of the header of cache files, listing the imported documents */
+	private static final int IMPORTS_VERSION = 2;
+	private static final String CACHE_FILE_EXTENSION = ".program.gz";
+
+	/* kinds of unprocessed axioms, all of the form C subseteq restriction */
+	private static final byte MIN_CARDINALITY = 0;
+	private static final byte MAX_CARDINALITY = 1;
+	private static final byte ALL_VALUES_FROM = 2;
+
+	private final File cacheFolder;
+
+	/**
+	 *
+	 * @param cacheFolder
+	 *            folder containing the cached programs
+	 */
+	public ProgramCache(final File cacheFolder) {
+		this.cacheFolder = cacheFolder;
+	}
+
+	/**
+	 *
+	 * @param ontologyFile
+	 * @return the program compiled from given ontology file, or null if it is not in the cache.
+	 * @throws IOException
+	 */
+	public Program load(final File ontologyFile) throws IOException {
+		final File cacheFile = getCacheFile(ontologyFile);
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile))))) {
+			if (input.readInt() != MAGIC || input.readInt() != IMPORTS_VERSION) {
+				return null;
+			}
+			final int importsCount = input.readInt();
+			for (int i = 0; i < importsCount; i++) {
+				final File importedFile = new File(input.readUTF());
+				final String importedHash = input.readUTF();
+				if (!importedFile.isFile() || !hash(importedFile).equals(importedHash)) {
+					return null;
+				}
+			}
+			return read(input);
+		}
+	}
+
+	/**
+	 * Stores given program, freshly compiled from given ontology file, in the cache, unless the ontology imports documents that are not local files.
+	 *
+	 * @param ontologyFile
+	 * @param ontology
+	 *            the ontology loaded from given file, with its imports
+	 * @param program
+	 * @return true, if the program was stored
+	 * @throws IOException
+	 */
+	public boolean store(final File ontologyFile, final OWLOntology ontology, final Program program) throws IOException {
+		final List<File> importedFiles = getImportedFiles(ontology);
+		if (importedFiles == null) {
+			return false;
+		}
+		this.cacheFolder.mkdirs();
+		final File cacheFile = getCacheFile(ontologyFile);
+		/* write to a temporary file first, so that concurrent runs never read a partial cache file */
+		final File temporaryFile = File.createTempFile(cacheFile.getName(), ".tmp", this.cacheFolder);
+		try (OutputStream output = new GZIPOutputStream(new FileOutputStream(temporaryFile))) {
+			final DataOutputStream dataOutput = new DataOutputStream(output);
+			dataOutput.writeInt(MAGIC);
+			dataOutput.writeInt(IMPORTS_VERSION);
+			dataOutput.writeInt(importedFiles.size());
+			for (final File importedFile : importedFiles) {
+				dataOutput.writeUTF(importedFile.getPath());
+				dataOutput.writeUTF(hash(importedFile));
+			}
+			dataOutput.flush();
+			write(program, output);
+		}
+		if (!temporaryFile.renameTo(cacheFile)) {
+			temporaryFile.delete();
+			throw new IOException("Could not move " + temporaryFile + " to " + cacheFile);
+		}
+		return true;
+	}
+
+	/**
+	 * @param ontology
+	 * @return the files of the documents imported by given ontology, directly or indirectly, sorted by path; or null if any of them is not a local file.
+	 */
+	private static List<File> getImportedFiles(final OWLOntology ontology) {
+		final OWLOntologyManager manager = ontology.getOWLOntologyManager();
+		final List<File> importedFiles = new ArrayList<>();
+		for (final OWLOntology importedOntology : ontology.imports().collect(Collectors.toList())) {
+			final IRI documentIRI = manager.getOntologyDocumentIRI(importedOntology);
+			if (!"file".equalsIgnoreCase(documentIRI.getScheme())) {
+				return null;
+			}
+			importedFiles.add(new File(documentIRI.toURI()).getAbsoluteFile());
+		}
+		importedFiles.sort(Comparator.comparing(File::getPath));
+		return importedFiles;
+	}
+
+	/**
+	 * Writes given program, in the binary format of the cache, to given stream.
+	 *
+	 * @param program
+	 *            a program that has not been materialised yet
+	 * @param output
+	 * @throws IOException
+	 */
+	public static void write(final Program program, final OutputStream output) throws IOException {
+		final DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(output));
+		new Writer(dataOutput).writeProgram(program, false);
+		dataOutput.flush();
+	}
+
+	/**
+	 * Writes given program, that may have been partially materialised, to given stream. Besides the program, its unnamed individuals and the rules
+	 * registered in its {@link RuleRegistry} are written.
+	 *
+	 * @param program
+	 * @param output
+	 * @throws IOException
+	 */
+	static void writeMaterialized(final Program program, final DataOutputStream output) throws IOException {
+		new Writer(output).writeProgram(program, true);
+	}
+
+	/**
+	 * Reads a program written with {@link #writeMaterialized(Program, DataOutputStream)} from given stream.
+	 *
+	 * @param input
+	 * @return
+	 * @throws IOException
+	 */
+	static Program readMaterialized(final DataInputStream input) throws IOException {
+		return new Reader(input).readProgram(true);
+	}
+
+	/**
+	 * Reads a program written with {@link #write(Program, OutputStream)} from given stream.
+	 *
+	 * @param input
+	 * @return
+	 * @throws IOException
+	 */
+	public static Program read(final InputStream input) throws IOException {
+		return new Reader(new DataInputStream(new BufferedInputStream(input))).readProgram(false);
+	}
+
+	/**
+	 * Creates an independent copy of given program, that has not been materialised yet, e.g. to materialise the same program for several ABoxes.
+	 *
+	 * @param program
+	 * @return
+	 */
+	public static Program copy(final Program program) {
+		try {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			write(program, output);
+			return read(new ByteArrayInputStream(output.toByteArray()));
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Unexpected error while copying program: " + e.getMessage());
+		}
+	}
+
+	public File getCacheFile(final File ontologyFile) throws IOException {
+		return new File(this.cacheFolder, hash(ontologyFile) + CACHE_FILE_EXTENSION);
+	}
+
+	/**
+	 *
+	 * @param file
+	 * @return the hexadecimal SHA-256 hash of the content of given file.
+	 * @throws IOException
+	 */
+	public static String hash(final File file) throws IOException {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new CombinedApproachException("SHA-256 is not available: " + e.getMessage());
+		}
+		final byte[] buffer = new byte[1 << 16];
+		try (InputStream input = new FileInputStream(file)) {
+			for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		final StringBuilder hash = new StringBuilder();
+		for (final byte b : digest.digest()) {
+			hash.append(String.format("%02x", b));
+		}
+		return hash.toString();
+	}
+
+	/**
+	 * Writes strings once, the first time they occur; later occurrences are written as ids.
+	 */
+	private static class Writer {
+		private final DataOutputStream output;
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		Writer(final DataOutputStream output) {
+			this.output = output;
+		}
+
+		void writeProgram(final Program program, final boolean materialized) throws IOException {
+			if (!materialized && !program.getUnnamedIndividualNames().isEmpty()) {
+				throw new CombinedApproachException("Only programs that have not been materialised yet can be written.");
+			}
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+
+			output.writeInt(program.getRules().size());
+			for (final Rule rule : program.getRules()) {
+				writeAtoms(rule.getHead());
+				writeAtoms(rule.getBody());
+			}
+			output.writeInt(program.getFacts().size());
+			for (final Atom fact : program.getFacts()) {
+				writeAtom(fact);
+			}
+
+			final Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> superProperties = program.getSuperProperties().getSuperProperties();
+			output.writeInt(superProperties.size());
+			for (final Map.Entry<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> entry : superProperties.entrySet()) {
+				writeProperty(entry.getKey());
+				writeProperties(entry.getValue());
+			}
+
+			final Map<OWLObjectPropertyExpression, RoleConjunction> roleConjunctions = program.getActiveRoleConjunctions().getRoleConjunctionsByName();
+			output.writeInt(roleConjunctions.size());
+			for (final RoleConjunction roleConjunction : roleConjunctions.values()) {
+				writeProperty(roleConjunction.getRoleName());
+				writeProperties(roleConjunction.getRoleSet());
+			}
+
+			final HornAlchoiqAxiomType[] unprocessedAxiomTypes = { HornAlchoiqAxiomType.EXISTS, HornAlchoiqAxiomType.FOR_ALL_ROLES_FROM_DOMAIN,
+					HornAlchoiqAxiomType.AT_MOST_ONE };
+			output.writeInt(unprocessedAxiomTypes.length);
+			for (final HornAlchoiqAxiomType axiomType : unprocessedAxiomTypes) {
+				writeString(axiomType.name());
+				final List<OWLAxiom> axioms = program.getUnprocessedAxioms(axiomType);
+				output.writeInt(axioms.size());
+				for (final OWLAxiom axiom : axioms) {
+					writeAxiom((OWLSubClassOfAxiom) axiom);
+				}
+			}
+
+			output.writeInt(program.getCountAxiomsByType().size());
+			for (final Map.Entry<HornAlchoiqAxiomType, Integer> entry : program.getCountAxiomsByType().entrySet()) {
+				writeString(entry.getKey().name());
+				output.writeInt(entry.getValue());
+			}
+
+			if (materialized) {
+				output.writeInt(program.getUnnamedIndividualNames().size());
+				for (final Map.Entry<Set<String>, String> entry : program.getUnnamedIndividualNames().entrySet()) {
+					writeString(entry.getValue());
+					output.writeInt(entry.getKey().size());
+					for (final String className : entry.getKey()) {
+						writeString(className);
+					}
+				}
+				output.writeInt(program.getRuleRegistry().size());
+				for (final Rule rule : program.getRuleRegistry().getRules()) {
+					writeAtoms(rule.getHead());
+					writeAtoms(rule.getBody());
+				}
+			}
+		}
+
+		private void writeAxiom(final OWLSubClassOfAxiom axiom) throws IOException {
+			writeClass(axiom.getSubClass());
+			final OWLClassExpression superClass = axiom.getSuperClass();
+			switch (superClass.getClassExpressionType()) {
+				case OBJECT_MIN_CARDINALITY:
+					output.writeByte(MIN_CARDINALITY);
+					output.writeInt(((OWLObjectCardinalityRestriction) superClass).getCardinality());
+					break;
+				case OBJECT_MAX_CARDINALITY:
+					output.writeByte(MAX_CARDINALITY);
+					output.writeInt(((OWLObjectCardinalityRestriction) superClass).getCardinality());
+					break;
+				case OBJECT_ALL_VALUES_FROM:
+					output.writeByte(ALL_VALUES_FROM);
+					break;
+				default:
+					throw new CombinedApproachException("Unexpected unprocessed axiom: " + axiom);
+			}
+			if (superClass instanceof OWLObjectCardinalityRestriction) {
+				writeProperty(((OWLObjectCardinalityRestriction) superClass).getProperty());
+				writeClass(((OWLObjectCardinalityRestriction) superClass).getFiller());
+			} else {
+				writeProperty(((OWLObjectAllValuesFrom) superClass).getProperty());
+				writeClass(((OWLObjectAllValuesFrom) superClass).getFiller());
+			}
+		}
+
+		private void writeClass(final OWLClassExpression classExpression) throws IOException {
+			if (classExpression.isAnonymous()) {
+				throw new CombinedApproachException("Unexpected class expression in unprocessed axiom: " + classExpression);
+			}
+			writeString(classExpression.asOWLClass().getIRI().toString());
+		}
+
+		private void writeProperties(final Set<OWLObjectPropertyExpression> properties) throws IOException {
+			output.writeInt(properties.size());
+			for (final OWLObjectPropertyExpression property : properties) {
+				writeProperty(property);
+			}
+		}
+
+		private void writeProperty(final OWLObjectPropertyExpression property) throws IOException {
+			final OWLObjectPropertyExpression simplified = property.getSimplified();
+			output.writeBoolean(simplified.isAnonymous());
+			writeString(simplified.getNamedProperty().getIRI().toString());
+		}
+
+		private void writeAtoms(final Atom[] atoms) throws IOException {
+			output.writeInt(atoms.length);
+			for (final Atom atom : atoms) {
+				writeAtom(atom);
+			}
+		}
+
+		private void writeAtom(final Atom atom) throws IOException {
+			writeString(atom.getPredicate());
+			output.writeByte(atom.getArgs().length);
+			for (final String arg : atom.getArgs()) {
+				writeString(arg);
+			}
+		}
+
+		private void writeString(final String string) throws IOException {
+			final Integer id = strings.get(string);
+			if (id != null) {
+				output.writeInt(id);
+			} else {
+				final int newId = strings.size();
+				strings.put(string, newId);
+				output.writeInt(newId);
+				output.writeUTF(string);
+			}
+		}
+	}
+
+	private static class Reader {
+		private final DataInputStream input;
+		private final List<String> strings = new ArrayList<>();
+		/* created directly, to avoid initialising the OWL API ontology manager */
+		private final OWLDataFactory dataFactory = new OWLDataFactoryImpl();
+
+		Reader(final DataInputStream input) {
+			this.input = input;
+		}
+
+		Program readProgram(final boolean materialized) throws IOException {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new CombinedApproachException("Not a compatible program cache file.");
+			}
+			final Program program = new Program();
+
+			final int rulesCount = input.readInt();
+			for (int i = 0; i < rulesCount; i++) {
+				final Atom[] head = readAtoms();
+				program.getRules().add(new Rule(head, readAtoms()));
+			}
+			final int factsCount = input.readInt();
+			for (int i = 0; i < factsCount; i++) {
+				program.getFacts().add(readAtom());
+			}
+
+			final int superPropertiesCount = input.readInt();
+			for (int i = 0; i < superPropertiesCount; i++) {
+				final OWLObjectPropertyExpression property = readProperty();
+				program.getSuperProperties().getSuperProperties().put(property, readProperties());
+			}
+
+			final int roleConjunctionsCount = input.readInt();
+			for (int i = 0; i < roleConjunctionsCount; i++) {
+				final OWLObjectPropertyExpression roleName = readProperty();
+				program.getActiveRoleConjunctions().restoreRoleConjunction(new RoleConjunction(roleName, readProperties()));
+			}
+
+			final int axiomTypesCount = input.readInt();
+			for (int i = 0; i < axiomTypesCount; i++) {
+				final HornAlchoiqAxiomType axiomType = HornAlchoiqAxiomType.valueOf(readString());
+				final int axiomsCount = input.readInt();
+				for (int j = 0; j < axiomsCount; j++) {
+					program.addUnprocessedAxiom(axiomType, readAxiom());
+				}
+			}
+
+			final int axiomCountsCount = input.readInt();
+			for (int i = 0; i < axiomCountsCount; i++) {
+				final HornAlchoiqAxiomType axiomType = HornAlchoiqAxiomType.valueOf(readString());
+				program.increaseAxiomCount(axiomType, input.readInt());
+			}
+
+			if (materialized) {
+				final int unnamedIndividualsCount = input.readInt();
+				for (int i = 0; i < unnamedIndividualsCount; i++) {
+					final String unnamedIndividual = readString();
+					final int classesCount = input.readInt();
+					final Set<String> classConjunction = new HashSet<>();
+					for (int j = 0; j < classesCount; j++) {
+						classConjunction.add(readString());
+					}
+					program.restoreUnnamedIndividual(unnamedIndividual, classConjunction);
+				}
+				final int registeredRulesCount = input.readInt();
+				for (int i = 0; i < registeredRulesCount; i++) {
+					final Atom[] head = readAtoms();
+					program.getRuleRegistry().register(new Rule(head, readAtoms()));
+				}
+			}
+			return program;
+		}
+
+		private OWLAxiom readAxiom() throws IOException {
+			final OWLClass subClass = readClass();
+			final byte kind = input.readByte();
+			final int cardinality = kind == ALL_VALUES_FROM ? 0 : input.readInt();
+			final OWLObjectPropertyExpression property = readProperty();
+			final OWLClass filler = readClass();
+			final OWLClassExpression superClass;
+			switch (kind) {
+				case MIN_CARDINALITY:
+					superClass = dataFactory.getOWLObjectMinCardinality(cardinality, property, filler);
+					break;
+				case MAX_CARDINALITY:
+					superClass = dataFactory.getOWLObjectMaxCardinality(cardinality, property, filler);
+					break;
+				case ALL_VALUES_FROM:
+					superClass = dataFactory.getOWLObjectAllValuesFrom(property, filler);
+					break;
+				default:
+					throw new CombinedApproachException("Unexpected unprocessed axiom kind: " + kind);
+			}
+			return dataFactory.getOWLSubClassOfAxiom(subClass, superClass);
+		}
+
+		private OWLClass readClass() throws IOException {
+			return dataFactory.getOWLClass(IRI.create(readString()));
+		}
+
+		private Set<OWLObjectPropertyExpression> readProperties() throws IOException {
+			final int size = input.readInt();
+			final Set<OWLObjectPropertyExpression> properties = new HashSet<>();
+			for (int i = 0; i < size; i++) {
+				properties.add(readProperty());
+			}
+			return properties;
+		}
+
+		private OWLObjectPropertyExpression readProperty() throws IOException {
+			final boolean inverse = input.readBoolean();
+			final OWLObjectProperty namedProperty = dataFactory.getOWLObjectProperty(IRI.create(readString()));
+			return inverse ? dataFactory.getOWLObjectInverseOf(namedProperty) : namedProperty;
+		}
+
+		private Atom[] readAtoms() throws IOException {
+			final Atom[] atoms = new Atom[input.readInt()];
+			for (int i = 0; i < atoms.length; i++) {
+				atoms[i] = readAtom();
+			}
+			return atoms;
+		}
+
+		private Atom readAtom() throws IOException {
+			final String predicate = readString();
+			final String[] args = new String[input.readByte()];
+			for (int i = 0; i < args.length; i++) {
+				args[i] = readString();
+			}
+			return new Atom(predicate, args);
+		}
+
+		private String readString() throws IOException {
+			final int id = input.readInt();
+			if (id == strings.size()) {
+				strings.add(input.readUTF());
+			}
+			return strings.get(id);
+		}
+	}
+
+}
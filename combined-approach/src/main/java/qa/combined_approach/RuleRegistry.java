@@ -0,0 +1,98 @@
+package qa.combined_approach;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import qa.combined_approach.rules.Rule;
+
+/**
+ * Registry of the (structurally distinct) rules that have been handed to the data store, so that the same rule is not imported again in a later
+ * iteration. Registered rules are hash-consed: a single canonical instance is kept for structurally equal rules.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class RuleRegistry {
+
+	private final Map<Rule, Rule> rules = new HashMap<>();
+	private int suppressed;
+
+	/**
+	 * Registers given rule, if it has not been registered before.
+	 *
+	 * @param rule
+	 * @return true, if given rule was not registered before.
+	 */
+	public boolean register(final Rule rule) {
+		if (this.rules.putIfAbsent(rule, rule) == null) {
+			return true;
+		}
+		this.suppressed++;
+		return false;
+	}
+
+	/**
+	 *
+	 * @param rule
+	 * @return the canonical instance of given rule, or null if no structurally equal rule has been registered.
+	 */
+	public Rule getCanonical(final Rule rule) {
+		return this.rules.get(rule);
+	}
+
+	/**
+	 * Creates a sink that registers the rules appended to it, and only appends them to given sink if they have not been registered before.
+	 *
+	 * @param sink
+	 * @return
+	 */
+	public RuleSink filter(final RuleSink sink) {
+		return new RuleSink() {
+
+			@Override
+			public void appendRule(final Rule rule) throws IOException {
+				if (register(rule)) {
+					sink.appendRule(rule);
+				}
+			}
+
+			@Override
+			public void flush() throws IOException {
+				sink.flush();
+			}
+
+			@Override
+			public void close() throws IOException {
+				sink.close();
+			}
+		};
+	}
+
+	/**
+	 *
+	 * @return the canonical instances of the registered rules.
+	 */
+	public Collection<Rule> getRules() {
+		return Collections.unmodifiableCollection(this.rules.values());
+	}
+
+	/**
+	 *
+	 * @return the number of distinct registered rules.
+	 */
+	public int size() {
+		return this.rules.size();
+	}
+
+	/**
+	 *
+	 * @return the number of duplicate rules that have been suppressed.
+	 */
+	public int getSuppressed() {
+		return this.suppressed;
+	}
+
+}
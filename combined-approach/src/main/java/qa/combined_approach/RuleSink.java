@@ -0,0 +1,27 @@
+package qa.combined_approach;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Collection;
+
+import qa.combined_approach.rules.Rule;
+
+/**
+ * Destination of the rules generated by the combined approach, in RDFox format. Rules are buffered; they are only guaranteed to be written after
+ * {@link #flush()} or {@link #close()}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public interface RuleSink extends Flushable, Closeable {
+
+	void appendRule(Rule rule) throws IOException;
+
+	default void appendRules(final Collection<Rule> rules) throws IOException {
+		for (final Rule rule : rules) {
+			appendRule(rule);
+		}
+	}
+
+}
@@ -0,0 +1,244 @@
+package qa.combined_approach;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sorted, duplicate-free stream of the facts of an N-Triples file (optionally gzip compressed), with facts normalised to
+ * <code>subject predicate object .</code>. Files with more than a given number of facts are sorted externally: sorted runs of bounded size are written
+ * to temporary files and merged lazily, so memory stays bounded by the run size.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class SortedFacts implements Iterator<String>, Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final List<File> runFiles = new ArrayList<>();
+	private final List<BufferedReader> runReaders = new ArrayList<>();
+	private final PriorityQueue<RunHead> heads = new PriorityQueue<>();
+	private Iterator<String> inMemoryRun;
+	private String next;
+	private String previous;
+
+	/**
+	 * Head of a sorted run, ordered by its current fact.
+	 */
+	private static class RunHead implements Comparable<RunHead> {
+		private final BufferedReader reader;
+		private String fact;
+
+		private RunHead(final BufferedReader reader, final String fact) {
+			this.reader = reader;
+			this.fact = fact;
+		}
+
+		@Override
+		public int compareTo(final RunHead other) {
+			return fact.compareTo(other.fact);
+		}
+	}
+
+	/**
+	 *
+	 * @param file
+	 *            N-Triples file; gzip compressed if its name ends with <code>.gz</code>.
+	 * @param maxFactsInMemory
+	 *            maximum number of facts sorted in memory at once.
+	 * @param tempFolder
+	 *            folder of the temporary run files. If null, the default temporary folder is used.
+	 * @throws IOException
+	 */
+	SortedFacts(final File file, final int maxFactsInMemory, final File tempFolder) throws IOException {
+		final List<String> run = new ArrayList<>();
+		try (BufferedReader reader = openReader(file)) {
+			int lineNumber = 0;
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lineNumber++;
+				final String[] triple = parseNTriple(line);
+				if (triple == null) {
+					continue;
+				}
+				if (triple.length != 3) {
+					throw new CombinedApproachException("Invalid N-Triples fact at line " + lineNumber + " of [" + file + "]: " + line);
+				}
+				run.add(triple[0] + " " + triple[1] + " " + triple[2] + " .");
+				if (run.size() >= maxFactsInMemory) {
+					writeRun(run, tempFolder);
+				}
+			}
+		} catch (final IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+		if (runFiles.isEmpty()) {
+			Collections.sort(run);
+			inMemoryRun = run.iterator();
+		} else {
+			if (!run.isEmpty()) {
+				writeRun(run, tempFolder);
+			}
+			for (final File runFile : runFiles) {
+				final BufferedReader runReader = openReader(runFile);
+				runReaders.add(runReader);
+				final String fact = runReader.readLine();
+				if (fact != null) {
+					heads.add(new RunHead(runReader, fact));
+				}
+			}
+		}
+		advance();
+	}
+
+	private void writeRun(final List<String> run, final File tempFolder) throws IOException {
+		Collections.sort(run);
+		final File runFile = File.createTempFile("facts-run", ".nt", tempFolder);
+		runFiles.add(runFile);
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(runFile), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+			String previousFact = null;
+			for (final String fact : run) {
+				if (!fact.equals(previousFact)) {
+					writer.write(fact);
+					writer.write('\n');
+				}
+				previousFact = fact;
+			}
+		}
+		run.clear();
+	}
+
+	private void advance() throws IOException {
+		do {
+			next = nextCandidate();
+		} while (next != null && next.equals(previous));
+		previous = next;
+	}
+
+	private String nextCandidate() throws IOException {
+		if (inMemoryRun != null) {
+			return inMemoryRun.hasNext() ? inMemoryRun.next() : null;
+		}
+		final RunHead head = heads.poll();
+		if (head == null) {
+			return null;
+		}
+		final String fact = head.fact;
+		head.fact = head.reader.readLine();
+		if (head.fact != null) {
+			heads.add(head);
+		}
+		return fact;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public String next() {
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+		final String fact = next;
+		try {
+			advance();
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while reading sorted facts: " + e.getMessage());
+		}
+		return fact;
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (final BufferedReader runReader : runReaders) {
+			runReader.close();
+		}
+		runReaders.clear();
+		for (final File runFile : runFiles) {
+			runFile.delete();
+		}
+		runFiles.clear();
+	}
+
+	private static BufferedReader openReader(final File file) throws IOException {
+		InputStream inputStream = new FileInputStream(file);
+		if (file.getName().endsWith(".gz")) {
+			inputStream = new GZIPInputStream(inputStream, BUFFER_SIZE);
+		}
+		return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	/**
+	 * Splits an N-Triples line into its terms.
+	 *
+	 * @param line
+	 * @return the terms of the fact on given line, without the final dot, or null if the line is empty or a comment.
+	 */
+	static String[] parseNTriple(final String line) {
+		final List<String> terms = new ArrayList<>(3);
+		int position = 0;
+		final int length = line.length();
+		while (true) {
+			while (position < length && Character.isWhitespace(line.charAt(position))) {
+				position++;
+			}
+			if (position >= length || line.charAt(position) == '#') {
+				break;
+			}
+			final int start = position;
+			final char first = line.charAt(position);
+			if (first == '.' && terms.size() == 3) {
+				break;
+			}
+			if (first == '<') {
+				position = line.indexOf('>', position);
+				position = (position < 0) ? length : position + 1;
+			} else if (first == '"') {
+				position++;
+				while (position < length && line.charAt(position) != '"') {
+					position += (line.charAt(position) == '\\') ? 2 : 1;
+				}
+				position++;
+				/* datatype or language tag */
+				if (line.startsWith("^^", position)) {
+					position = line.indexOf('>', position);
+					position = (position < 0) ? length : position + 1;
+				} else if (position < length && line.charAt(position) == '@') {
+					position++;
+					while (position < length && (Character.isLetterOrDigit(line.charAt(position)) || line.charAt(position) == '-')) {
+						position++;
+					}
+				}
+			} else {
+				while (position < length && !Character.isWhitespace(line.charAt(position))) {
+					position++;
+				}
+				if (position == length && line.charAt(position - 1) == '.' && terms.size() == 2) {
+					position--;
+				}
+			}
+			terms.add(line.substring(start, Math.min(position, length)));
+		}
+		return terms.isEmpty() ? null : terms.toArray(new String[terms.size()]);
+	}
+
+}
@@ -1,7 +1,11 @@
 package qa.combined_approach;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,6 +19,8 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
  */
 public class SuperProperties {
 
+	private static final int[] NO_SUCCESSORS = new int[0];
+
 	private final Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> superProperties = new HashMap<>();
 
 	/**
@@ -67,20 +73,112 @@ public class SuperProperties {
 		addReflexivePropertySubsumption();
 	}
 
+	/**
+	 * Compiles the property hierarchy to integer ids, condenses its strongly connected components (equivalent properties) with Tarjan's algorithm, and
+	 * computes the properties reachable from each component as bitsets, in reverse topological order of the condensation.
+	 */
 	private void computeTransitiveClosureOfPropertySubsumption() {
-		boolean changed = true;
-		while (changed) {
-			boolean changedThisRound = false;
-			for (final OWLObjectPropertyExpression key : superProperties.keySet()) {
-				final Set<OWLObjectPropertyExpression> superPropertiesToAdd = new HashSet<>();
-				for (final OWLObjectPropertyExpression superPropOfKey : superProperties.get(key)) {
-					for (final OWLObjectPropertyExpression superPropOfSuperPropOfKey : superProperties.get(superPropOfKey)) {
-						superPropertiesToAdd.add(superPropOfSuperPropOfKey);
+		/* compile to integer ids */
+		final List<OWLObjectPropertyExpression> properties = new ArrayList<>(superProperties.keySet());
+		final Map<OWLObjectPropertyExpression, Integer> ids = new HashMap<>();
+		for (int id = 0; id < properties.size(); id++) {
+			ids.put(properties.get(id), id);
+		}
+		final int[][] successors = new int[properties.size()][];
+		for (int id = 0; id < successors.length; id++) {
+			final Set<OWLObjectPropertyExpression> directSuperProperties = superProperties.get(properties.get(id));
+			successors[id] = new int[directSuperProperties.size()];
+			int i = 0;
+			for (final OWLObjectPropertyExpression superProperty : directSuperProperties) {
+				Integer superPropertyId = ids.get(superProperty);
+				if (superPropertyId == null) {
+					/* super property that was not added as a property */
+					superPropertyId = properties.size();
+					properties.add(superProperty);
+					ids.put(superProperty, superPropertyId);
+				}
+				successors[id][i++] = superPropertyId;
+			}
+		}
+		final int n = properties.size();
+
+		/* iterative Tarjan: components are completed in reverse topological order, i.e. after all components reachable from them */
+		final int[] index = new int[n];
+		final int[] lowLink = new int[n];
+		final int[] component = new int[n];
+		Arrays.fill(index, -1);
+		final boolean[] onStack = new boolean[n];
+		final int[] stack = new int[n];
+		int stackSize = 0;
+		final int[] callStack = new int[n];
+		final int[] nextSuccessor = new int[n];
+		final List<BitSet> reachable = new ArrayList<>();
+		int nextIndex = 0;
+
+		for (int root = 0; root < n; root++) {
+			if (index[root] != -1) {
+				continue;
+			}
+			int depth = 0;
+			callStack[depth] = root;
+			index[root] = lowLink[root] = nextIndex++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			while (depth >= 0) {
+				final int node = callStack[depth];
+				final int[] nodeSuccessors = node < successors.length ? successors[node] : NO_SUCCESSORS;
+				if (nextSuccessor[node] < nodeSuccessors.length) {
+					final int successor = nodeSuccessors[nextSuccessor[node]++];
+					if (index[successor] == -1) {
+						index[successor] = lowLink[successor] = nextIndex++;
+						stack[stackSize++] = successor;
+						onStack[successor] = true;
+						callStack[++depth] = successor;
+					} else if (onStack[successor]) {
+						lowLink[node] = Math.min(lowLink[node], index[successor]);
+					}
+				} else {
+					if (lowLink[node] == index[node]) {
+						/* node is the root of a new component */
+						final int componentId = reachable.size();
+						final BitSet componentReachable = new BitSet(n);
+						final List<Integer> members = new ArrayList<>();
+						int member;
+						do {
+							member = stack[--stackSize];
+							onStack[member] = false;
+							component[member] = componentId;
+							componentReachable.set(member);
+							members.add(member);
+						} while (member != node);
+						/* successor components have already been completed */
+						for (final int componentMember : members) {
+							if (componentMember < successors.length) {
+								for (final int successor : successors[componentMember]) {
+									if (component[successor] != componentId) {
+										componentReachable.or(reachable.get(component[successor]));
+									}
+								}
+							}
+						}
+						reachable.add(componentReachable);
+					}
+					depth--;
+					if (depth >= 0) {
+						final int parent = callStack[depth];
+						lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
 					}
 				}
-				changedThisRound = changedThisRound || superProperties.get(key).addAll(superPropertiesToAdd);
 			}
-			changed = changed & changedThisRound;
+		}
+
+		/* expose the closure through the property sets; each property reaches itself, which the reflexive closure adds anyway */
+		for (int id = 0; id < successors.length; id++) {
+			final BitSet closure = reachable.get(component[id]);
+			final Set<OWLObjectPropertyExpression> superPropertiesOfId = superProperties.get(properties.get(id));
+			for (int superPropertyId = closure.nextSetBit(0); superPropertyId >= 0; superPropertyId = closure.nextSetBit(superPropertyId + 1)) {
+				superPropertiesOfId.add(properties.get(superPropertyId));
+			}
 		}
 	}
 
@@ -36,23 +36,27 @@ public class Util {
 	}
 
 	public static void appendRulesToFile(final Collection<Rule> rules, final File file) throws IOException {
-		for (final Rule rule : rules) {
-			appendRuleToFile(rule, file);
+		try (BufferedSink sink = BufferedSink.toFile(file, true)) {
+			sink.appendRules(rules);
 		}
 	}
 
 	public static void appendRuleToFile(final Rule rule, final File file) throws IOException {
-		Util.writeToFile(file, rule.toRDFOxFormat(), true);
+		try (BufferedSink sink = BufferedSink.toFile(file, true)) {
+			sink.appendRule(rule);
+		}
 	}
 
 	public static void appendFactsToFile(final Collection<Atom> facts, final File file) throws IOException {
-		for (final Atom fact : facts) {
-			appendFactToFile(fact, file);
+		try (BufferedSink sink = BufferedSink.toFile(file, true)) {
+			sink.appendFacts(facts);
 		}
 	}
 
 	public static void appendFactToFile(final Atom fact, final File file) throws IOException {
-		Util.writeToFile(file, fact.toTurtleAtom() + "\n", true);
+		try (BufferedSink sink = BufferedSink.toFile(file, true)) {
+			sink.appendFact(fact);
+		}
 	}
 
 	public static void moveFileToFolder(final File ontologyFile, final String destinationFolder) {
@@ -0,0 +1,192 @@
+package qa.combined_approach.abox;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.dataStore.DataStoreInterface;
+
+/**
+ * Imports the files of an ABox folder into a data store, as configured by an {@link ImportConfiguration}. Only files with one of the configured extensions
+ * are imported, largest first. If the store supports concurrent imports ({@link DataStoreInterface#isConcurrentImport()}), each file is imported by the
+ * next free worker, so that the work is balanced between the workers. Otherwise, the files are passed to the store in batches, whose import the store
+ * parallelises itself. The number of imported files and triples per second are reported while the import runs.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class AboxImporter {
+
+	private final ImportConfiguration configuration;
+	/* serialises the progress reports, without holding the lock of the importer */
+	private final Object reportLock = new Object();
+
+	private int importedFileCount;
+	private long importedBytes;
+	private long importedTriples;
+	private long startImport;
+	private long initialTriples;
+	private long lastReport;
+	private int lastReportedFileCount;
+
+	public AboxImporter(final ImportConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Imports the files of given folder with one of the configured extensions.
+	 *
+	 * @param dataStore
+	 * @param folder
+	 * @return the number of imported files
+	 * @throws IOException
+	 */
+	public int importFolder(final DataStoreInterface dataStore, final File folder) throws IOException {
+		final File[] files = folder.listFiles(this::accepts);
+		if (files == null) {
+			throw new CombinedApproachException("ABox folder [" + folder + "] is not a readable folder");
+		}
+		return importFiles(dataStore, files);
+	}
+
+	/**
+	 *
+	 * @param file
+	 * @return true, if given file is imported from an ABox folder
+	 */
+	public boolean accepts(final File file) {
+		final String name = file.getName().toLowerCase();
+		return file.isFile() && configuration.getExtensions().stream().anyMatch(extension -> name.endsWith(extension.toLowerCase()));
+	}
+
+	/**
+	 * Imports given files, in parallel.
+	 *
+	 * @param dataStore
+	 * @param files
+	 * @return the number of imported files
+	 * @throws IOException
+	 */
+	public int importFiles(final DataStoreInterface dataStore, final File... files) throws IOException {
+		final List<File> sortedFiles = new ArrayList<>(Arrays.asList(files));
+		/* largest first, so that the last files left to the workers are small */
+		sortedFiles.sort(Comparator.comparingLong(File::length).reversed().thenComparing(File::getName));
+		final Queue<File> queue = new ConcurrentLinkedQueue<>(sortedFiles);
+		this.importedFileCount = 0;
+		this.importedBytes = 0;
+		this.importedTriples = 0;
+		this.startImport = System.currentTimeMillis();
+		this.lastReport = this.startImport;
+		this.lastReportedFileCount = 0;
+		this.initialTriples = (configuration.getProgressInterval() > 0) ? dataStore.countTriples() : 0;
+
+		final int threads = Math.max(1, Math.min(configuration.getThreads(), files.length));
+		if (!dataStore.isConcurrentImport()) {
+			final int batchSize = Math.max(1, configuration.getBatchSize());
+			for (int start = 0; start < sortedFiles.size(); start += batchSize) {
+				final List<File> batch = sortedFiles.subList(start, Math.min(start + batchSize, sortedFiles.size()));
+				dataStore.importFiles(batch.toArray(new File[batch.size()]));
+				filesImported(dataStore, batch, files.length);
+			}
+		} else if (threads == 1) {
+			importQueued(dataStore, queue, files.length);
+		} else {
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			final List<Future<?>> workers = new ArrayList<>();
+			try {
+				for (int i = 0; i < threads; i++) {
+					workers.add(executor.submit(() -> importQueued(dataStore, queue, files.length)));
+				}
+				for (final Future<?> worker : workers) {
+					worker.get();
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while importing ABox files");
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new CombinedApproachException("Error while importing ABox files: " + e.getCause());
+			} finally {
+				/* the other workers stop after their current file */
+				queue.clear();
+				executor.shutdown();
+			}
+		}
+		if (configuration.getProgressInterval() > 0) {
+			this.importedTriples = dataStore.countTriples() - this.initialTriples;
+		}
+		return this.importedFileCount;
+	}
+
+	private void importQueued(final DataStoreInterface dataStore, final Queue<File> queue, final int fileCount) {
+		for (File file = queue.poll(); file != null; file = queue.poll()) {
+			dataStore.importFiles(file);
+			filesImported(dataStore, Collections.singletonList(file), fileCount);
+		}
+	}
+
+	private void filesImported(final DataStoreInterface dataStore, final List<File> files, final int fileCount) {
+		final long now = System.currentTimeMillis();
+		final int importedFiles;
+		final long importedFileBytes;
+		synchronized (this) {
+			this.importedFileCount += files.size();
+			for (final File file : files) {
+				this.importedBytes += file.length();
+			}
+			if (configuration.getProgressInterval() <= 0 || now - this.lastReport < configuration.getProgressInterval()) {
+				return;
+			}
+			this.lastReport = now;
+			importedFiles = this.importedFileCount;
+			importedFileBytes = this.importedBytes;
+		}
+		/* counted outside of the lock of the importer, so that the other workers do not wait for it; a report overtaken by a later one is skipped */
+		synchronized (this.reportLock) {
+			if (importedFiles <= this.lastReportedFileCount) {
+				return;
+			}
+			this.lastReportedFileCount = importedFiles;
+			final long triples = dataStore.countTriples() - this.initialTriples;
+			final double seconds = Math.max(1, now - this.startImport) / 1000.0;
+			System.out.println(String.format("    Imported %d/%d files (%d MB), %d triples; %.1f files/s, %.0f triples/s", importedFiles, fileCount,
+					importedFileBytes >> 20, triples, importedFiles / seconds, triples / seconds));
+		}
+	}
+
+	/**
+	 * @return the number of files imported by the last import
+	 */
+	public int getImportedFileCount() {
+		return this.importedFileCount;
+	}
+
+	/**
+	 * @return the size of the files imported by the last import, in bytes, compressed if they are compressed
+	 */
+	public long getImportedBytes() {
+		return this.importedBytes;
+	}
+
+	/**
+	 * @return the number of triples added to the store by the last import, if progress is reported; 0 otherwise.
+	 */
+	public long getImportedTriples() {
+		return this.importedTriples;
+	}
+
+}
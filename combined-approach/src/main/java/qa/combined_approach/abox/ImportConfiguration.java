@@ -0,0 +1,80 @@
+package qa.combined_approach.abox;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration for {@link AboxImporter}. Enables us to configure which files of an ABox folder are imported, how many are imported in parallel, and how
+ * often the progress of the import is reported.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ImportConfiguration {
+
+	private List<String> extensions = Arrays.asList(".ttl", ".nt", ".ttl.gz", ".nt.gz");
+	private int threads = 1;
+	private int batchSize = 64;
+	private long progressInterval = 10000;
+
+	/**
+	 * File name extensions of the imported files. Default value is <code>.ttl</code>, <code>.nt</code>, <code>.ttl.gz</code> and <code>.nt.gz</code>.
+	 *
+	 * @return
+	 */
+	public List<String> getExtensions() {
+		return extensions;
+	}
+
+	/**
+	 * Sets the file name extensions of the imported files, case-insensitive. Files of an ABox folder with other extensions are ignored.
+	 *
+	 * @param extensions
+	 */
+	public void setExtensions(final List<String> extensions) {
+		this.extensions = extensions;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of files parsed in parallel, if the data store supports concurrent imports, as the in-memory data store does. Otherwise, the
+	 * import is parallelised by the data store. Default value is 1.
+	 *
+	 * @param threads
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the number of files passed to the data store at once, if it parallelises the import of several files itself, as RDFox does. Progress is
+	 * reported after each batch. Default value is 64.
+	 *
+	 * @param batchSize
+	 */
+	public void setBatchSize(final int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getProgressInterval() {
+		return progressInterval;
+	}
+
+	/**
+	 * Sets the minimum time between two progress reports, in milliseconds. Progress is reported when a file, or a batch of files, has been imported. If
+	 * 0, progress is not reported. Default value is 10000.
+	 *
+	 * @param progressInterval
+	 */
+	public void setProgressInterval(final long progressInterval) {
+		this.progressInterval = progressInterval;
+	}
+
+}
@@ -0,0 +1,22 @@
+package qa.combined_approach.dataStore;
+
+import java.io.IOException;
+
+/**
+ * Receives the answers to a query, one at a time, as they are computed by the data store.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@FunctionalInterface
+public interface AnswerHandler {
+
+	/**
+	 * @param tuple
+	 *            the terms of the answer, in the order of the answer variables of the query. The array is reused for the following answers, so it must be
+	 *            copied if it is kept.
+	 * @throws IOException
+	 */
+	void answer(String[] tuple) throws IOException;
+
+}
@@ -1,19 +1,67 @@
 package qa.combined_approach.dataStore;
 
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
 import uk.ac.ox.cs.JRDFox.store.DataStore;
 
 /**
- * Configuration for RDFox data store. Enables us to configure store type and number of threads to be used.
+ * Configuration for RDFox data store. Enables us to configure store type and number of threads to be used, as well as the {@link Backend} that implements
+ * the data store.
  *
  * @author Irina Dragoste
  *
  */
 public class DataStoreConfiguration {
+
+	/**
+	 * Implementations of {@link DataStoreInterface}.
+	 */
+	public enum Backend {
+		/** {@link RDFoxDataStoreWrapper}, requires the native RDFox library. */
+		RDFOX,
+		/** {@link InMemoryDataStore}, a pure-Java Datalog engine. */
+		IN_MEMORY
+	}
+
+	private Backend backend = Backend.RDFOX;
 	private int rdfoxDataStoreThreads = 1;
 	private DataStore.StoreType rdfoxDataStoreType = DataStore.StoreType.ParallelComplexWW;
+	private int queryCacheSize = 1024;
 
 	/**
-	 * Number of threads used by RDFox data store for reasoning. Default value is 1.
+	 * Creates a new, empty data store, of the configured {@link Backend}.
+	 *
+	 * @return
+	 */
+	public DataStoreInterface createDataStore() {
+		switch (backend) {
+			case IN_MEMORY:
+				return new InMemoryDataStore(rdfoxDataStoreThreads);
+			case RDFOX:
+			default:
+				return new RDFoxDataStoreWrapper(this);
+		}
+	}
+
+	/**
+	 * Gets the data store implementation. Default value is {@link Backend#RDFOX}.
+	 *
+	 * @return
+	 */
+	public Backend getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Sets the data store implementation. Default value is {@link Backend#RDFOX}.
+	 *
+	 * @param backend
+	 */
+	public void setBackend(final Backend backend) {
+		this.backend = backend;
+	}
+
+	/**
+	 * Number of threads used by RDFox data store (or by the in-memory data store) for reasoning. Default value is 1.
 	 *
 	 * @return
 	 */
@@ -30,6 +78,25 @@ public class DataStoreConfiguration {
 		this.rdfoxDataStoreThreads = rdfoxDataStoreThreads;
 	}
 
+	/**
+	 * Maximum number of compiled queries cached by the RDFox data store, which are reused when the same query is answered again, in the same or in a later
+	 * materialisation iteration. If 0, queries are compiled each time they are answered. Default value is 1024.
+	 *
+	 * @return
+	 */
+	public int getQueryCacheSize() {
+		return queryCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of compiled queries cached by the RDFox data store. If 0, queries are not cached. Default value is 1024.
+	 *
+	 * @param queryCacheSize
+	 */
+	public void setQueryCacheSize(final int queryCacheSize) {
+		this.queryCacheSize = queryCacheSize;
+	}
+
 	// TODO copy from rdfsore javadoc
 	/**
 	 * Gets the RDFox data store type. Default value is ParallelSimpleNN
@@ -1,9 +1,11 @@
 package qa.combined_approach.dataStore;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 
+import qa.combined_approach.rules.Atom;
 import qa.combined_approach.rules.Query;
 import uk.ac.ox.cs.JRDFox.JRDFoxException;
 import uk.ac.ox.cs.JRDFox.store.DataStore.Format;
@@ -18,22 +20,76 @@ public interface DataStoreInterface {
 
 	void importFiles(File... fileArray);
 
-	void importText(String text);
+	/**
+	 * @return true, if {@link #importFiles(File...)} may be called concurrently from several threads, which then parse their files in parallel; false, if
+	 *         the files are best passed to a single call, whose import the store parallelises itself.
+	 */
+	boolean isConcurrentImport();
+
+	/**
+	 * Imports given text, in given format.
+	 *
+	 * @param text
+	 * @param format
+	 */
+	void importText(String text, TextFormat format);
 
 	void reason();
 
 	long countTriples();
 
+	/**
+	 * Counts the facts with the predicate of given atom.
+	 *
+	 * @param atom
+	 *            atom whose arguments are distinct variables
+	 * @return the number of facts matching given atom
+	 */
+	long countFacts(Atom atom);
+
 	Set<Map<String, String>> answerQuery(Query query);
 
 	Set<String> answerUnaryQuery(Query query);
 
 	Set<String> answerSPARQLUnaryQuery(String sparqlQuery);
 
+	/**
+	 * Streams the distinct answers to given SPARQL SELECT query to given handler, without materialising the answer set in memory.
+	 *
+	 * @param sparqlQuery
+	 * @param handler
+	 * @return the number of answers
+	 * @throws IOException
+	 *             if thrown by the handler
+	 */
+	long forEachAnswer(String sparqlQuery, AnswerHandler handler) throws IOException;
+
+	/**
+	 * Streams the distinct answers to given query to given handler. See {@link #forEachAnswer(String, AnswerHandler)}.
+	 *
+	 * @param query
+	 * @param handler
+	 * @return the number of answers
+	 * @throws IOException
+	 *             if thrown by the handler
+	 */
+	default long forEachAnswer(final Query query, final AnswerHandler handler) throws IOException {
+		return forEachAnswer(query.toSPARQLQuery(), handler);
+	}
+
 	void dispose();
 
 	boolean answerASKQuery(String sparqlQuery);
 
 	void export(File file, Format format) throws JRDFoxException;
 
+	/**
+	 * Streams all triples in the store to given handler, without materialising them in memory.
+	 *
+	 * @param handler
+	 * @throws IOException
+	 *             if thrown by the handler
+	 */
+	void forEachTriple(TripleHandler handler) throws IOException;
+
 }
@@ -0,0 +1,110 @@
+package qa.combined_approach.dataStore;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+import uk.ac.ox.cs.JRDFox.store.DataStore;
+import uk.ac.ox.cs.JRDFox.store.TupleIterator;
+
+/**
+ * Bounded cache of compiled RDFox queries, keyed by SPARQL text, with least-recently-used eviction. A compiled {@link TupleIterator} is re-evaluated
+ * against the current content of the store each time it is opened, so it can be reused across materialisation iterations. An iterator is checked out of
+ * the cache by {@link #acquire(String)} and returned by {@link #release(String, TupleIterator)}, so that concurrent evaluations of the same query
+ * never share an iterator.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class QueryCache {
+
+	private final DataStore dataStore;
+	private final int maxSize;
+	private final LinkedHashMap<String, TupleIterator> iterators;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param dataStore
+	 *            store the queries are compiled against
+	 * @param maxSize
+	 *            maximum number of cached compiled queries
+	 */
+	QueryCache(final DataStore dataStore, final int maxSize) {
+		this.dataStore = dataStore;
+		this.maxSize = maxSize;
+		/* access order: the eldest entry is the least recently used one */
+		this.iterators = new LinkedHashMap<String, TupleIterator>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, TupleIterator> eldest) {
+				if (size() > QueryCache.this.maxSize) {
+					eldest.getValue().dispose();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Checks out the compiled query with given SPARQL text, compiling it if it is not cached.
+	 *
+	 * @param sparqlQuery
+	 * @return
+	 * @throws JRDFoxException
+	 */
+	TupleIterator acquire(final String sparqlQuery) throws JRDFoxException {
+		final TupleIterator tupleIterator;
+		synchronized (this) {
+			tupleIterator = this.iterators.remove(sparqlQuery);
+			if (tupleIterator != null) {
+				this.hits++;
+				return tupleIterator;
+			}
+			this.misses++;
+		}
+		return this.dataStore.compileQuery(sparqlQuery);
+	}
+
+	/**
+	 * Returns a compiled query to the cache, evicting the least recently used one if the cache is full. If the query has been cached meanwhile (by a
+	 * concurrent evaluation), the given iterator is disposed.
+	 *
+	 * @param sparqlQuery
+	 * @param tupleIterator
+	 */
+	synchronized void release(final String sparqlQuery, final TupleIterator tupleIterator) {
+		if (this.iterators.containsKey(sparqlQuery)) {
+			tupleIterator.dispose();
+		} else {
+			this.iterators.put(sparqlQuery, tupleIterator);
+		}
+	}
+
+	/**
+	 * Disposes all cached compiled queries.
+	 */
+	synchronized void clear() {
+		for (final Iterator<TupleIterator> iterator = this.iterators.values().iterator(); iterator.hasNext();) {
+			iterator.next().dispose();
+			iterator.remove();
+		}
+	}
+
+	synchronized int size() {
+		return this.iterators.size();
+	}
+
+	synchronized long getHits() {
+		return this.hits;
+	}
+
+	synchronized long getMisses() {
+		return this.misses;
+	}
+
+}
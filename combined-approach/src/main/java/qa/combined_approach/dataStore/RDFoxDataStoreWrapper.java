@@ -1,12 +1,22 @@
 package qa.combined_approach.dataStore;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.rules.Atom;
 import qa.combined_approach.rules.Query;
 import uk.ac.ox.cs.JRDFox.JRDFoxException;
 import uk.ac.ox.cs.JRDFox.store.DataStore;
@@ -23,18 +33,23 @@ import uk.ac.ox.cs.JRDFox.store.TupleIterator;
 public class RDFoxDataStoreWrapper implements DataStoreInterface {
 
 	private DataStore dataStore;
+	/* null if compiled queries are not cached */
+	private QueryCache queryCache;
 
 	/**
 	 * Clears the RDFox dataStore resource
 	 */
 	@Override
 	protected void finalize() throws Throwable {
-		dataStore.dispose();
+		dispose();
 		super.finalize();
 	}
 
 	@Override
 	public void dispose() {
+		if (queryCache != null) {
+			queryCache.clear();
+		}
 		dataStore.dispose();
 	}
 
@@ -53,19 +68,79 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		} catch (final JRDFoxException e) {
 			throw new CombinedApproachException("Error while trying to set the number of threads to an RDFox DataStore ", e);
 		}
+		if (config.getQueryCacheSize() > 0) {
+			queryCache = new QueryCache(dataStore, config.getQueryCacheSize());
+		}
+	}
+
+	/**
+	 * Compiles given query, or reuses its compiled form from the query cache. The returned iterator must be handed back with
+	 * {@link #releaseQuery(String, TupleIterator)}.
+	 */
+	private TupleIterator compileQuery(final String sparqlQuery) throws JRDFoxException {
+		return (queryCache == null) ? dataStore.compileQuery(sparqlQuery) : queryCache.acquire(sparqlQuery);
+	}
+
+	private void releaseQuery(final String sparqlQuery, final TupleIterator tupleIterator) {
+		if (queryCache == null) {
+			tupleIterator.dispose();
+		} else {
+			queryCache.release(sparqlQuery, tupleIterator);
+		}
 	}
 
+	/**
+	 * Imports given files, in parallel by the threads of RDFox. Gzip compressed files ({@code .gz}) are decompressed to temporary files first.
+	 */
 	@Override
 	public void importFiles(final File... fileArray) {
+		final File[] files = new File[fileArray.length];
+		final List<File> decompressedFiles = new ArrayList<>();
 		try {
-			dataStore.importFiles(fileArray);
+			for (int i = 0; i < fileArray.length; i++) {
+				files[i] = fileArray[i];
+				if (fileArray[i].getName().toLowerCase().endsWith(".gz")) {
+					files[i] = decompress(fileArray[i]);
+					decompressedFiles.add(files[i]);
+				}
+			}
+			synchronized (this) {
+				dataStore.importFiles(files);
+			}
 		} catch (final JRDFoxException e) {
-			throw new CombinedApproachException("Error while trying to import files [" + fileArray + "] to RDFox DataStore", e);
+			throw new CombinedApproachException("Error while trying to import files " + Arrays.toString(fileArray) + " to RDFox DataStore", e);
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while trying to decompress files " + Arrays.toString(fileArray) + ": " + e.getMessage());
+		} finally {
+			decompressedFiles.forEach(File::delete);
+		}
+	}
+
+	/**
+	 * @return a temporary file with the decompressed content of given gzip file, and the same extension
+	 */
+	private static File decompress(final File file) throws IOException {
+		final String name = file.getName().substring(0, file.getName().length() - ".gz".length());
+		final File decompressedFile = File.createTempFile("import", name.contains(".") ? name.substring(name.lastIndexOf('.')) : null);
+		try (InputStream input = new GZIPInputStream(new FileInputStream(file), 1 << 16)) {
+			Files.copy(input, decompressedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		}
+		return decompressedFile;
+	}
+
+	/**
+	 * RDFox parallelises the import of the files passed to a single call of {@link #importFiles(File...)}, and concurrent calls are serialised.
+	 */
+	@Override
+	public boolean isConcurrentImport() {
+		return false;
 	}
 
+	/**
+	 * RDFox detects the format of the text itself.
+	 */
 	@Override
-	public void importText(final String text) {
+	public void importText(final String text, final TextFormat format) {
 		try {
 			dataStore.importText(text);
 		} catch (final JRDFoxException e) {
@@ -85,7 +160,7 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 	}
 
 	@Override
-	public long countTriples() {
+	public synchronized long countTriples() {
 		try {
 			return dataStore.getTriplesCount();
 		} catch (final JRDFoxException e) {
@@ -93,13 +168,52 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		}
 	}
 
+	/**
+	 * Counts the facts with a <code>COUNT</code> aggregate, so that the matching tuples are counted by RDFox instead of being iterated here.
+	 */
+	@Override
+	public long countFacts(final Atom atom) {
+		final String sparqlQuery = "SELECT (COUNT(*) AS ?count) WHERE {\n" + atom.toTurtleAtom() + "\n}";
+		TupleIterator tupleIterator;
+		try {
+			tupleIterator = compileQuery(sparqlQuery);
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while trying to count facts for RDFox DataStore", e);
+		}
+		try {
+			if (tupleIterator.open() == 0) {
+				return 0;
+			}
+			return parseCount(tupleIterator.getResource(0).toString());
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while trying to count facts for RDFox DataStore", e);
+		} finally {
+			releaseQuery(sparqlQuery, tupleIterator);
+		}
+	}
+
+	/**
+	 * @param count
+	 *            integer literal, such as <code>"6"^^&lt;http://www.w3.org/2001/XMLSchema#integer&gt;</code>, or its lexical form
+	 * @return the value of given literal
+	 */
+	private static long parseCount(final String count) {
+		final String lexicalForm = count.startsWith("\"") ? count.substring(1, count.indexOf('"', 1)) : count;
+		try {
+			return Long.parseLong(lexicalForm);
+		} catch (final NumberFormatException e) {
+			throw new CombinedApproachException("Unexpected count of facts returned by RDFox DataStore: " + count);
+		}
+	}
+
 	@Override
 	public Set<Map<String, String>> answerQuery(final Query query) {
 		final Set<Map<String, String>> substitutions = new HashSet<>();
 		final String sparqlQuery = query.toSPARQLQuery();
+		final String[] querryVariables = query.getQuerryVariables();
 		TupleIterator tupleIterator;
 		try {
-			tupleIterator = dataStore.compileQuery(sparqlQuery);
+			tupleIterator = compileQuery(sparqlQuery);
 		} catch (final JRDFoxException e1) {
 			throw new RuntimeException("Error while query answering!", e1);
 		}
@@ -109,17 +223,17 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 				final Map<String, String> substitution = new HashMap<>();
 				// arity = number o variables
 				for (int i = 0; i < tupleIterator.getArity(); i++) {
-					if (tupleIterator.getArity() != query.getQuerryVariables().length) {
+					if (tupleIterator.getArity() != querryVariables.length) {
 						throw new RuntimeException("Error while query answering! answer does no match number of variables queried for.");
 					}
-					substitution.put(query.getQuerryVariables()[i].toString(), tupleIterator.getResource(i).toString());
+					substitution.put(querryVariables[i], tupleIterator.getResource(i).toString());
 				}
 				substitutions.add(substitution);
 			}
 		} catch (final JRDFoxException e) {
 			throw new RuntimeException("Error while query answering!", e);
 		} finally {
-			tupleIterator.dispose();
+			releaseQuery(sparqlQuery, tupleIterator);
 		}
 		return substitutions;
 	}
@@ -127,9 +241,10 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 	@Override
 	public Set<String> answerUnaryQuery(final Query query) {
 		final Set<String> answers = new HashSet<String>();
+		final String sparqlQuery = query.toSPARQLQuery();
 		TupleIterator existTupleIterator;
 		try {
-			existTupleIterator = dataStore.compileQuery(query.toSPARQLQuery());
+			existTupleIterator = compileQuery(sparqlQuery);
 		} catch (final JRDFoxException e) {
 			throw new RuntimeException("Error while query answering!", e);
 		}
@@ -140,7 +255,7 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		} catch (final JRDFoxException e1) {
 			throw new RuntimeException("Error while query answering!", e1);
 		} finally {
-			existTupleIterator.dispose();
+			releaseQuery(sparqlQuery, existTupleIterator);
 		}
 		return answers;
 	}
@@ -150,7 +265,7 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		final Set<String> answers = new HashSet<String>();
 		TupleIterator existTupleIterator;
 		try {
-			existTupleIterator = dataStore.compileQuery(sparqlQuery);
+			existTupleIterator = compileQuery(sparqlQuery);
 		} catch (final JRDFoxException e) {
 			throw new RuntimeException("Error while query answering!", e);
 		}
@@ -161,17 +276,46 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		} catch (final JRDFoxException e1) {
 			throw new RuntimeException("Error while query answering!", e1);
 		} finally {
-			existTupleIterator.dispose();
+			releaseQuery(sparqlQuery, existTupleIterator);
 		}
 		return answers;
 	}
 
+	@Override
+	public long forEachAnswer(final String sparqlQuery, final AnswerHandler handler) throws IOException {
+		long count = 0;
+		TupleIterator tupleIterator;
+		try {
+			tupleIterator = compileQuery(sparqlQuery);
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while query answering!", e);
+		}
+		try {
+			String[] tuple = null;
+			for (long multiplicity = tupleIterator.open(); multiplicity != 0; multiplicity = tupleIterator.advance()) {
+				if (tuple == null) {
+					tuple = new String[tupleIterator.getArity()];
+				}
+				for (int i = 0; i < tuple.length; i++) {
+					tuple[i] = tupleIterator.getResource(i).toString();
+				}
+				handler.answer(tuple);
+				count++;
+			}
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while query answering!", e);
+		} finally {
+			releaseQuery(sparqlQuery, tupleIterator);
+		}
+		return count;
+	}
+
 	@Override
 	public boolean answerASKQuery(final String sparqlQuery) {
 		final boolean answer;
 		TupleIterator existTupleIterator;
 		try {
-			existTupleIterator = dataStore.compileQuery(sparqlQuery);
+			existTupleIterator = compileQuery(sparqlQuery);
 		} catch (final JRDFoxException e) {
 			throw new RuntimeException("Error while query answering!", e);
 		}
@@ -182,7 +326,7 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		} catch (final JRDFoxException e1) {
 			throw new RuntimeException("Error while query answering!", e1);
 		} finally {
-			existTupleIterator.dispose();
+			releaseQuery(sparqlQuery, existTupleIterator);
 		}
 		return answer;
 	}
@@ -192,4 +336,23 @@ public class RDFoxDataStoreWrapper implements DataStoreInterface {
 		dataStore.export(file, format);
 	}
 
+	@Override
+	public void forEachTriple(final TripleHandler handler) throws IOException {
+		TupleIterator tupleIterator;
+		try {
+			tupleIterator = dataStore.compileQuery("SELECT ?s ?p ?o WHERE { ?s ?p ?o . }");
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while trying to iterate over the triples of RDFox DataStore", e);
+		}
+		try {
+			for (long multiplicity = tupleIterator.open(); multiplicity != 0; multiplicity = tupleIterator.advance()) {
+				handler.triple(tupleIterator.getResource(0).toString(), tupleIterator.getResource(1).toString(), tupleIterator.getResource(2).toString());
+			}
+		} catch (final JRDFoxException e) {
+			throw new CombinedApproachException("Error while trying to iterate over the triples of RDFox DataStore", e);
+		} finally {
+			tupleIterator.dispose();
+		}
+	}
+
 }
@@ -0,0 +1,21 @@
+package qa.combined_approach.dataStore;
+
+/**
+ * Format of the text imported with {@link DataStoreInterface#importText(String, TextFormat)}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public enum TextFormat {
+
+	/**
+	 * Turtle facts, one triple per line.
+	 */
+	TURTLE,
+
+	/**
+	 * RDFox Datalog rules.
+	 */
+	DATALOG
+
+}
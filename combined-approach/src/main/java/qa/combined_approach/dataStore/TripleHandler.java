@@ -0,0 +1,16 @@
+package qa.combined_approach.dataStore;
+
+import java.io.IOException;
+
+/**
+ * Receives the triples of a data store, one at a time, with terms in N-Triples form.
+ *
+ * @author Irina Dragoste
+ *
+ */
+@FunctionalInterface
+public interface TripleHandler {
+
+	void triple(String subject, String predicate, String object) throws IOException;
+
+}
@@ -0,0 +1,32 @@
+package qa.combined_approach.dataStore.memory;
+
+/**
+ * Atom over a {@link Relation}, with dictionary-encoded arguments: non-negative arguments are term ids, negative arguments {@code -(v+1)} denote the
+ * variable with index {@code v}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class CompiledAtom {
+
+	final Relation relation;
+	final int[] arguments;
+
+	CompiledAtom(final Relation relation, final int... arguments) {
+		this.relation = relation;
+		this.arguments = arguments;
+	}
+
+	static boolean isVariable(final int argument) {
+		return argument < 0;
+	}
+
+	static int variableIndex(final int argument) {
+		return -argument - 1;
+	}
+
+	static int variable(final int variableIndex) {
+		return -variableIndex - 1;
+	}
+
+}
@@ -0,0 +1,24 @@
+package qa.combined_approach.dataStore.memory;
+
+/**
+ * Datalog rule with a single head atom, compiled against the {@link Relation}s of an {@link InMemoryDataStore}. A head with predicate
+ * {@code owl:sameAs} has no relation; its derivations merge equivalence classes instead.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class CompiledRule {
+
+	final CompiledAtom head;
+	final boolean sameAsHead;
+	final CompiledAtom[] body;
+	final int variableCount;
+
+	CompiledRule(final CompiledAtom head, final boolean sameAsHead, final CompiledAtom[] body, final int variableCount) {
+		this.head = head;
+		this.sameAsHead = sameAsHead;
+		this.body = body;
+		this.variableCount = variableCount;
+	}
+
+}
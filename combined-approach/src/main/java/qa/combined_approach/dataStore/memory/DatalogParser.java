@@ -0,0 +1,104 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import qa.combined_approach.dataStore.memory.Lexer.TokenType;
+
+/**
+ * Parser for the RDFox Datalog syntax produced by {@link qa.combined_approach.rules.Rule#toRDFOxFormat()}: rules of the form
+ * {@code <H>(?x, ?y) :- <B1>(?x), <B2>(?x, ?y) .} and ground facts of the form {@code <P>(<a>) .}. Atoms are returned as triple patterns: unary atoms
+ * {@code <C>(t)} become {@code t rdf:type <C>}, binary atoms {@code <P>(s, o)} become {@code s <P> o}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class DatalogParser {
+
+	/**
+	 * Receives the parsed rules and facts.
+	 */
+	interface RuleHandler {
+		void rule(String[] head, List<String[]> body);
+
+		void fact(String[] triple);
+	}
+
+	private DatalogParser() {
+	}
+
+	static void parse(final Reader reader, final RuleHandler handler) {
+		final Lexer lexer = new Lexer(reader);
+		lexer.next();
+		while (lexer.type() != TokenType.EOF) {
+			if (lexer.isWord("PREFIX")) {
+				lexer.readPrefixDeclaration(false);
+			} else if (lexer.isWord("@prefix")) {
+				lexer.readPrefixDeclaration(true);
+			} else {
+				parseStatement(lexer, handler);
+			}
+		}
+	}
+
+	private static void parseStatement(final Lexer lexer, final RuleHandler handler) {
+		final List<String[]> head = parseAtoms(lexer);
+		if (lexer.is(":-")) {
+			lexer.next();
+			final List<String[]> body = parseAtoms(lexer);
+			lexer.expect(".");
+			for (final String[] headAtom : head) {
+				handler.rule(headAtom, body);
+			}
+		} else {
+			lexer.expect(".");
+			for (final String[] fact : head) {
+				handler.fact(fact);
+			}
+		}
+	}
+
+	private static List<String[]> parseAtoms(final Lexer lexer) {
+		final List<String[]> atoms = new ArrayList<>();
+		atoms.add(parseAtom(lexer));
+		while (lexer.is(",")) {
+			lexer.next();
+			atoms.add(parseAtom(lexer));
+		}
+		return atoms;
+	}
+
+	private static String[] parseAtom(final Lexer lexer) {
+		if (lexer.type() != TokenType.IRI) {
+			throw lexer.error("Expected predicate IRI");
+		}
+		final String predicate = lexer.text();
+		lexer.next();
+		lexer.expect("(");
+		final List<String> arguments = new ArrayList<>(2);
+		arguments.add(readTerm(lexer));
+		while (lexer.is(",")) {
+			lexer.next();
+			arguments.add(readTerm(lexer));
+		}
+		lexer.expect(")");
+
+		if (arguments.size() == 1) {
+			return new String[] { arguments.get(0), Lexer.RDF_TYPE, predicate };
+		} else if (arguments.size() == 2) {
+			return new String[] { arguments.get(0), predicate, arguments.get(1) };
+		}
+		throw lexer.error("Unsupported arity " + arguments.size() + " for predicate " + predicate);
+	}
+
+	private static String readTerm(final Lexer lexer) {
+		if (!lexer.isTerm()) {
+			throw lexer.error("Expected term");
+		}
+		final String term = lexer.text();
+		lexer.next();
+		return term;
+	}
+
+}
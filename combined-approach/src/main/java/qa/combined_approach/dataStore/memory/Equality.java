@@ -0,0 +1,149 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Union-find structure over term ids, implementing {@code owl:sameAs} by rewriting: every equivalence class is represented by its smallest term id, and
+ * all tuples stored in the {@link Relation}s use representatives only.<br>
+ * Merging is only performed by the (single-threaded) update phases of the {@link InMemoryDataStore}; {@link #representative(int)} does not modify the
+ * structure, so it can be called concurrently by query and rule evaluation threads.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class Equality {
+
+	private int[] parent = new int[0];
+	/* members of each non-trivial equivalence class, by representative */
+	private final Map<Integer, IntList> members = new HashMap<>();
+	/* representatives of the classes changed since the last call to clearTouched() */
+	private final Set<Integer> touched = new HashSet<>();
+
+	int representative(final int term) {
+		if (term >= parent.length) {
+			return term;
+		}
+		int current = term;
+		while (parent[current] != current) {
+			current = parent[current];
+		}
+		return current;
+	}
+
+	/**
+	 * Merges the equivalence classes of given terms.
+	 *
+	 * @param first
+	 * @param second
+	 * @return true, if the two terms were not already equal.
+	 */
+	boolean merge(final int first, final int second) {
+		ensureCapacity(Math.max(first, second));
+		final int firstRepresentative = compressingFind(first);
+		final int secondRepresentative = compressingFind(second);
+		if (firstRepresentative == secondRepresentative) {
+			return false;
+		}
+		final int representative = Math.min(firstRepresentative, secondRepresentative);
+		final int merged = Math.max(firstRepresentative, secondRepresentative);
+		parent[merged] = representative;
+
+		final IntList representativeMembers = membersForUpdate(representative);
+		final IntList mergedMembers = members.remove(merged);
+		if (mergedMembers == null) {
+			representativeMembers.add(merged);
+		} else {
+			for (int i = 0; i < mergedMembers.size(); i++) {
+				representativeMembers.add(mergedMembers.get(i));
+			}
+		}
+		touched.remove(merged);
+		touched.add(representative);
+		return true;
+	}
+
+	/**
+	 * @param representative
+	 * @return the number of terms equal to given representative (including itself).
+	 */
+	int classSize(final int representative) {
+		final IntList classMembers = members.get(representative);
+		return classMembers == null ? 1 : classMembers.size();
+	}
+
+	/**
+	 * @param representative
+	 * @return the terms equal to given representative (including itself), or null if the class is trivial.
+	 */
+	IntList members(final int representative) {
+		return members.get(representative);
+	}
+
+	boolean isTrivial() {
+		return members.isEmpty();
+	}
+
+	Map<Integer, IntList> nonTrivialClasses() {
+		return members;
+	}
+
+	boolean isTouched(final int representative) {
+		return touched.contains(representative);
+	}
+
+	boolean hasTouched() {
+		return !touched.isEmpty();
+	}
+
+	/**
+	 * Flattens the parent links, so that {@link #representative(int)} is a single look-up, and forgets the changed classes.
+	 */
+	void clearTouched() {
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = compressingFind(i);
+		}
+		touched.clear();
+	}
+
+	private IntList membersForUpdate(final int representative) {
+		IntList classMembers = members.get(representative);
+		if (classMembers == null) {
+			classMembers = new IntList(2);
+			classMembers.add(representative);
+			members.put(representative, classMembers);
+		}
+		return classMembers;
+	}
+
+	private int compressingFind(final int term) {
+		if (term >= parent.length) {
+			return term;
+		}
+		int root = term;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		int current = term;
+		while (parent[current] != root) {
+			final int next = parent[current];
+			parent[current] = root;
+			current = next;
+		}
+		return root;
+	}
+
+	private void ensureCapacity(final int term) {
+		if (term >= parent.length) {
+			final int oldLength = parent.length;
+			parent = Arrays.copyOf(parent, Math.max(term + 1, oldLength * 2));
+			for (int i = oldLength; i < parent.length; i++) {
+				parent[i] = i;
+			}
+		}
+	}
+
+}
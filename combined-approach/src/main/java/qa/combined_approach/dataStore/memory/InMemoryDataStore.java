@@ -0,0 +1,732 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.dataStore.AnswerHandler;
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.dataStore.TripleHandler;
+import qa.combined_approach.dataStore.memory.SparqlParser.ParsedQuery;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Query;
+import uk.ac.ox.cs.JRDFox.store.DataStore.Format;
+
+/**
+ * Pure-Java, in-memory implementation of {@link DataStoreInterface}. It is a dictionary-encoded Datalog engine, that computes the materialisation by
+ * semi-naive evaluation, evaluating the rules of each round in parallel. {@code owl:sameAs} is handled by rewriting: equal terms are replaced in all facts by
+ * the representative of their equivalence class, and query answers are expanded back to all equal terms.<br>
+ * Supported input is the subset of Turtle, RDFox Datalog and SPARQL that is produced by {@link qa.combined_approach.Materialization} and
+ * {@link qa.combined_approach.OntologyToProgram}: rules whose atoms are unary (class) or binary (property) atoms with constant predicates, and ({@code ASK}
+ * or {@code SELECT}) conjunctive queries with optional {@code FILTER NOT EXISTS} groups. {@code owl:sameAs} is only supported in facts and rule heads.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class InMemoryDataStore implements DataStoreInterface {
+
+	private static final String SAME_AS = "<" + OWLRDFVocabulary.OWL_SAME_AS + ">";
+	/* compiled argument for a query constant that does not occur in the store */
+	private static final int UNKNOWN_CONSTANT = Integer.MIN_VALUE;
+	/* number of parsed triples added to the store at once */
+	private static final int IMPORT_BATCH_SIZE = 4096;
+
+	private final TermDictionary dictionary = new TermDictionary();
+	private final Equality equality = new Equality();
+	private final Map<Integer, Relation> unaryRelations = new HashMap<>();
+	private final Map<Integer, Relation> binaryRelations = new HashMap<>();
+	private final int rdfTypeId;
+	private final int sameAsId;
+
+	/* rules already evaluated to a fixpoint, and rules imported since the last call to reason() */
+	private final List<CompiledRule> rules = new ArrayList<>();
+	private final List<CompiledRule> newRules = new ArrayList<>();
+
+	private final int numberOfThreads;
+	private ExecutorService executor;
+
+	public InMemoryDataStore() {
+		this(1);
+	}
+
+	/**
+	 * @param numberOfThreads
+	 *            number of threads used for evaluating rules during reasoning.
+	 */
+	public InMemoryDataStore(final int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+		this.rdfTypeId = dictionary.encode(Lexer.RDF_TYPE);
+		this.sameAsId = dictionary.encode(SAME_AS);
+	}
+
+	/**
+	 * Imports Turtle files ({@code .ttl}, {@code .nt}) and RDFox Datalog files (any other file), optionally gzip compressed ({@code .gz}). The format of a
+	 * file is given by the extension of its name. Directories are ignored. Turtle files may be imported concurrently from several threads: they are
+	 * parsed in parallel, and their triples are added to the store in batches.
+	 */
+	@Override
+	public void importFiles(final File... fileArray) {
+		for (final File file : fileArray) {
+			if (file.isDirectory()) {
+				continue;
+			}
+			try (final InputStream input = openFile(file)) {
+				importReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), isTurtleFile(file));
+			} catch (final IOException e) {
+				throw new CombinedApproachException("Error while trying to import file [" + file + "] to in-memory DataStore: " + e.getMessage());
+			} catch (final CombinedApproachException e) {
+				throw new CombinedApproachException("Error while trying to import file [" + file + "] to in-memory DataStore: " + e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public boolean isConcurrentImport() {
+		return true;
+	}
+
+	@Override
+	public void importText(final String text, final TextFormat format) {
+		try {
+			importReader(new StringReader(text), format == TextFormat.TURTLE);
+		} catch (final CombinedApproachException e) {
+			throw new CombinedApproachException("Error while trying to import text to in-memory DataStore: "
+					+ ((text.length() < 50) ? text : text.substring(0, 50) + " ...") + ": " + e.getMessage());
+		}
+	}
+
+	private static InputStream openFile(final File file) throws IOException {
+		final InputStream input = new FileInputStream(file);
+		if (file.getName().toLowerCase().endsWith(".gz")) {
+			return new BufferedInputStream(new GZIPInputStream(input, 1 << 16), 1 << 16);
+		}
+		return new BufferedInputStream(input, 1 << 16);
+	}
+
+	private void importReader(final Reader reader, final boolean turtle) {
+		if (turtle) {
+			/* parsing is done outside of the lock of the store, so that several files can be parsed concurrently */
+			final List<String> batch = new ArrayList<>(3 * IMPORT_BATCH_SIZE);
+			TurtleParser.parse(reader, (subject, predicate, object) -> {
+				batch.add(subject);
+				batch.add(predicate);
+				batch.add(object);
+				if (batch.size() == 3 * IMPORT_BATCH_SIZE) {
+					addFacts(batch);
+					batch.clear();
+				}
+			});
+			addFacts(batch);
+		} else {
+			importRules(reader);
+		}
+	}
+
+	private synchronized void addFacts(final List<String> batch) {
+		for (int i = 0; i < batch.size(); i += 3) {
+			addFact(batch.get(i), batch.get(i + 1), batch.get(i + 2));
+		}
+	}
+
+	private synchronized void importRules(final Reader reader) {
+		DatalogParser.parse(reader, new DatalogParser.RuleHandler() {
+			@Override
+			public void rule(final String[] head, final List<String[]> body) {
+				addRule(head, body);
+			}
+
+			@Override
+			public void fact(final String[] triple) {
+				addFact(triple[0], triple[1], triple[2]);
+			}
+		});
+	}
+
+	private static boolean isTurtleFile(final File file) {
+		final String name = file.getName().toLowerCase().replaceAll("\\.gz$", "");
+		return name.endsWith(".ttl") || name.endsWith(".nt");
+	}
+
+	private void addFact(final String subject, final String predicate, final String object) {
+		final int subjectId = dictionary.encode(subject);
+		final int objectId = dictionary.encode(object);
+		if (predicate.equals(SAME_AS)) {
+			equality.merge(subjectId, objectId);
+		} else if (predicate.equals(Lexer.RDF_TYPE) && object.startsWith("<")) {
+			relation(objectId, 1).add(equality.representative(subjectId), 0);
+		} else {
+			relation(dictionary.encode(predicate), 2).add(equality.representative(subjectId), equality.representative(objectId));
+		}
+	}
+
+	private void addRule(final String[] head, final List<String[]> body) {
+		final Map<String, Integer> variables = new HashMap<>();
+		final CompiledAtom[] compiledBody = new CompiledAtom[body.size()];
+		for (int i = 0; i < compiledBody.length; i++) {
+			if (body.get(i)[1].equals(SAME_AS)) {
+				throw new CombinedApproachException("owl:sameAs is not supported in rule bodies");
+			}
+			compiledBody[i] = compileAtom(body.get(i), variables, true);
+		}
+		final int bodyVariableCount = variables.size();
+		final boolean sameAsHead = head[1].equals(SAME_AS);
+		final CompiledAtom compiledHead = sameAsHead
+				? new CompiledAtom(null, compileTerm(head[0], variables, true), compileTerm(head[2], variables, true))
+				: compileAtom(head, variables, true);
+		if (variables.size() > bodyVariableCount) {
+			throw new CombinedApproachException("Unsafe rule: head variables must occur in the body");
+		}
+		newRules.add(new CompiledRule(compiledHead, sameAsHead, compiledBody, variables.size()));
+	}
+
+	/**
+	 * Compiles a triple pattern to an atom. If {@code create} is false, constants and relations are only looked up.
+	 *
+	 * @return the compiled atom, or null if it can not have any match (i.e. it mentions an unknown constant or an empty relation).
+	 */
+	private CompiledAtom compileAtom(final String[] triple, final Map<String, Integer> variables, final boolean create) {
+		final String predicate = triple[1];
+		if (predicate.startsWith("?")) {
+			throw new CombinedApproachException("Variables in predicate position are not supported: " + Arrays.toString(triple));
+		}
+		final Relation relation;
+		final int[] arguments;
+		if (predicate.equals(Lexer.RDF_TYPE)) {
+			if (triple[2].startsWith("?")) {
+				throw new CombinedApproachException("Variables in class position are not supported: " + Arrays.toString(triple));
+			}
+			relation = create ? relation(dictionary.encode(triple[2]), 1) : existingRelation(triple[2], unaryRelations);
+			arguments = new int[] { compileTerm(triple[0], variables, create) };
+		} else {
+			relation = create ? relation(dictionary.encode(predicate), 2) : existingRelation(predicate, binaryRelations);
+			arguments = new int[] { compileTerm(triple[0], variables, create), compileTerm(triple[2], variables, create) };
+		}
+		if (relation == null) {
+			return null;
+		}
+		for (final int argument : arguments) {
+			if (argument == UNKNOWN_CONSTANT) {
+				return null;
+			}
+		}
+		return new CompiledAtom(relation, arguments);
+	}
+
+	private int compileTerm(final String term, final Map<String, Integer> variables, final boolean create) {
+		if (term.startsWith("?")) {
+			return CompiledAtom.variable(variables.computeIfAbsent(term, k -> variables.size()));
+		}
+		if (create) {
+			return dictionary.encode(term);
+		}
+		final int id = dictionary.lookup(term);
+		return id == TermDictionary.UNKNOWN ? UNKNOWN_CONSTANT : id;
+	}
+
+	private Relation existingRelation(final String predicate, final Map<Integer, Relation> relations) {
+		final int predicateId = dictionary.lookup(predicate);
+		return predicateId == TermDictionary.UNKNOWN ? null : relations.get(predicateId);
+	}
+
+	private Relation relation(final int predicateId, final int arity) {
+		return (arity == 1 ? unaryRelations : binaryRelations).computeIfAbsent(predicateId, k -> new Relation(predicateId, arity));
+	}
+
+	private Collection<Relation> allRelations() {
+		final List<Relation> relations = new ArrayList<>(unaryRelations.values());
+		relations.addAll(binaryRelations.values());
+		return relations;
+	}
+
+	/* Reasoning */
+
+	/**
+	 * Computes the fixpoint of all imported rules over all imported facts, by semi-naive evaluation. Rules imported since the previous call are first
+	 * evaluated over all facts; the other rules only need to be evaluated over the facts imported since then.
+	 */
+	@Override
+	public synchronized void reason() {
+		startRound();
+		final List<CompiledRule> rulesToInitialize = new ArrayList<>(newRules);
+		newRules.clear();
+		while (true) {
+			final List<Callable<IntList>> tasks = new ArrayList<>();
+			final List<CompiledRule> taskRules = new ArrayList<>();
+			for (final CompiledRule rule : rulesToInitialize) {
+				tasks.add(() -> evaluate(rule, -1));
+				taskRules.add(rule);
+			}
+			for (final CompiledRule rule : rules) {
+				for (int i = 0; i < rule.body.length; i++) {
+					final Relation deltaRelation = rule.body[i].relation;
+					if (deltaRelation.deltaStart < deltaRelation.deltaEnd) {
+						final int deltaAtom = i;
+						tasks.add(() -> evaluate(rule, deltaAtom));
+						taskRules.add(rule);
+					}
+				}
+			}
+			rules.addAll(rulesToInitialize);
+			rulesToInitialize.clear();
+			if (tasks.isEmpty()) {
+				return;
+			}
+
+			final List<IntList> derivations = execute(tasks);
+			for (int i = 0; i < derivations.size(); i++) {
+				addDerivations(taskRules.get(i), derivations.get(i));
+			}
+			startRound();
+		}
+	}
+
+	/**
+	 * Makes the facts added since the previous round the delta of the next round, rewriting all facts if new terms have become equal.
+	 */
+	private void startRound() {
+		if (equality.hasTouched()) {
+			for (final Relation relation : allRelations()) {
+				relation.normalize(equality);
+			}
+			equality.clearTouched();
+		} else {
+			for (final Relation relation : allRelations()) {
+				relation.deltaStart = relation.deltaEnd;
+				relation.deltaEnd = relation.size();
+			}
+		}
+	}
+
+	/**
+	 * Evaluates given rule in the current round.
+	 *
+	 * @param rule
+	 * @param deltaAtom
+	 *            index of the body atom restricted to the delta, or -1 to evaluate the rule over all facts.
+	 * @return the instantiated head arguments, as consecutive pairs.
+	 */
+	private IntList evaluate(final CompiledRule rule, final int deltaAtom) {
+		final int length = rule.body.length;
+		final int[] low = new int[length];
+		final int[] high = new int[length];
+		for (int i = 0; i < length; i++) {
+			final Relation relation = rule.body[i].relation;
+			if (deltaAtom < 0 || i > deltaAtom) {
+				/* all facts */
+				high[i] = relation.deltaEnd;
+			} else if (i == deltaAtom) {
+				low[i] = relation.deltaStart;
+				high[i] = relation.deltaEnd;
+			} else {
+				/* old facts, so that each derivation is only computed for its first delta atom */
+				high[i] = relation.deltaStart;
+			}
+		}
+		final IntList derivations = new IntList();
+		final int[] head = rule.head.arguments;
+		new Join(rule.body, low, high, deltaAtom, Join.unboundBindings(rule.variableCount), equality).run(bindings -> {
+			derivations.add(headValue(head[0], bindings));
+			derivations.add(head.length == 2 ? headValue(head[1], bindings) : 0);
+			return true;
+		});
+		return derivations;
+	}
+
+	private int headValue(final int argument, final int[] bindings) {
+		return CompiledAtom.isVariable(argument) ? bindings[CompiledAtom.variableIndex(argument)] : equality.representative(argument);
+	}
+
+	private void addDerivations(final CompiledRule rule, final IntList derivations) {
+		for (int i = 0; i < derivations.size(); i += 2) {
+			final int first = derivations.get(i);
+			final int second = derivations.get(i + 1);
+			if (rule.sameAsHead) {
+				equality.merge(first, second);
+			} else {
+				rule.head.relation.add(equality.representative(first), equality.representative(second));
+			}
+		}
+	}
+
+	private List<IntList> execute(final List<Callable<IntList>> tasks) {
+		final List<IntList> results = new ArrayList<>(tasks.size());
+		try {
+			if (numberOfThreads == 1 || tasks.size() == 1) {
+				for (final Callable<IntList> task : tasks) {
+					results.add(task.call());
+				}
+			} else {
+				if (executor == null) {
+					executor = Executors.newFixedThreadPool(numberOfThreads);
+				}
+				for (final Future<IntList> future : executor.invokeAll(tasks)) {
+					results.add(future.get());
+				}
+			}
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof CombinedApproachException) {
+				throw (CombinedApproachException) e.getCause();
+			}
+			throw new CombinedApproachException("Error while trying to apply reasoning on in-memory DataStore: " + e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CombinedApproachException("Interrupted while applying reasoning on in-memory DataStore");
+		} catch (final CombinedApproachException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new CombinedApproachException("Error while trying to apply reasoning on in-memory DataStore: " + e);
+		}
+		return results;
+	}
+
+	/* Query answering */
+
+	/**
+	 * Triples, counting each fact once for every combination of terms equal to its arguments, plus all (reflexive) {@code owl:sameAs} facts between the
+	 * terms of non-trivial equivalence classes. This is the number of triples written by {@link #export(File, Format)}.
+	 */
+	@Override
+	public synchronized long countTriples() {
+		long count = 0;
+		for (final Relation relation : allRelations()) {
+			count += countFacts(relation);
+		}
+		for (final IntList members : equality.nonTrivialClasses().values()) {
+			count += (long) members.size() * members.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Facts with the predicate of given atom, counting each fact once for every combination of terms equal to its arguments.
+	 */
+	@Override
+	public synchronized long countFacts(final Atom atom) {
+		final String predicate = "<" + atom.getPredicate() + ">";
+		final Relation relation = existingRelation(predicate, atom.isUnary() ? unaryRelations : binaryRelations);
+		return relation == null ? 0 : countFacts(relation);
+	}
+
+	private long countFacts(final Relation relation) {
+		if (equality.isTrivial()) {
+			return relation.size();
+		}
+		long count = 0;
+		for (int i = 0; i < relation.size(); i++) {
+			long expansions = equality.classSize(relation.first(i));
+			if (relation.getArity() == 2) {
+				expansions *= equality.classSize(relation.second(i));
+			}
+			count += expansions;
+		}
+		return count;
+	}
+
+	@Override
+	public Set<Map<String, String>> answerQuery(final Query query) {
+		final ParsedQuery parsedQuery = SparqlParser.parse(query.toSPARQLQuery());
+		final String[] answerVariables = parsedQuery.answerVariables;
+		final Set<Map<String, String>> substitutions = new HashSet<>();
+		for (final String[] answer : answer(parsedQuery)) {
+			final Map<String, String> substitution = new HashMap<>();
+			for (int i = 0; i < answerVariables.length; i++) {
+				substitution.put(answerVariables[i], answer[i]);
+			}
+			substitutions.add(substitution);
+		}
+		return substitutions;
+	}
+
+	@Override
+	public Set<String> answerUnaryQuery(final Query query) {
+		return answerSPARQLUnaryQuery(query.toSPARQLQuery());
+	}
+
+	@Override
+	public Set<String> answerSPARQLUnaryQuery(final String sparqlQuery) {
+		final Set<String> answers = new HashSet<>();
+		for (final String[] answer : answer(SparqlParser.parse(sparqlQuery))) {
+			answers.add(answer[0]);
+		}
+		return answers;
+	}
+
+	@Override
+	public boolean answerASKQuery(final String sparqlQuery) {
+		final CompiledQuery compiledQuery = compileQuery(SparqlParser.parse(sparqlQuery), new HashMap<>());
+		return compiledQuery != null && !compiledQuery.run(bindings -> false);
+	}
+
+	@Override
+	public long forEachAnswer(final String sparqlQuery, final AnswerHandler handler) throws IOException {
+		return forEachAnswer(SparqlParser.parse(sparqlQuery), handler);
+	}
+
+	/**
+	 * @return the distinct answers to given query, with each answer expanded to all combinations of equal terms.
+	 */
+	private List<String[]> answer(final ParsedQuery parsedQuery) {
+		final List<String[]> answers = new ArrayList<>();
+		try {
+			forEachAnswer(parsedQuery, tuple -> answers.add(tuple.clone()));
+		} catch (final IOException e) {
+			/* not thrown by the handler */
+			throw new UncheckedIOException(e);
+		}
+		return answers;
+	}
+
+	/**
+	 * Streams the distinct answers to given query to given handler as soon as they are found, with each answer expanded to all combinations of equal
+	 * terms. Only the representatives of the answers found so far are kept in memory, for eliminating duplicates.
+	 *
+	 * @return the number of answers
+	 */
+	private long forEachAnswer(final ParsedQuery parsedQuery, final AnswerHandler handler) throws IOException {
+		final Map<String, Integer> variables = new HashMap<>();
+		final CompiledQuery compiledQuery = compileQuery(parsedQuery, variables);
+		if (compiledQuery == null) {
+			return 0;
+		}
+		final int[] answerVariableIndexes = new int[parsedQuery.answerVariables.length];
+		for (int i = 0; i < answerVariableIndexes.length; i++) {
+			final Integer variableIndex = variables.get(parsedQuery.answerVariables[i]);
+			if (variableIndex == null || variableIndex >= compiledQuery.positiveVariableCount) {
+				throw new CombinedApproachException("Answer variable " + parsedQuery.answerVariables[i] + " does not occur in query body");
+			}
+			answerVariableIndexes[i] = variableIndex;
+		}
+
+		final Set<List<Integer>> distinctAnswers = new HashSet<>();
+		final String[] tuple = new String[answerVariableIndexes.length];
+		final long[] count = new long[1];
+		try {
+			compiledQuery.run(bindings -> {
+				final List<Integer> answer = new ArrayList<>(answerVariableIndexes.length);
+				for (final int variableIndex : answerVariableIndexes) {
+					answer.add(bindings[variableIndex]);
+				}
+				if (distinctAnswers.add(answer)) {
+					try {
+						count[0] += expand(answer, 0, tuple, handler);
+					} catch (final IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return true;
+			});
+		} catch (final UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return count[0];
+	}
+
+	private long expand(final List<Integer> answer, final int position, final String[] expanded, final AnswerHandler handler) throws IOException {
+		if (position == answer.size()) {
+			handler.answer(expanded);
+			return 1;
+		}
+		long count = 0;
+		final IntList members = equality.members(answer.get(position));
+		if (members == null) {
+			expanded[position] = dictionary.decode(answer.get(position));
+			count += expand(answer, position + 1, expanded, handler);
+		} else {
+			for (int i = 0; i < members.size(); i++) {
+				expanded[position] = dictionary.decode(members.get(i));
+				count += expand(answer, position + 1, expanded, handler);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Conjunctive query, whose matches of the positive atoms are filtered by the {@code FILTER NOT EXISTS} groups.
+	 */
+	private class CompiledQuery {
+		final CompiledAtom[] positive;
+		final List<CompiledAtom[]> negative;
+		final int positiveVariableCount;
+		final int variableCount;
+
+		CompiledQuery(final CompiledAtom[] positive, final List<CompiledAtom[]> negative, final int positiveVariableCount, final int variableCount) {
+			this.positive = positive;
+			this.negative = negative;
+			this.positiveVariableCount = positiveVariableCount;
+			this.variableCount = variableCount;
+		}
+
+		boolean run(final Join.MatchHandler handler) {
+			final Join positiveJoin = new Join(positive, new int[positive.length], sizes(positive), -1, Join.unboundBindings(variableCount), equality);
+			if (negative.isEmpty()) {
+				return positiveJoin.run(handler);
+			}
+			return positiveJoin.run(bindings -> {
+				for (final CompiledAtom[] negatedAtoms : negative) {
+					final int[] initialBindings = bindings.clone();
+					for (int v = positiveVariableCount; v < variableCount; v++) {
+						initialBindings[v] = Join.UNBOUND;
+					}
+					if (new Join(negatedAtoms, new int[negatedAtoms.length], sizes(negatedAtoms), -1, initialBindings, equality).exists()) {
+						return true;
+					}
+				}
+				return handler.match(bindings);
+			});
+		}
+	}
+
+	private static int[] sizes(final CompiledAtom[] atoms) {
+		final int[] sizes = new int[atoms.length];
+		for (int i = 0; i < atoms.length; i++) {
+			sizes[i] = atoms[i].relation.size();
+		}
+		return sizes;
+	}
+
+	/**
+	 * @return the compiled query, or null if the query has no answers (because it mentions unknown terms).
+	 */
+	private CompiledQuery compileQuery(final ParsedQuery parsedQuery, final Map<String, Integer> variables) {
+		final CompiledAtom[] positive = compileAtoms(parsedQuery.patterns, variables);
+		if (positive == null) {
+			return null;
+		}
+		final int positiveVariableCount = variables.size();
+		final List<CompiledAtom[]> negative = new ArrayList<>();
+		for (final List<String[]> notExists : parsedQuery.notExists) {
+			final CompiledAtom[] negatedAtoms = compileAtoms(notExists, variables);
+			/* a group mentioning unknown terms never matches, so it never filters out answers */
+			if (negatedAtoms != null) {
+				negative.add(negatedAtoms);
+			}
+		}
+		return new CompiledQuery(positive, negative, positiveVariableCount, variables.size());
+	}
+
+	private CompiledAtom[] compileAtoms(final List<String[]> patterns, final Map<String, Integer> variables) {
+		final CompiledAtom[] atoms = new CompiledAtom[patterns.size()];
+		for (int i = 0; i < atoms.length; i++) {
+			if (patterns.get(i)[1].equals(SAME_AS)) {
+				throw new CombinedApproachException("owl:sameAs is not supported in queries");
+			}
+			atoms[i] = compileAtom(patterns.get(i), variables, false);
+			if (atoms[i] == null) {
+				return null;
+			}
+		}
+		return atoms;
+	}
+
+	/* Export and disposal */
+
+	/**
+	 * Exports all facts (expanded over equal terms) in N-Triples format, which is also valid Turtle; given {@code format} is therefore ignored.
+	 */
+	@Override
+	public synchronized void export(final File file, final Format format) {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+			forEachTriple((subject, predicate, object) -> writeTriple(writer, subject, predicate, object));
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while trying to export in-memory DataStore to file [" + file + "]: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Streams the triples that {@link #export(File, Format)} writes.
+	 */
+	@Override
+	public synchronized void forEachTriple(final TripleHandler handler) throws IOException {
+		final String rdfType = dictionary.decode(rdfTypeId);
+		for (final Relation relation : allRelations()) {
+			final String predicate = dictionary.decode(relation.getPredicate());
+			for (int i = 0; i < relation.size(); i++) {
+				if (relation.getArity() == 1) {
+					for (final String subject : equalTerms(relation.first(i))) {
+						handler.triple(subject, rdfType, predicate);
+					}
+				} else {
+					final List<String> objects = equalTerms(relation.second(i));
+					for (final String subject : equalTerms(relation.first(i))) {
+						for (final String object : objects) {
+							handler.triple(subject, predicate, object);
+						}
+					}
+				}
+			}
+		}
+		final String sameAs = dictionary.decode(sameAsId);
+		for (final Integer representative : equality.nonTrivialClasses().keySet()) {
+			final List<String> members = equalTerms(representative);
+			for (final String subject : members) {
+				for (final String object : members) {
+					handler.triple(subject, sameAs, object);
+				}
+			}
+		}
+	}
+
+	private List<String> equalTerms(final int representative) {
+		final IntList members = equality.members(representative);
+		if (members == null) {
+			return Arrays.asList(dictionary.decode(representative));
+		}
+		final List<String> terms = new ArrayList<>(members.size());
+		for (int i = 0; i < members.size(); i++) {
+			terms.add(dictionary.decode(members.get(i)));
+		}
+		return terms;
+	}
+
+	private static void writeTriple(final Writer writer, final String subject, final String predicate, final String object) throws IOException {
+		writer.write(subject);
+		writer.write(' ');
+		writer.write(predicate);
+		writer.write(' ');
+		writer.write(object);
+		writer.write(" .\n");
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+		unaryRelations.clear();
+		binaryRelations.clear();
+		rules.clear();
+		newRules.clear();
+	}
+
+}
@@ -0,0 +1,67 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for the column indexes of a {@link Relation} and for buffering derived tuples.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class IntList {
+
+	private int[] elements;
+	private int size;
+
+	IntList() {
+		this(4);
+	}
+
+	IntList(final int initialCapacity) {
+		elements = new int[Math.max(1, initialCapacity)];
+	}
+
+	void add(final int element) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, size * 2);
+		}
+		elements[size++] = element;
+	}
+
+	int get(final int index) {
+		return elements[index];
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * For a list sorted in ascending order, returns the position of the first element greater than or equal to given {@code value}.
+	 *
+	 * @param value
+	 * @return
+	 */
+	int lowerBound(final int value) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (elements[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,218 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+
+/**
+ * Nested-loop index join over a conjunction of {@link CompiledAtom}s. Each atom is matched against a range of tuple indexes of its relation, which is how
+ * semi-naive evaluation restricts atoms to old facts, to the delta, or to all facts. Atoms are evaluated greedily: the atom with most bound arguments (and,
+ * on ties, the smallest range) first.<br>
+ * A join only reads relations, so several joins can run concurrently, as long as no relation is being updated.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class Join {
+
+	/**
+	 * Receives each match of the join.
+	 */
+	interface MatchHandler {
+		/**
+		 * @param bindings
+		 *            term ids, by variable index; the array is reused for the next match.
+		 * @return false, to stop the enumeration.
+		 */
+		boolean match(int[] bindings);
+	}
+
+	static final int UNBOUND = -1;
+
+	private final CompiledAtom[] atoms;
+	private final int[] low;
+	private final int[] high;
+	private final Equality equality;
+	private final int[] bindings;
+
+	/**
+	 * @param atoms
+	 *            atoms to be joined
+	 * @param low
+	 *            for each atom, the first tuple index to be considered
+	 * @param high
+	 *            for each atom, the tuple index to stop before
+	 * @param firstAtom
+	 *            index of the atom to evaluate first (e.g. the delta atom), or -1 to let the join choose
+	 * @param initialBindings
+	 *            term ids bound before the join starts (by variable index, {@link #UNBOUND} for free variables)
+	 * @param equality
+	 */
+	Join(final CompiledAtom[] atoms, final int[] low, final int[] high, final int firstAtom, final int[] initialBindings, final Equality equality) {
+		this.equality = equality;
+		this.bindings = initialBindings.clone();
+		this.atoms = new CompiledAtom[atoms.length];
+		this.low = new int[atoms.length];
+		this.high = new int[atoms.length];
+
+		final boolean[] bound = new boolean[initialBindings.length];
+		for (int v = 0; v < initialBindings.length; v++) {
+			bound[v] = initialBindings[v] != UNBOUND;
+		}
+		final boolean[] used = new boolean[atoms.length];
+		for (int position = 0; position < atoms.length; position++) {
+			int best = -1;
+			if (position == 0 && firstAtom >= 0) {
+				best = firstAtom;
+			} else {
+				int bestBound = -1;
+				int bestRange = Integer.MAX_VALUE;
+				for (int i = 0; i < atoms.length; i++) {
+					if (!used[i]) {
+						final int boundArguments = countBound(atoms[i], bound);
+						final int range = high[i] - low[i];
+						if (boundArguments > bestBound || (boundArguments == bestBound && range < bestRange)) {
+							best = i;
+							bestBound = boundArguments;
+							bestRange = range;
+						}
+					}
+				}
+			}
+			used[best] = true;
+			this.atoms[position] = atoms[best];
+			this.low[position] = low[best];
+			this.high[position] = high[best];
+			for (final int argument : atoms[best].arguments) {
+				if (CompiledAtom.isVariable(argument)) {
+					bound[CompiledAtom.variableIndex(argument)] = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Enumerates all matches.
+	 *
+	 * @param handler
+	 * @return false, if the enumeration was stopped by the handler.
+	 */
+	boolean run(final MatchHandler handler) {
+		return match(0, handler);
+	}
+
+	/**
+	 * @return true, if the join has at least one match.
+	 */
+	boolean exists() {
+		return !match(0, bindings -> false);
+	}
+
+	private boolean match(final int position, final MatchHandler handler) {
+		if (position == atoms.length) {
+			return handler.match(bindings);
+		}
+		final CompiledAtom atom = atoms[position];
+		final Relation relation = atom.relation;
+		final int lowIndex = low[position];
+		final int highIndex = high[position];
+		if (lowIndex >= highIndex) {
+			return true;
+		}
+
+		final int firstArgument = atom.arguments[0];
+		final int firstValue = value(firstArgument);
+		if (relation.getArity() == 1) {
+			if (firstValue != UNBOUND) {
+				final int tupleIndex = relation.indexOf(firstValue, 0);
+				return !inRange(tupleIndex, lowIndex, highIndex) || match(position + 1, handler);
+			}
+			final int variable = CompiledAtom.variableIndex(firstArgument);
+			for (int tupleIndex = lowIndex; tupleIndex < highIndex; tupleIndex++) {
+				bindings[variable] = relation.first(tupleIndex);
+				if (!match(position + 1, handler)) {
+					bindings[variable] = UNBOUND;
+					return false;
+				}
+			}
+			bindings[variable] = UNBOUND;
+			return true;
+		}
+
+		final int secondArgument = atom.arguments[1];
+		final int secondValue = value(secondArgument);
+		if (firstValue != UNBOUND && secondValue != UNBOUND) {
+			final int tupleIndex = relation.indexOf(firstValue, secondValue);
+			return !inRange(tupleIndex, lowIndex, highIndex) || match(position + 1, handler);
+		} else if (firstValue != UNBOUND) {
+			return matchIndexed(position, handler, relation.withFirst(firstValue), CompiledAtom.variableIndex(secondArgument), false);
+		} else if (secondValue != UNBOUND) {
+			return matchIndexed(position, handler, relation.withSecond(secondValue), CompiledAtom.variableIndex(firstArgument), true);
+		} else {
+			final int firstVariable = CompiledAtom.variableIndex(firstArgument);
+			final int secondVariable = CompiledAtom.variableIndex(secondArgument);
+			for (int tupleIndex = lowIndex; tupleIndex < highIndex; tupleIndex++) {
+				final int first = relation.first(tupleIndex);
+				final int second = relation.second(tupleIndex);
+				if (firstVariable == secondVariable && first != second) {
+					continue;
+				}
+				bindings[firstVariable] = first;
+				bindings[secondVariable] = second;
+				if (!match(position + 1, handler)) {
+					bindings[firstVariable] = UNBOUND;
+					bindings[secondVariable] = UNBOUND;
+					return false;
+				}
+			}
+			bindings[firstVariable] = UNBOUND;
+			bindings[secondVariable] = UNBOUND;
+			return true;
+		}
+	}
+
+	private boolean matchIndexed(final int position, final MatchHandler handler, final IntList tupleIndexes, final int freeVariable,
+			final boolean bindFirst) {
+		if (tupleIndexes == null) {
+			return true;
+		}
+		final Relation relation = atoms[position].relation;
+		final int highIndex = high[position];
+		for (int i = tupleIndexes.lowerBound(low[position]); i < tupleIndexes.size(); i++) {
+			final int tupleIndex = tupleIndexes.get(i);
+			if (tupleIndex >= highIndex) {
+				break;
+			}
+			bindings[freeVariable] = bindFirst ? relation.first(tupleIndex) : relation.second(tupleIndex);
+			if (!match(position + 1, handler)) {
+				bindings[freeVariable] = UNBOUND;
+				return false;
+			}
+		}
+		bindings[freeVariable] = UNBOUND;
+		return true;
+	}
+
+	private int value(final int argument) {
+		return CompiledAtom.isVariable(argument) ? bindings[CompiledAtom.variableIndex(argument)] : equality.representative(argument);
+	}
+
+	private static boolean inRange(final int tupleIndex, final int lowIndex, final int highIndex) {
+		return tupleIndex != LongIntHashMap.MISSING && tupleIndex >= lowIndex && tupleIndex < highIndex;
+	}
+
+	private static int countBound(final CompiledAtom atom, final boolean[] bound) {
+		int count = 0;
+		for (final int argument : atom.arguments) {
+			if (!CompiledAtom.isVariable(argument) || bound[CompiledAtom.variableIndex(argument)]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	static int[] unboundBindings(final int variableCount) {
+		final int[] bindings = new int[variableCount];
+		Arrays.fill(bindings, UNBOUND);
+		return bindings;
+	}
+
+}
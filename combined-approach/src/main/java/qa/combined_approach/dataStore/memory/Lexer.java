@@ -0,0 +1,408 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import qa.combined_approach.CombinedApproachException;
+
+/**
+ * Tokenizer shared by the Turtle, RDFox Datalog and SPARQL parsers of the {@link InMemoryDataStore}. It understands the subset of the three syntaxes that
+ * is produced by the materialisation (and by typical Turtle ABox files): IRIs, prefixed names, variables, blank nodes, literals, keywords and punctuation.
+ * Terms are returned in their N-Triples form (i.e. {@code <iri>}, {@code _:label}, {@code "lexical"^^<datatype>}), so that they can be used as dictionary
+ * keys directly.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class Lexer {
+
+	enum TokenType {
+		IRI, BLANK_NODE, LITERAL, VARIABLE, WORD, PUNCTUATION, EOF
+	}
+
+	static final String RDF_TYPE = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+	private final Reader reader;
+	private final Map<String, String> prefixes = new HashMap<>();
+	private int peeked = -2;
+	private int line = 1;
+
+	private TokenType type;
+	private String text;
+
+	Lexer(final Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Advances to the next token.
+	 *
+	 * @return the type of the current token.
+	 */
+	TokenType next() {
+		try {
+			readToken();
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while reading input at line " + line + ": " + e.getMessage());
+		}
+		return type;
+	}
+
+	TokenType type() {
+		return type;
+	}
+
+	String text() {
+		return text;
+	}
+
+	boolean is(final String punctuationOrWord) {
+		return (type == TokenType.PUNCTUATION || type == TokenType.WORD) && text.equals(punctuationOrWord);
+	}
+
+	boolean isWord(final String word) {
+		return type == TokenType.WORD && text.equalsIgnoreCase(word);
+	}
+
+	boolean isTerm() {
+		return type == TokenType.IRI || type == TokenType.BLANK_NODE || type == TokenType.LITERAL || type == TokenType.VARIABLE;
+	}
+
+	void expect(final String punctuation) {
+		if (!is(punctuation)) {
+			throw error("Expected '" + punctuation + "'");
+		}
+		next();
+	}
+
+	/**
+	 * Reads a {@code @prefix}/{@code PREFIX} declaration, starting with the current token being the keyword.
+	 */
+	void readPrefixDeclaration(final boolean turtleStyle) {
+		final String name = readPrefixName();
+		if (next() != TokenType.IRI) {
+			throw error("Expected IRI in prefix declaration");
+		}
+		prefixes.put(name, text.substring(1, text.length() - 1));
+		next();
+		if (turtleStyle) {
+			expect(".");
+		}
+	}
+
+	CombinedApproachException error(final String message) {
+		return new CombinedApproachException(message + " at line " + line + ", found: " + (type == TokenType.EOF ? "end of input" : text));
+	}
+
+	private String readPrefixName() {
+		try {
+			int c = skipWhitespace();
+			final StringBuilder name = new StringBuilder();
+			while (c != ':' && c != -1 && !Character.isWhitespace(c)) {
+				name.append((char) c);
+				c = read();
+			}
+			if (c != ':') {
+				throw error("Expected prefix name");
+			}
+			return name.toString();
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while reading input at line " + line + ": " + e.getMessage());
+		}
+	}
+
+	private void readToken() throws IOException {
+		int c = skipWhitespace();
+		if (c == -1) {
+			type = TokenType.EOF;
+			text = "";
+			return;
+		}
+		switch (c) {
+			case '<':
+				readIRI();
+				return;
+			case '"':
+			case '\'':
+				readLiteral((char) c);
+				return;
+			case '?':
+			case '$':
+				type = TokenType.VARIABLE;
+				text = "?" + readName(read());
+				return;
+			case '{':
+			case '}':
+			case '(':
+			case ')':
+			case ',':
+			case ';':
+			case '[':
+			case ']':
+			case '*':
+				type = TokenType.PUNCTUATION;
+				text = String.valueOf((char) c);
+				return;
+			case '.':
+				final int afterDot = peek();
+				if (afterDot >= '0' && afterDot <= '9') {
+					readNumber(c);
+				} else {
+					type = TokenType.PUNCTUATION;
+					text = ".";
+				}
+				return;
+			case ':':
+				if (peek() == '-') {
+					read();
+					type = TokenType.PUNCTUATION;
+					text = ":-";
+				} else {
+					readPrefixedName("");
+				}
+				return;
+			case '@':
+				type = TokenType.WORD;
+				text = "@" + readName(read());
+				return;
+			case '_':
+				if (peek() == ':') {
+					read();
+					type = TokenType.BLANK_NODE;
+					text = "_:" + readName(read());
+					return;
+				}
+				break;
+			default:
+				break;
+		}
+		if (c == '+' || c == '-' || (c >= '0' && c <= '9')) {
+			readNumber(c);
+			return;
+		}
+		final String name = readName(c);
+		if (peek() == ':') {
+			read();
+			readPrefixedName(name);
+		} else if (name.isEmpty()) {
+			throw new CombinedApproachException("Unexpected character '" + (char) read() + "' at line " + line);
+		} else if (name.equals("a")) {
+			type = TokenType.IRI;
+			text = RDF_TYPE;
+		} else if (name.equals("true") || name.equals("false")) {
+			type = TokenType.LITERAL;
+			text = "\"" + name + "\"^^<" + XSD + "boolean>";
+		} else {
+			type = TokenType.WORD;
+			text = name;
+		}
+	}
+
+	private void readIRI() throws IOException {
+		final StringBuilder iri = new StringBuilder("<");
+		int c = read();
+		while (c != '>') {
+			if (c == -1 || c == '\n') {
+				throw new CombinedApproachException("Unterminated IRI at line " + line);
+			}
+			iri.append((char) c);
+			c = read();
+		}
+		type = TokenType.IRI;
+		text = iri.append('>').toString();
+	}
+
+	private void readPrefixedName(final String prefix) throws IOException {
+		final String namespace = prefixes.get(prefix);
+		if (namespace == null) {
+			throw new CombinedApproachException("Undeclared prefix '" + prefix + ":' at line " + line);
+		}
+		final StringBuilder localName = new StringBuilder();
+		int c = peek();
+		while (c != -1 && (isNameChar(c) || c == ':' || (c == '.' && isNameChar(peekSecond())))) {
+			localName.append((char) read());
+			c = peek();
+		}
+		type = TokenType.IRI;
+		text = "<" + namespace + localName + ">";
+	}
+
+	private void readLiteral(final char quote) throws IOException {
+		final StringBuilder lexical = new StringBuilder();
+		boolean longString = false;
+		if (peek() == quote) {
+			read();
+			if (peek() == quote) {
+				read();
+				longString = true;
+			} else {
+				/* empty string */
+				finishLiteral(lexical);
+				return;
+			}
+		}
+		while (true) {
+			final int c = read();
+			if (c == -1) {
+				throw new CombinedApproachException("Unterminated literal at line " + line);
+			}
+			if (c == '\\') {
+				lexical.append('\\').append((char) read());
+				continue;
+			}
+			if (c == quote) {
+				if (!longString) {
+					break;
+				}
+				if (peek() == quote) {
+					read();
+					if (peek() == quote) {
+						read();
+						break;
+					}
+					lexical.append("\\").append(quote).append("\\").append(quote);
+					continue;
+				}
+			}
+			if (c == '"') {
+				lexical.append("\\\"");
+			} else if (c == '\n') {
+				lexical.append("\\n");
+			} else if (c == '\r') {
+				lexical.append("\\r");
+			} else {
+				lexical.append((char) c);
+			}
+		}
+		finishLiteral(lexical);
+	}
+
+	private void finishLiteral(final StringBuilder lexical) throws IOException {
+		final StringBuilder literal = new StringBuilder("\"").append(lexical).append('"');
+		final int c = peek();
+		if (c == '@') {
+			read();
+			literal.append('@').append(readName(read()));
+		} else if (c == '^') {
+			read();
+			if (read() != '^') {
+				throw new CombinedApproachException("Malformed datatype at line " + line);
+			}
+			readToken();
+			if (type != TokenType.IRI) {
+				throw error("Expected datatype IRI");
+			}
+			literal.append("^^").append(text);
+		}
+		type = TokenType.LITERAL;
+		text = literal.toString();
+	}
+
+	private void readNumber(final int first) throws IOException {
+		final StringBuilder number = new StringBuilder().append((char) first);
+		boolean decimal = first == '.';
+		boolean exponent = false;
+		while (true) {
+			final int c = peek();
+			if (isDigit(c)) {
+				number.append((char) read());
+			} else if (c == '.' && !decimal && !exponent && isDigit(peekSecond())) {
+				decimal = true;
+				number.append((char) read());
+			} else if ((c == 'e' || c == 'E') && !exponent) {
+				exponent = true;
+				number.append((char) read());
+				if (peek() == '+' || peek() == '-') {
+					number.append((char) read());
+				}
+			} else {
+				break;
+			}
+		}
+		final String datatype = exponent ? "double" : (decimal ? "decimal" : "integer");
+		type = TokenType.LITERAL;
+		text = "\"" + number + "\"^^<" + XSD + datatype + ">";
+	}
+
+	private String readName(final int first) throws IOException {
+		if (!isNameChar(first)) {
+			if (first != -1) {
+				unread(first);
+			}
+			return "";
+		}
+		final StringBuilder name = new StringBuilder().append((char) first);
+		while (isNameChar(peek()) || (peek() == '.' && isNameChar(peekSecond()))) {
+			name.append((char) read());
+		}
+		return name.toString();
+	}
+
+	private static boolean isNameChar(final int c) {
+		return c != -1 && (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '%');
+	}
+
+	private static boolean isDigit(final int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private int skipWhitespace() throws IOException {
+		int c = read();
+		while (true) {
+			if (c == '#') {
+				while (c != '\n' && c != -1) {
+					c = read();
+				}
+			} else if (c != -1 && Character.isWhitespace(c)) {
+				c = read();
+			} else {
+				return c;
+			}
+		}
+	}
+
+	/* one character of look-ahead, plus a second one for names containing dots */
+	private int second = -2;
+
+	private int read() throws IOException {
+		final int c;
+		if (peeked != -2) {
+			c = peeked;
+			peeked = second;
+			second = -2;
+		} else {
+			c = reader.read();
+		}
+		if (c == '\n') {
+			line++;
+		}
+		return c;
+	}
+
+	private void unread(final int c) {
+		if (c == '\n') {
+			line--;
+		}
+		second = peeked;
+		peeked = c;
+	}
+
+	private int peek() throws IOException {
+		if (peeked == -2) {
+			peeked = reader.read();
+		}
+		return peeked;
+	}
+
+	private int peekSecond() throws IOException {
+		peek();
+		if (second == -2) {
+			second = reader.read();
+		}
+		return second;
+	}
+
+}
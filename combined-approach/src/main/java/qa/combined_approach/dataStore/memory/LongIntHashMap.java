@@ -0,0 +1,105 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative long keys to int values, used for tuple membership in a {@link Relation} without boxing.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class LongIntHashMap {
+
+	static final int MISSING = -1;
+	private static final long EMPTY = -1L;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private int mask;
+
+	LongIntHashMap() {
+		allocate(16);
+	}
+
+	/**
+	 * @param key
+	 *            non-negative key
+	 * @return the value associated to given key, or {@link #MISSING}.
+	 */
+	int get(final long key) {
+		int slot = slot(key);
+		while (true) {
+			final long current = keys[slot];
+			if (current == key) {
+				return values[slot];
+			}
+			if (current == EMPTY) {
+				return MISSING;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Associates given value to given key, unless the key is already present.
+	 *
+	 * @param key
+	 *            non-negative key
+	 * @param value
+	 * @return the value previously associated to the key, or {@link #MISSING} if the key was added.
+	 */
+	int putIfAbsent(final long key, final int value) {
+		if ((size + 1) * 4L > keys.length * 3L) {
+			rehash();
+		}
+		int slot = slot(key);
+		while (true) {
+			final long current = keys[slot];
+			if (current == key) {
+				return values[slot];
+			}
+			if (current == EMPTY) {
+				keys[slot] = key;
+				values[slot] = value;
+				size++;
+				return MISSING;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		allocate(16);
+	}
+
+	private int slot(final long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		hash ^= hash >>> 32;
+		return (int) hash & mask;
+	}
+
+	private void allocate(final int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+
+	private void rehash() {
+		final long[] oldKeys = keys;
+		final int[] oldValues = values;
+		allocate(oldKeys.length * 2);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				putIfAbsent(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,137 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded extension of a unary (class) or binary (property) predicate. Tuples are stored in insertion order, so that the tuples derived in the
+ * latest round of semi-naive evaluation (the <i>delta</i>) form the contiguous range {@code [deltaStart, deltaEnd)} of tuple indexes, while
+ * {@code [0, deltaStart)} holds the tuples known before that round.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class Relation {
+
+	private final int predicate;
+	private final int arity;
+
+	private int[] tuples = new int[16];
+	private int size;
+	private final LongIntHashMap tupleIndexes = new LongIntHashMap();
+	/* for binary relations: tuple indexes (ascending) by first and by second argument */
+	private final Map<Integer, IntList> byFirst;
+	private final Map<Integer, IntList> bySecond;
+
+	int deltaStart;
+	int deltaEnd;
+
+	Relation(final int predicate, final int arity) {
+		this.predicate = predicate;
+		this.arity = arity;
+		this.byFirst = arity == 2 ? new HashMap<>() : null;
+		this.bySecond = arity == 2 ? new HashMap<>() : null;
+	}
+
+	int getPredicate() {
+		return predicate;
+	}
+
+	int getArity() {
+		return arity;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Adds given tuple, if not already present. The second argument is ignored for unary relations.
+	 *
+	 * @return true, if the tuple is new.
+	 */
+	boolean add(final int first, final int second) {
+		final int tupleIndex = size;
+		if (tupleIndexes.putIfAbsent(key(first, second), tupleIndex) != LongIntHashMap.MISSING) {
+			return false;
+		}
+		if ((tupleIndex + 1) * arity > tuples.length) {
+			tuples = Arrays.copyOf(tuples, tuples.length * 2);
+		}
+		tuples[tupleIndex * arity] = first;
+		if (arity == 2) {
+			tuples[tupleIndex * 2 + 1] = second;
+			byFirst.computeIfAbsent(first, k -> new IntList(2)).add(tupleIndex);
+			bySecond.computeIfAbsent(second, k -> new IntList(2)).add(tupleIndex);
+		}
+		size++;
+		return true;
+	}
+
+	int first(final int tupleIndex) {
+		return tuples[tupleIndex * arity];
+	}
+
+	int second(final int tupleIndex) {
+		return tuples[tupleIndex * arity + 1];
+	}
+
+	/**
+	 * @return the index of given tuple, or {@link LongIntHashMap#MISSING}.
+	 */
+	int indexOf(final int first, final int second) {
+		return tupleIndexes.get(key(first, second));
+	}
+
+	IntList withFirst(final int first) {
+		return byFirst.get(first);
+	}
+
+	IntList withSecond(final int second) {
+		return bySecond.get(second);
+	}
+
+	/**
+	 * Rewrites all tuples to the representatives of their terms' equivalence classes. Tuples that mention a term of a class that changed since the last
+	 * rewriting, as well as the tuples added after the current delta, become the new delta; all other tuples are considered old.
+	 *
+	 * @param equality
+	 */
+	void normalize(final Equality equality) {
+		final int[] oldTuples = tuples;
+		final int oldSize = size;
+		final int oldDeltaEnd = deltaEnd;
+
+		tuples = new int[Math.max(16, oldSize * arity)];
+		size = 0;
+		tupleIndexes.clear();
+		if (arity == 2) {
+			byFirst.clear();
+			bySecond.clear();
+		}
+
+		final IntList changed = new IntList();
+		for (int i = 0; i < oldSize; i++) {
+			final int first = equality.representative(oldTuples[i * arity]);
+			final int second = arity == 2 ? equality.representative(oldTuples[i * arity + 1]) : 0;
+			final boolean touched = equality.isTouched(first) || (arity == 2 && equality.isTouched(second));
+			if (touched || i >= oldDeltaEnd) {
+				changed.add(first);
+				changed.add(second);
+			} else {
+				add(first, second);
+			}
+		}
+		deltaStart = size;
+		for (int i = 0; i < changed.size(); i += 2) {
+			add(changed.get(i), changed.get(i + 1));
+		}
+		deltaEnd = size;
+	}
+
+	private long key(final int first, final int second) {
+		return arity == 2 ? ((long) first << 32) | (second & 0xFFFFFFFFL) : first;
+	}
+
+}
@@ -0,0 +1,154 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import qa.combined_approach.dataStore.memory.Lexer.TokenType;
+
+/**
+ * Parser for the SPARQL subset issued by the materialisation: {@code SELECT [DISTINCT] ?v1 ... ?vn WHERE { ... }} and {@code ASK { ... }} over basic graph
+ * patterns, optionally followed by {@code FILTER NOT EXISTS { ... }} groups.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class SparqlParser {
+
+	/**
+	 * A parsed conjunctive query with (possibly) negated sub-patterns.
+	 */
+	static class ParsedQuery {
+		final boolean ask;
+		final String[] answerVariables;
+		final List<String[]> patterns;
+		final List<List<String[]>> notExists;
+
+		ParsedQuery(final boolean ask, final String[] answerVariables, final List<String[]> patterns, final List<List<String[]>> notExists) {
+			this.ask = ask;
+			this.answerVariables = answerVariables;
+			this.patterns = patterns;
+			this.notExists = notExists;
+		}
+	}
+
+	private SparqlParser() {
+	}
+
+	static ParsedQuery parse(final String sparqlQuery) {
+		final Lexer lexer = new Lexer(new StringReader(sparqlQuery));
+		lexer.next();
+		while (lexer.isWord("PREFIX")) {
+			lexer.readPrefixDeclaration(false);
+		}
+
+		final boolean ask;
+		final List<String> answerVariables = new ArrayList<>();
+		boolean allVariables = false;
+		if (lexer.isWord("ASK")) {
+			ask = true;
+			lexer.next();
+		} else if (lexer.isWord("SELECT")) {
+			ask = false;
+			lexer.next();
+			if (lexer.isWord("DISTINCT") || lexer.isWord("REDUCED")) {
+				lexer.next();
+			}
+			if (lexer.is("*")) {
+				allVariables = true;
+				lexer.next();
+			}
+			while (lexer.type() == TokenType.VARIABLE) {
+				answerVariables.add(lexer.text());
+				lexer.next();
+			}
+		} else {
+			throw lexer.error("Expected SELECT or ASK");
+		}
+		if (lexer.isWord("WHERE")) {
+			lexer.next();
+		}
+
+		final List<String[]> patterns = new ArrayList<>();
+		final List<List<String[]>> notExists = new ArrayList<>();
+		parseGroup(lexer, patterns, notExists);
+		if (lexer.type() != TokenType.EOF) {
+			throw lexer.error("Unsupported query modifier");
+		}
+
+		if (allVariables) {
+			final Set<String> variables = new LinkedHashSet<>();
+			for (final String[] pattern : patterns) {
+				for (final String term : pattern) {
+					if (term.startsWith("?")) {
+						variables.add(term);
+					}
+				}
+			}
+			answerVariables.addAll(variables);
+		}
+		return new ParsedQuery(ask, answerVariables.toArray(new String[answerVariables.size()]), patterns, notExists);
+	}
+
+	private static void parseGroup(final Lexer lexer, final List<String[]> patterns, final List<List<String[]>> notExists) {
+		lexer.expect("{");
+		while (!lexer.is("}")) {
+			if (lexer.isWord("FILTER")) {
+				lexer.next();
+				if (!lexer.isWord("NOT")) {
+					throw lexer.error("Only FILTER NOT EXISTS is supported");
+				}
+				lexer.next();
+				if (!lexer.isWord("EXISTS")) {
+					throw lexer.error("Only FILTER NOT EXISTS is supported");
+				}
+				lexer.next();
+				final List<String[]> negatedPatterns = new ArrayList<>();
+				final List<List<String[]>> nestedNotExists = new ArrayList<>();
+				parseGroup(lexer, negatedPatterns, nestedNotExists);
+				if (!nestedNotExists.isEmpty()) {
+					throw lexer.error("Nested FILTER NOT EXISTS is not supported");
+				}
+				notExists.add(negatedPatterns);
+			} else if (lexer.is(".")) {
+				lexer.next();
+			} else {
+				parseTriples(lexer, patterns);
+			}
+		}
+		lexer.next();
+	}
+
+	private static void parseTriples(final Lexer lexer, final List<String[]> patterns) {
+		final String subject = readTerm(lexer);
+		while (true) {
+			final String predicate = readTerm(lexer);
+			while (true) {
+				patterns.add(new String[] { subject, predicate, readTerm(lexer) });
+				if (!lexer.is(",")) {
+					break;
+				}
+				lexer.next();
+			}
+			if (!lexer.is(";")) {
+				break;
+			}
+			lexer.next();
+			if (lexer.is(".") || lexer.is("}")) {
+				break;
+			}
+		}
+	}
+
+	private static String readTerm(final Lexer lexer) {
+		if (!lexer.isTerm()) {
+			throw lexer.error("Expected term");
+		}
+		final String term = lexer.text();
+		lexer.next();
+		return term;
+	}
+
+}
@@ -0,0 +1,60 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding of RDF terms (in N-Triples form) to consecutive int ids. Encoding is synchronised; look-ups and decoding can be performed
+ * concurrently.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class TermDictionary {
+
+	static final int UNKNOWN = -1;
+
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private volatile String[] terms = new String[1024];
+	private volatile int size;
+
+	/**
+	 * Returns the id of given term, encoding it if it is new.
+	 *
+	 * @param term
+	 * @return
+	 */
+	synchronized int encode(final String term) {
+		final Integer existing = ids.get(term);
+		if (existing != null) {
+			return existing;
+		}
+		final int id = size;
+		if (id == terms.length) {
+			terms = Arrays.copyOf(terms, id * 2);
+		}
+		terms[id] = term;
+		size = id + 1;
+		ids.put(term, id);
+		return id;
+	}
+
+	/**
+	 * @param term
+	 * @return the id of given term, or {@link #UNKNOWN} if the term has never been encoded.
+	 */
+	int lookup(final String term) {
+		final Integer id = ids.get(term);
+		return id == null ? UNKNOWN : id;
+	}
+
+	String decode(final int id) {
+		return terms[id];
+	}
+
+	int size() {
+		return size;
+	}
+
+}
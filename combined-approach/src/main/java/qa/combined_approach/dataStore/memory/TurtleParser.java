@@ -0,0 +1,85 @@
+package qa.combined_approach.dataStore.memory;
+
+import java.io.Reader;
+
+import qa.combined_approach.dataStore.memory.Lexer.TokenType;
+
+/**
+ * Streaming parser for the Turtle subset used by the ABox files and by the facts files generated during materialisation: prefix declarations, triples
+ * with predicate lists ({@code ;}) and object lists ({@code ,}). Blank node property lists and collections are not supported.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class TurtleParser {
+
+	/**
+	 * Receives the parsed triples, with terms in N-Triples form.
+	 */
+	interface TripleHandler {
+		void triple(String subject, String predicate, String object);
+	}
+
+	private TurtleParser() {
+	}
+
+	static void parse(final Reader reader, final TripleHandler handler) {
+		final Lexer lexer = new Lexer(reader);
+		lexer.next();
+		while (lexer.type() != TokenType.EOF) {
+			if (lexer.isWord("@prefix")) {
+				lexer.readPrefixDeclaration(true);
+			} else if (lexer.isWord("PREFIX")) {
+				lexer.readPrefixDeclaration(false);
+			} else if (lexer.isWord("@base") || lexer.isWord("BASE")) {
+				final boolean turtleStyle = lexer.text().startsWith("@");
+				/* relative IRIs are kept as they are */
+				if (lexer.next() != TokenType.IRI) {
+					throw lexer.error("Expected IRI in base declaration");
+				}
+				lexer.next();
+				if (turtleStyle) {
+					lexer.expect(".");
+				}
+			} else {
+				parseTriples(lexer, handler);
+			}
+		}
+	}
+
+	private static void parseTriples(final Lexer lexer, final TripleHandler handler) {
+		final String subject = readTerm(lexer);
+		while (true) {
+			final String predicate = readTerm(lexer);
+			while (true) {
+				handler.triple(subject, predicate, readTerm(lexer));
+				if (!lexer.is(",")) {
+					break;
+				}
+				lexer.next();
+			}
+			if (!lexer.is(";")) {
+				break;
+			}
+			/* repeated semicolons, or a semicolon before the final dot are allowed */
+			while (lexer.is(";")) {
+				lexer.next();
+			}
+			if (lexer.is(".")) {
+				break;
+			}
+		}
+		lexer.expect(".");
+	}
+
+	private static String readTerm(final Lexer lexer) {
+		final TokenType type = lexer.type();
+		if (type != TokenType.IRI && type != TokenType.BLANK_NODE && type != TokenType.LITERAL) {
+			throw lexer.error("Unsupported Turtle term");
+		}
+		final String term = lexer.text();
+		lexer.next();
+		return term;
+	}
+
+}
@@ -0,0 +1,132 @@
+package qa.combined_approach.export;
+
+/**
+ * Configuration for {@link TripleExporter}. Enables us to configure which facts are exported, whether the output is compressed, and whether it is split
+ * into several chunks, written in parallel.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ExportConfiguration {
+
+	/**
+	 * Compression of the exported files.
+	 */
+	public enum Compression {
+		/** plain N-Triples files. */
+		NONE(""),
+		/** gzip compressed N-Triples files, with <code>.gz</code> extension. */
+		GZIP(".gz");
+
+		private final String extension;
+
+		private Compression(final String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * @return the file name extension of compressed files.
+		 */
+		public String getExtension() {
+			return extension;
+		}
+	}
+
+	private boolean filterAuxiliaryFacts = false;
+	private boolean dropUnnamedIndividuals = false;
+	private Compression compression = Compression.NONE;
+	private long maxChunkBytes = 0;
+	private int threads = 1;
+
+	/**
+	 * Whether the facts over auxiliary predicates introduced by the combined approach (<code>Unnamed</code> and <code>owl:NamedIndividual</code> classes,
+	 * <code>INV_</code> inverse roles and <code>RS_</code> role conjunctions) are left out of the export. Default value is false.
+	 *
+	 * @return
+	 */
+	public boolean isFilterAuxiliaryFacts() {
+		return filterAuxiliaryFacts;
+	}
+
+	/**
+	 * Sets whether the facts over auxiliary predicates are left out of the export. Default value is false.
+	 *
+	 * @param filterAuxiliaryFacts
+	 */
+	public void setFilterAuxiliaryFacts(final boolean filterAuxiliaryFacts) {
+		this.filterAuxiliaryFacts = filterAuxiliaryFacts;
+	}
+
+	/**
+	 * Whether the facts mentioning an unnamed individual <code>&lt;Unnamed_n&gt;</code> are left out of the export. Default value is false.
+	 *
+	 * @return
+	 */
+	public boolean isDropUnnamedIndividuals() {
+		return dropUnnamedIndividuals;
+	}
+
+	/**
+	 * Sets whether the facts mentioning an unnamed individual are left out of the export. Default value is false.
+	 *
+	 * @param dropUnnamedIndividuals
+	 */
+	public void setDropUnnamedIndividuals(final boolean dropUnnamedIndividuals) {
+		this.dropUnnamedIndividuals = dropUnnamedIndividuals;
+	}
+
+	/**
+	 * Compression of the exported files. Default value is {@link Compression#NONE}.
+	 *
+	 * @return
+	 */
+	public Compression getCompression() {
+		return compression;
+	}
+
+	/**
+	 * Sets the compression of the exported files. Default value is {@link Compression#NONE}.
+	 *
+	 * @param compression
+	 */
+	public void setCompression(final Compression compression) {
+		this.compression = compression;
+	}
+
+	/**
+	 * Approximate maximum size, in (uncompressed) bytes, of an exported chunk. If 0, the facts are exported to a single file. Default value is 0.
+	 *
+	 * @return
+	 */
+	public long getMaxChunkBytes() {
+		return maxChunkBytes;
+	}
+
+	/**
+	 * Sets the approximate maximum size, in (uncompressed) bytes, of an exported chunk. If 0, the facts are exported to a single file. Default value is 0.
+	 *
+	 * @param maxChunkBytes
+	 */
+	public void setMaxChunkBytes(final long maxChunkBytes) {
+		this.maxChunkBytes = maxChunkBytes;
+	}
+
+	/**
+	 * Number of threads compressing and writing chunks in parallel. Only used when the output is split into chunks. Default value is 1.
+	 *
+	 * @return
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads compressing and writing chunks in parallel. Default value is 1.
+	 *
+	 * @param threads
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+}
@@ -0,0 +1,218 @@
+package qa.combined_approach.export;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.Util;
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TripleHandler;
+import qa.combined_approach.export.ExportConfiguration.Compression;
+
+/**
+ * Streams the facts of a data store to N-Triples files, as configured by an {@link ExportConfiguration}. Facts are never collected in memory: they are
+ * either written directly to a single file, or buffered into chunks of bounded size that are compressed and written in parallel.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class TripleExporter {
+
+	private static final String RDF_TYPE = "<" + OWLRDFVocabulary.RDF_TYPE.getIRI() + ">";
+	private static final String UNNAMED_CLASS = "<" + Util.UNNAMED_PRED + ">";
+	private static final String NAMED_INDIVIDUAL_CLASS = "<" + Util.NAMED_PRED + ">";
+	private static final String UNNAMED_INDIVIDUAL_PREFIX = "<Unnamed_";
+	private static final String INVERSE_ROLE_PREFIX = "<INV_";
+	private static final String ROLE_CONJUNCTION_PREFIX = "<RS_";
+
+	private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+	private final ExportConfiguration configuration;
+
+	private long exportedCount;
+	private long filteredCount;
+	private int chunkCount;
+
+	public TripleExporter(final ExportConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Exports the facts of given data store.
+	 *
+	 * @param dataStore
+	 * @param file
+	 *            the file to export to. When the output is split into chunks, chunk <code>n</code> is written to <code>file.n</code> (zero-padded to 5
+	 *            digits), followed by the compression extension, if any.
+	 * @return the number of exported facts
+	 * @throws IOException
+	 */
+	public long export(final DataStoreInterface dataStore, final File file) throws IOException {
+		this.exportedCount = 0;
+		this.filteredCount = 0;
+		this.chunkCount = 0;
+		if (file.getAbsoluteFile().getParentFile() != null) {
+			file.getAbsoluteFile().getParentFile().mkdirs();
+		}
+		if (configuration.getMaxChunkBytes() <= 0) {
+			exportToSingleFile(dataStore, new File(file.getPath() + configuration.getCompression().getExtension()));
+		} else {
+			exportToChunks(dataStore, file);
+		}
+		return exportedCount;
+	}
+
+	private void exportToSingleFile(final DataStoreInterface dataStore, final File file) throws IOException {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(openOutputStream(file), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+			dataStore.forEachTriple((subject, predicate, object) -> {
+				if (accept(subject, predicate, object)) {
+					appendTriple(writer, subject, predicate, object);
+				}
+			});
+		}
+		this.chunkCount = 1;
+	}
+
+	private void exportToChunks(final DataStoreInterface dataStore, final File file) throws IOException {
+		final int threads = Math.max(1, configuration.getThreads());
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		/* bounds the number of filled chunks waiting to be written, and thus the memory used */
+		final Semaphore inFlightChunks = new Semaphore(2 * threads);
+		final List<Future<?>> writtenChunks = new ArrayList<>();
+		final int maxChunkChars = (int) Math.min(configuration.getMaxChunkBytes(), Integer.MAX_VALUE - 1024);
+
+		try {
+			final StringBuilder[] chunk = { new StringBuilder() };
+			final TripleHandler handler = (subject, predicate, object) -> {
+				if (accept(subject, predicate, object)) {
+					appendTriple(chunk[0], subject, predicate, object);
+					if (chunk[0].length() >= maxChunkChars) {
+						writtenChunks.add(submitChunk(executor, inFlightChunks, chunk[0], chunkFile(file, chunkCount++)));
+						chunk[0] = new StringBuilder();
+					}
+				}
+			};
+			dataStore.forEachTriple(handler);
+			if (chunk[0].length() > 0 || chunkCount == 0) {
+				writtenChunks.add(submitChunk(executor, inFlightChunks, chunk[0], chunkFile(file, chunkCount++)));
+			}
+			for (final Future<?> writtenChunk : writtenChunks) {
+				writtenChunk.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while exporting to [" + file + "]");
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new CombinedApproachException("Error while exporting to [" + file + "]: " + e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Future<?> submitChunk(final ExecutorService executor, final Semaphore inFlightChunks, final StringBuilder chunk, final File chunkFile)
+			throws IOException {
+		try {
+			inFlightChunks.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while exporting to [" + chunkFile + "]");
+		}
+		return executor.submit(() -> {
+			try (OutputStream outputStream = openOutputStream(chunkFile)) {
+				outputStream.write(chunk.toString().getBytes(StandardCharsets.UTF_8));
+			} finally {
+				inFlightChunks.release();
+			}
+			return null;
+		});
+	}
+
+	private File chunkFile(final File file, final int chunkIndex) {
+		return new File(String.format("%s.%05d%s", file.getPath(), chunkIndex, configuration.getCompression().getExtension()));
+	}
+
+	private OutputStream openOutputStream(final File file) throws IOException {
+		final OutputStream outputStream = new FileOutputStream(file);
+		if (configuration.getCompression() == Compression.GZIP) {
+			return new GZIPOutputStream(outputStream, WRITE_BUFFER_SIZE);
+		}
+		return outputStream;
+	}
+
+	private void appendTriple(final Appendable appendable, final String subject, final String predicate, final String object) throws IOException {
+		appendable.append(subject).append(' ').append(predicate).append(' ').append(object).append(" .\n");
+		exportedCount++;
+	}
+
+	/**
+	 * Decides whether a fact is exported, given the configured filters.
+	 *
+	 * @param subject
+	 * @param predicate
+	 * @param object
+	 * @return
+	 */
+	boolean accept(final String subject, final String predicate, final String object) {
+		if (configuration.isDropUnnamedIndividuals() && (subject.startsWith(UNNAMED_INDIVIDUAL_PREFIX) || object.startsWith(UNNAMED_INDIVIDUAL_PREFIX))) {
+			filteredCount++;
+			return false;
+		}
+		if (configuration.isFilterAuxiliaryFacts() && isAuxiliary(predicate, object)) {
+			filteredCount++;
+			return false;
+		}
+		return true;
+	}
+
+	private static boolean isAuxiliary(final String predicate, final String object) {
+		if (RDF_TYPE.equals(predicate)) {
+			return UNNAMED_CLASS.equals(object) || NAMED_INDIVIDUAL_CLASS.equals(object);
+		}
+		return predicate.startsWith(INVERSE_ROLE_PREFIX) || predicate.startsWith(ROLE_CONJUNCTION_PREFIX);
+	}
+
+	/**
+	 * @return the number of facts exported by the last export.
+	 */
+	public long getExportedCount() {
+		return exportedCount;
+	}
+
+	/**
+	 * @return the number of facts left out by the last export.
+	 */
+	public long getFilteredCount() {
+		return filteredCount;
+	}
+
+	/**
+	 * @return the number of files written by the last export.
+	 */
+	public int getChunkCount() {
+		return chunkCount;
+	}
+
+}
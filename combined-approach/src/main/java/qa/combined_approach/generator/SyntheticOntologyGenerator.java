@@ -0,0 +1,360 @@
+package qa.combined_approach.generator;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.Util;
+
+/**
+ * Generates random Horn-ALCHOIQ ontologies in the normal form accepted by {@link qa.combined_approach.AxiomsToRules#collectRules}, with tunable numbers of
+ * axioms of each type (1)-(6), and matching ABoxes, as folders of Turtle files. Generation is deterministic for a given seed.<br>
+ * TBox axioms:
+ * <ul>
+ * <li>(1) A1 cap ... cap An sqs B, with n between 1 and {@link #getMaxConjuncts()}</li>
+ * <li>(2) A sqs exists R.B</li>
+ * <li>(3) A sqs forall R.B</li>
+ * <li>(4) A sqs &lt;=1 R.B</li>
+ * <li>(5) A sqs {a}</li>
+ * <li>(6) R sqs S: the roles are split into chains R0 sqs R1 sqs ... sqs Rd of length {@link #getRoleHierarchyDepth()}</li>
+ * </ul>
+ * Roles in axioms (2)-(4) are inverted with probability {@link #getInverseRoleRatio()}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class SyntheticOntologyGenerator {
+
+	public static final String DEFAULT_NAMESPACE = "http://example.org/synthetic#";
+
+	private String namespace = DEFAULT_NAMESPACE;
+	private long seed = 0;
+	private int classes = 100;
+	private int roles = 10;
+	private int conceptConjunctionAxioms = 100;
+	private int maxConjuncts = 2;
+	private int existentialAxioms = 30;
+	private int universalAxioms = 30;
+	private int atMostOneAxioms = 5;
+	private int nominalAxioms = 2;
+	private int roleHierarchyDepth = 2;
+	private double inverseRoleRatio = 0.2;
+
+	/**
+	 * Generates the TBox.
+	 *
+	 * @return
+	 * @throws OWLOntologyCreationException
+	 */
+	public OWLOntology generateTBox() throws OWLOntologyCreationException {
+		final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		final OWLDataFactory factory = manager.getOWLDataFactory();
+		final Random random = new Random(seed);
+
+		final List<OWLAxiom> axioms = new ArrayList<>();
+		/* (1) */
+		for (int i = 0; i < conceptConjunctionAxioms; i++) {
+			final int conjunctCount = 1 + random.nextInt(Math.max(1, maxConjuncts));
+			final List<OWLClassExpression> conjuncts = new ArrayList<>();
+			for (int j = 0; j < conjunctCount; j++) {
+				conjuncts.add(randomClass(factory, random));
+			}
+			final OWLClassExpression subClass = (conjuncts.size() == 1) ? conjuncts.get(0) : factory.getOWLObjectIntersectionOf(conjuncts);
+			axioms.add(factory.getOWLSubClassOfAxiom(subClass, randomClass(factory, random)));
+		}
+		/* (2) */
+		for (int i = 0; i < existentialAxioms; i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(randomClass(factory, random),
+					factory.getOWLObjectMinCardinality(1, randomRoleOrInverse(factory, random), randomClass(factory, random))));
+		}
+		/* (3) */
+		for (int i = 0; i < universalAxioms; i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(randomClass(factory, random),
+					factory.getOWLObjectAllValuesFrom(randomRoleOrInverse(factory, random), randomClass(factory, random))));
+		}
+		/* (4) */
+		for (int i = 0; i < atMostOneAxioms; i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(randomClass(factory, random),
+					factory.getOWLObjectMaxCardinality(1, randomRoleOrInverse(factory, random), randomClass(factory, random))));
+		}
+		/* (5) */
+		for (int i = 0; i < nominalAxioms; i++) {
+			axioms.add(factory.getOWLSubClassOfAxiom(randomClass(factory, random),
+					factory.getOWLObjectOneOf(factory.getOWLNamedIndividual(IRI.create(namespace + "nominal" + i)))));
+		}
+		/* (6) */
+		if (roleHierarchyDepth > 0) {
+			for (int i = 0; i + 1 < roles; i++) {
+				if ((i + 1) % (roleHierarchyDepth + 1) != 0) {
+					axioms.add(factory.getOWLSubObjectPropertyOfAxiom(role(factory, i), role(factory, i + 1)));
+				}
+			}
+		}
+
+		final OWLOntology ontology = manager.createOntology(IRI.create(namespace.replaceAll("#$", "")));
+		manager.addAxioms(ontology, axioms.stream());
+		return ontology;
+	}
+
+	/**
+	 * Generates the TBox and saves it in OWL-XML format.
+	 *
+	 * @param file
+	 * @throws OWLOntologyCreationException
+	 * @throws OWLOntologyStorageException
+	 * @throws IOException
+	 */
+	public void writeTBox(final File file) throws OWLOntologyCreationException, OWLOntologyStorageException, IOException {
+		final OWLOntology ontology = generateTBox();
+		try (FileOutputStream outputStream = new FileOutputStream(file)) {
+			ontology.getOWLOntologyManager().saveOntology(ontology, new OWLXMLDocumentFormat(), outputStream);
+		}
+	}
+
+	/**
+	 * Generates an ABox over the classes and roles of the TBox, and writes it to given folder, split into files of about the same size. Each individual is
+	 * asserted to be an <code>owl:NamedIndividual</code>, as expected by {@link qa.combined_approach.main.LaunchMaterialization}.
+	 *
+	 * @param folder
+	 * @param individuals
+	 *            number of individuals
+	 * @param classAssertions
+	 *            number of class assertions, of random classes to random individuals
+	 * @param roleAssertions
+	 *            number of role assertions, of random roles between random individuals
+	 * @param files
+	 *            number of Turtle files
+	 * @throws IOException
+	 */
+	public void writeABox(final File folder, final int individuals, final int classAssertions, final int roleAssertions, final int files)
+			throws IOException {
+		folder.mkdirs();
+		/* the ABox is independent of the TBox axioms, but depends on the seed */
+		final Random random = new Random(seed + 1);
+		final String type = "<" + OWLRDFVocabulary.RDF_TYPE.getIRI() + ">";
+		final String namedIndividual = "<" + Util.NAMED_PRED + ">";
+
+		final int fileCount = Math.max(1, files);
+		final List<Writer> writers = new ArrayList<>();
+		try {
+			for (int i = 0; i < fileCount; i++) {
+				writers.add(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(folder, "abox" + i + ".ttl")), StandardCharsets.UTF_8),
+						1 << 16));
+			}
+			for (int i = 0; i < individuals; i++) {
+				writeTriple(writers.get(i % fileCount), individual(i), type, namedIndividual);
+			}
+			for (int i = 0; i < classAssertions; i++) {
+				writeTriple(writers.get(i % fileCount), individual(random.nextInt(individuals)), type, "<" + namespace + "C" + random.nextInt(classes) + ">");
+			}
+			for (int i = 0; i < roleAssertions; i++) {
+				writeTriple(writers.get(i % fileCount), individual(random.nextInt(individuals)), "<" + namespace + "r" + random.nextInt(roles) + ">",
+						individual(random.nextInt(individuals)));
+			}
+		} finally {
+			for (final Writer writer : writers) {
+				writer.close();
+			}
+		}
+	}
+
+	private static void writeTriple(final Writer writer, final String subject, final String predicate, final String object) throws IOException {
+		writer.append(subject).append(' ').append(predicate).append(' ').append(object).append(" .\n");
+	}
+
+	private String individual(final int index) {
+		return "<" + namespace + "i" + index + ">";
+	}
+
+	private OWLClass randomClass(final OWLDataFactory factory, final Random random) {
+		return factory.getOWLClass(IRI.create(namespace + "C" + random.nextInt(classes)));
+	}
+
+	private OWLObjectProperty role(final OWLDataFactory factory, final int index) {
+		return factory.getOWLObjectProperty(IRI.create(namespace + "r" + index));
+	}
+
+	private OWLObjectPropertyExpression randomRoleOrInverse(final OWLDataFactory factory, final Random random) {
+		final OWLObjectProperty role = role(factory, random.nextInt(roles));
+		return (random.nextDouble() < inverseRoleRatio) ? role.getInverseProperty() : role;
+	}
+
+	/**
+	 * Namespace of the generated classes, roles and individuals. Default value is {@link #DEFAULT_NAMESPACE}.
+	 *
+	 * @return
+	 */
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	/**
+	 * Seed of the random generator. Default value is 0.
+	 *
+	 * @return
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(final long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Number of classes. Default value is 100.
+	 *
+	 * @return
+	 */
+	public int getClasses() {
+		return classes;
+	}
+
+	public void setClasses(final int classes) {
+		this.classes = classes;
+	}
+
+	/**
+	 * Number of roles. Default value is 10.
+	 *
+	 * @return
+	 */
+	public int getRoles() {
+		return roles;
+	}
+
+	public void setRoles(final int roles) {
+		this.roles = roles;
+	}
+
+	/**
+	 * Number of axioms of type (1). Default value is 100.
+	 *
+	 * @return
+	 */
+	public int getConceptConjunctionAxioms() {
+		return conceptConjunctionAxioms;
+	}
+
+	public void setConceptConjunctionAxioms(final int conceptConjunctionAxioms) {
+		this.conceptConjunctionAxioms = conceptConjunctionAxioms;
+	}
+
+	/**
+	 * Maximum number of conjuncts in the sub class of axioms of type (1). Default value is 2.
+	 *
+	 * @return
+	 */
+	public int getMaxConjuncts() {
+		return maxConjuncts;
+	}
+
+	public void setMaxConjuncts(final int maxConjuncts) {
+		this.maxConjuncts = maxConjuncts;
+	}
+
+	/**
+	 * Number of axioms of type (2). Default value is 30.
+	 *
+	 * @return
+	 */
+	public int getExistentialAxioms() {
+		return existentialAxioms;
+	}
+
+	public void setExistentialAxioms(final int existentialAxioms) {
+		this.existentialAxioms = existentialAxioms;
+	}
+
+	/**
+	 * Number of axioms of type (3). Default value is 30.
+	 *
+	 * @return
+	 */
+	public int getUniversalAxioms() {
+		return universalAxioms;
+	}
+
+	public void setUniversalAxioms(final int universalAxioms) {
+		this.universalAxioms = universalAxioms;
+	}
+
+	/**
+	 * Number of axioms of type (4). Default value is 5.
+	 *
+	 * @return
+	 */
+	public int getAtMostOneAxioms() {
+		return atMostOneAxioms;
+	}
+
+	public void setAtMostOneAxioms(final int atMostOneAxioms) {
+		this.atMostOneAxioms = atMostOneAxioms;
+	}
+
+	/**
+	 * Number of axioms of type (5), each with a distinct nominal. Default value is 2.
+	 *
+	 * @return
+	 */
+	public int getNominalAxioms() {
+		return nominalAxioms;
+	}
+
+	public void setNominalAxioms(final int nominalAxioms) {
+		this.nominalAxioms = nominalAxioms;
+	}
+
+	/**
+	 * Length of the chains of role subsumption axioms (6). If 0, there are no role subsumptions. Default value is 2.
+	 *
+	 * @return
+	 */
+	public int getRoleHierarchyDepth() {
+		return roleHierarchyDepth;
+	}
+
+	public void setRoleHierarchyDepth(final int roleHierarchyDepth) {
+		this.roleHierarchyDepth = roleHierarchyDepth;
+	}
+
+	/**
+	 * Probability of using the inverse of a role in axioms (2)-(4). Default value is 0.2.
+	 *
+	 * @return
+	 */
+	public double getInverseRoleRatio() {
+		return inverseRoleRatio;
+	}
+
+	public void setInverseRoleRatio(final double inverseRoleRatio) {
+		this.inverseRoleRatio = inverseRoleRatio;
+	}
+
+}
@@ -0,0 +1,161 @@
+package qa.combined_approach.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.AboxSplitter;
+import qa.combined_approach.Checkpoint;
+import qa.combined_approach.Materialization;
+import qa.combined_approach.Program;
+import qa.combined_approach.ProgramCache;
+import qa.combined_approach.abox.ImportConfiguration;
+import qa.combined_approach.dataStore.DataStoreConfiguration;
+import qa.combined_approach.export.ExportConfiguration;
+import qa.combined_approach.metrics.MetricsWriter;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+/**
+ * Materialises one ontology TBox against several ABoxes in the same JVM. The program is compiled (or loaded from the program cache) only once, and each
+ * ABox is materialised in turn, with a copy of the compiled program and a fresh data store. A timing report is printed for each ABox, and a summary at the
+ * end.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class LaunchBatchMaterialization {
+
+	public static void main(final String[] args) throws OWLOntologyCreationException, IOException, JRDFoxException {
+
+		/**
+		 * Path to a Horn-ALCHOIQ OWL ontology with axioms in the normal form as discussed in the paper.
+		 */
+		final String ontoPath = args[0];
+
+		/**
+		 * Path to the folder where the rules and facts imported into the data store are also written to, for debugging, in a sub-folder per ABox. If "-", no
+		 * files are written.
+		 */
+		final String rdfoxInputLocation = args[1];
+
+		/**
+		 * Number of parallel threads to be used by the data store.
+		 */
+		final Integer nbThreads = Integer.valueOf(args[2]);
+
+		/**
+		 * Path to the folder where the facts inferred by materialisation will be exported, to a file per ABox. If "-", facts are not exported.
+		 */
+		final String exportFolderLocation = args[3];
+
+		/**
+		 * Paths to the ABox folders, each containing Turtle (.ttl) files, as in {@link LaunchMaterialization}.
+		 */
+		final List<File> aboxFolders = new ArrayList<>();
+		for (int i = 4; i < args.length; i++) {
+			aboxFolders.add(new File(args[i]));
+		}
+
+		materialize(ontoPath, LaunchMaterialization.NO_INPUT_FILES.equals(rdfoxInputLocation) ? null : new File(rdfoxInputLocation), aboxFolders,
+				nbThreads, LaunchMaterialization.NO_INPUT_FILES.equals(exportFolderLocation) ? null : new File(exportFolderLocation));
+	}
+
+	/**
+	 *
+	 * @param ontoPath
+	 *            Path to a Horn-ALCHOIQ OWL ontology with axioms in the normal form as discussed in the paper.
+	 * @param rdfoxInputLocation
+	 *            if not null, the folder where the rules and facts imported into the data store are also written to, in a sub-folder per ABox.
+	 * @param aboxFolders
+	 *            the ABox folders to be materialised, in this order.
+	 * @param nbThreads
+	 *            Number of parallel threads to be used by the data store.
+	 * @param exportFolder
+	 *            if not null, the folder where the facts inferred by materialisation will be exported, to a file per ABox, named after the ABox folder.
+	 * @throws OWLOntologyCreationException
+	 * @throws IOException
+	 * @throws JRDFoxException
+	 */
+	public static void materialize(final String ontoPath, final File rdfoxInputLocation, final List<File> aboxFolders, final int nbThreads,
+			final File exportFolder) throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final long startCompile = System.currentTimeMillis();
+		final DataStoreConfiguration dataStoreConfiguration = LaunchMaterialization.createDataStoreConfiguration(nbThreads);
+		final ImportConfiguration importConfiguration = LaunchMaterialization.createImportConfiguration();
+		final ExportConfiguration exportConfiguration = LaunchMaterialization.createExportConfiguration();
+		System.out.println("Evaluating ontology: " + ontoPath + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final AboxSplitter aboxSplitter = LaunchMaterialization.splitOntology(new File(ontoPath));
+		final Program compiledProgram = LaunchMaterialization.loadProgram((aboxSplitter == null) ? new File(ontoPath) : aboxSplitter.getTBoxFile());
+		final long compileDuration = System.currentTimeMillis() - startCompile;
+		System.out.println(" - program compilation duration: " + compileDuration + " ms");
+		final List<String> report = new ArrayList<>();
+		/* closed also if an ABox fails, so that the metrics of the completed ABoxes are kept */
+		try (MetricsWriter metricsWriter = LaunchMaterialization.createMetricsWriter()) {
+			if (metricsWriter != null) {
+				metricsWriter.setRun(new File(ontoPath).getName());
+				metricsWriter.phaseCompleted(LaunchMaterialization.compilePhase(compiledProgram, compileDuration));
+			}
+			if (exportFolder != null) {
+				exportFolder.mkdirs();
+			}
+			for (final File aboxFolder : aboxFolders) {
+				final String aboxName = aboxFolder.getName();
+				System.out.println("Evaluating ABox: " + aboxFolder + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+				final long startTime = System.currentTimeMillis();
+
+				/* materialisation changes the program: each ABox gets its own copy */
+				final Checkpoint checkpoint = LaunchMaterialization.createCheckpoint(aboxName);
+				final Checkpoint resumeFrom = LaunchMaterialization.loadCheckpoint(checkpoint);
+				final Program program = (resumeFrom == null) ? ProgramCache.copy(compiledProgram) : resumeFrom.getProgram();
+				File aboxRdfoxInputLocation = null;
+				if (rdfoxInputLocation != null) {
+					aboxRdfoxInputLocation = new File(rdfoxInputLocation, aboxName);
+					aboxRdfoxInputLocation.mkdirs();
+				}
+				final String exportToFileLocation = (exportFolder == null) ? null : new File(exportFolder, aboxName + ".nt").getPath();
+
+				final Materialization materialization = new Materialization(aboxRdfoxInputLocation, aboxFolder, dataStoreConfiguration, program,
+						exportToFileLocation);
+				materialization.setImportConfiguration(importConfiguration);
+				materialization.setExportConfiguration(exportConfiguration);
+				materialization.setAxiomProfiler(LaunchMaterialization.createAxiomProfiler());
+				materialization.setFiringThreads(Integer.getInteger(LaunchMaterialization.FIRING_THREADS_PROPERTY, 1));
+				materialization.setSinkMemoryLimit(
+						Integer.getInteger(LaunchMaterialization.SINK_MEMORY_LIMIT_PROPERTY, materialization.getSinkMemoryLimit()));
+				if (aboxSplitter != null) {
+					/* the assertions of the ontology are shared by all ABoxes */
+					materialization.setEmbeddedAboxFile(aboxSplitter.getAboxFile());
+				}
+				LaunchMaterialization.configureCheckpoint(materialization, checkpoint, resumeFrom);
+				if (metricsWriter != null) {
+					metricsWriter.setRun(aboxName);
+					materialization.addListener(metricsWriter);
+				}
+				materialization.materialize();
+
+				final long loadingDuration = materialization.getStartMaterialization() - startTime;
+				final long materializationDuration = materialization.getMaterializationDuration();
+				final int numberOfUnnamedIndiv = program.getUnnamedIndividualNames().keySet().size();
+				final int numberOfActiveRoleConjunctions = program.getActiveRoleConjunctions().getRoleConjunctionNames().size();
+
+				System.out.println(" - ABox: " + aboxName);
+				System.out.println(" - #final active role conjunctions: " + numberOfActiveRoleConjunctions);
+				System.out.println(" - #Introduced Unnamed Individuals: " + numberOfUnnamedIndiv);
+				System.out.println(" - total loading   duration: " + loadingDuration + " ms");
+				System.out.println(" - materialization duration: " + materializationDuration + " ms");
+				LaunchMaterialization.printAxiomProfile(materialization.getAxiomProfiler());
+				report.add(aboxName + "\t" + materialization.getGeneratedFactsCount() + "\t" + numberOfUnnamedIndiv + "\t"
+						+ numberOfActiveRoleConjunctions + "\t" + loadingDuration + "\t" + materializationDuration);
+			}
+		}
+
+		System.out.println("Batch summary; program compilation duration: " + compileDuration + " ms");
+		System.out.println("ABox\t#triples\t#unnamedIndiv\t#activeRoleConjunctions\tloading (ms)\tmaterialization (ms)");
+		report.forEach(System.out::println);
+	}
+
+}
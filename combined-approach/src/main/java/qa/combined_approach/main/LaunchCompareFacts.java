@@ -0,0 +1,51 @@
+package qa.combined_approach.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import qa.combined_approach.FactsDiff;
+
+/**
+ * Main class that compares the facts of two N-Triples files, such as the materialisations of the same ontology computed by our prototype and by another
+ * reasoner, and prints the missing and extra facts per predicate.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class LaunchCompareFacts {
+
+	public static void main(final String[] args) throws IOException {
+
+		/**
+		 * Path to the reference N-Triples file (gzip compressed if its name ends with .gz).
+		 */
+		final File a = new File(args[0]);
+
+		/**
+		 * Path to the N-Triples file compared to the reference (gzip compressed if its name ends with .gz).
+		 */
+		final File b = new File(args[1]);
+
+		/**
+		 * if present, the maximum number of facts sorted in memory at once; larger files are sorted externally.
+		 */
+		final int maxFactsInMemory = (args.length > 2) ? Integer.parseInt(args[2]) : FactsDiff.DEFAULT_MAX_FACTS_IN_MEMORY;
+
+		/**
+		 * if present, the maximum number of missing and extra facts printed per predicate.
+		 */
+		final int maxSamples = (args.length > 3) ? Integer.parseInt(args[3]) : 10;
+
+		System.out.println("Comparing facts of " + a + " to " + b + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final long startCompare = System.currentTimeMillis();
+		final FactsDiff diff = FactsDiff.compare(a, b, maxFactsInMemory, null, maxSamples);
+		diff.print(System.out);
+		System.out.println(" - comparison duration: " + (System.currentTimeMillis() - startCompare) + " ms");
+		if (!diff.isEqual()) {
+			System.exit(1);
+		}
+	}
+
+}
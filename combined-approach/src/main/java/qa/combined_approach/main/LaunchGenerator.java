@@ -0,0 +1,84 @@
+package qa.combined_approach.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+
+/**
+ * Main class that generates a synthetic Horn-ALCHOIQ TBox in the normal form, and a matching ABox folder, with {@link SyntheticOntologyGenerator}. The
+ * generator is configured by the system properties <code>generator.seed</code>, <code>generator.classes</code>, <code>generator.roles</code>,
+ * <code>generator.conceptConjunctionAxioms</code>, <code>generator.maxConjuncts</code>, <code>generator.existentialAxioms</code>,
+ * <code>generator.universalAxioms</code>, <code>generator.atMostOneAxioms</code>, <code>generator.nominalAxioms</code>,
+ * <code>generator.roleHierarchyDepth</code> and <code>generator.inverseRoleRatio</code>.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class LaunchGenerator {
+
+	private static final String PROPERTY_PREFIX = "generator.";
+
+	public static void main(final String[] args) throws OWLOntologyCreationException, OWLOntologyStorageException, IOException {
+
+		/**
+		 * Path of the generated TBox, in OWL-XML format.
+		 */
+		final File tboxFile = new File(args[0]);
+
+		/**
+		 * Path to the folder where the ABox Turtle files are generated.
+		 */
+		final File aboxFolder = new File(args[1]);
+
+		/**
+		 * Number of ABox individuals, class assertions and role assertions.
+		 */
+		final int individuals = Integer.parseInt(args[2]);
+		final int classAssertions = Integer.parseInt(args[3]);
+		final int roleAssertions = Integer.parseInt(args[4]);
+
+		/**
+		 * if present, the number of ABox files. Default is 1.
+		 */
+		final int aboxFiles = (args.length > 5) ? Integer.parseInt(args[5]) : 1;
+
+		final SyntheticOntologyGenerator generator = createGenerator();
+		System.out.println("Generating TBox " + tboxFile + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+		if (tboxFile.getAbsoluteFile().getParentFile() != null) {
+			tboxFile.getAbsoluteFile().getParentFile().mkdirs();
+		}
+		generator.writeTBox(tboxFile);
+		System.out.println("Generating ABox " + aboxFolder + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+		generator.writeABox(aboxFolder, individuals, classAssertions, roleAssertions, aboxFiles);
+		System.out.println("Done; Time: " + LocalDate.now() + " " + LocalTime.now());
+	}
+
+	/**
+	 * @return a generator configured by the <code>generator.*</code> system properties, with default values for the properties not set.
+	 */
+	public static SyntheticOntologyGenerator createGenerator() {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		generator.setSeed(Long.getLong(PROPERTY_PREFIX + "seed", generator.getSeed()));
+		generator.setClasses(Integer.getInteger(PROPERTY_PREFIX + "classes", generator.getClasses()));
+		generator.setRoles(Integer.getInteger(PROPERTY_PREFIX + "roles", generator.getRoles()));
+		generator.setConceptConjunctionAxioms(Integer.getInteger(PROPERTY_PREFIX + "conceptConjunctionAxioms", generator.getConceptConjunctionAxioms()));
+		generator.setMaxConjuncts(Integer.getInteger(PROPERTY_PREFIX + "maxConjuncts", generator.getMaxConjuncts()));
+		generator.setExistentialAxioms(Integer.getInteger(PROPERTY_PREFIX + "existentialAxioms", generator.getExistentialAxioms()));
+		generator.setUniversalAxioms(Integer.getInteger(PROPERTY_PREFIX + "universalAxioms", generator.getUniversalAxioms()));
+		generator.setAtMostOneAxioms(Integer.getInteger(PROPERTY_PREFIX + "atMostOneAxioms", generator.getAtMostOneAxioms()));
+		generator.setNominalAxioms(Integer.getInteger(PROPERTY_PREFIX + "nominalAxioms", generator.getNominalAxioms()));
+		generator.setRoleHierarchyDepth(Integer.getInteger(PROPERTY_PREFIX + "roleHierarchyDepth", generator.getRoleHierarchyDepth()));
+		final String inverseRoleRatio = System.getProperty(PROPERTY_PREFIX + "inverseRoleRatio");
+		if (inverseRoleRatio != null) {
+			generator.setInverseRoleRatio(Double.parseDouble(inverseRoleRatio));
+		}
+		return generator;
+	}
+
+}
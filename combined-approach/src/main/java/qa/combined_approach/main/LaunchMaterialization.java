@@ -4,15 +4,28 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 
+import qa.combined_approach.AboxSplitter;
+import qa.combined_approach.Checkpoint;
+import qa.combined_approach.CombinedApproachException;
 import qa.combined_approach.Materialization;
 import qa.combined_approach.OntologyToProgram;
 import qa.combined_approach.Program;
+import qa.combined_approach.ProgramCache;
 import qa.combined_approach.Util;
+import qa.combined_approach.abox.ImportConfiguration;
 import qa.combined_approach.dataStore.DataStoreConfiguration;
+import qa.combined_approach.export.ExportConfiguration;
+import qa.combined_approach.metrics.AxiomProfiler;
+import qa.combined_approach.metrics.MetricsWriter;
+import qa.combined_approach.metrics.PhaseMetrics;
+import qa.combined_approach.query.QueryServer;
+import qa.combined_approach.query.QueryServerConfiguration;
 import uk.ac.ox.cs.JRDFox.JRDFoxException;
 
 /**
@@ -23,6 +36,141 @@ import uk.ac.ox.cs.JRDFox.JRDFoxException;
  */
 public class LaunchMaterialization {
 
+	/**
+	 * System property selecting the {@link DataStoreConfiguration.Backend} used for materialisation. Default is RDFox.
+	 */
+	public static final String DATA_STORE_BACKEND_PROPERTY = "dataStore.backend";
+
+	/**
+	 * System property with the maximum number of compiled queries cached by the RDFox data store. See {@link DataStoreConfiguration#getQueryCacheSize()}.
+	 */
+	public static final String QUERY_CACHE_SIZE_PROPERTY = "dataStore.queryCacheSize";
+
+	/**
+	 * System property with the folder of the {@link ProgramCache}. If set, the program compiled from an ontology is loaded from the cache, if present, and
+	 * stored in the cache otherwise.
+	 */
+	public static final String PROGRAM_CACHE_PROPERTY = "program.cache";
+
+	/**
+	 * System property: if true, facts over auxiliary predicates are not exported. See {@link ExportConfiguration#isFilterAuxiliaryFacts()}.
+	 */
+	public static final String EXPORT_FILTER_AUXILIARY_PROPERTY = "export.filterAuxiliary";
+
+	/**
+	 * System property: if true, facts mentioning unnamed individuals are not exported. See {@link ExportConfiguration#isDropUnnamedIndividuals()}.
+	 */
+	public static final String EXPORT_DROP_UNNAMED_PROPERTY = "export.dropUnnamed";
+
+	/**
+	 * System property with the {@link ExportConfiguration.Compression} of the exported files.
+	 */
+	public static final String EXPORT_COMPRESSION_PROPERTY = "export.compression";
+
+	/**
+	 * System property with the approximate maximum size in bytes of an exported chunk. See {@link ExportConfiguration#getMaxChunkBytes()}.
+	 */
+	public static final String EXPORT_CHUNK_BYTES_PROPERTY = "export.chunkBytes";
+
+	/**
+	 * System property with the number of threads writing exported chunks in parallel.
+	 */
+	public static final String EXPORT_THREADS_PROPERTY = "export.threads";
+
+	/**
+	 * System property with the file where the metrics of each phase and iteration are written, as CSV if the file name ends with .csv, and as JSON lines
+	 * otherwise. See {@link MetricsWriter}.
+	 */
+	public static final String METRICS_FILE_PROPERTY = "metrics.file";
+
+	/**
+	 * System property with the number of threads evaluating the queries of the fired axioms concurrently. See
+	 * {@link Materialization#setFiringThreads(int)}.
+	 */
+	public static final String FIRING_THREADS_PROPERTY = "materialization.firingThreads";
+
+	/**
+	 * System property with the number of characters of the rules, or of the facts, of an iteration held in memory before being moved to a temporary file.
+	 * See {@link Materialization#setSinkMemoryLimit(int)}.
+	 */
+	public static final String SINK_MEMORY_LIMIT_PROPERTY = "materialization.sinkMemoryLimit";
+
+	/**
+	 * System property with the number of most expensive axioms reported at the end of the run. If set, the firing of each axiom is profiled with an
+	 * {@link AxiomProfiler}.
+	 */
+	public static final String PROFILE_AXIOMS_PROPERTY = "profile.axioms";
+
+	/**
+	 * System property with the folder a {@link Checkpoint} is written to after completed iterations. If not set, no checkpoints are written.
+	 */
+	public static final String CHECKPOINT_FOLDER_PROPERTY = "checkpoint.folder";
+
+	/**
+	 * System property with the number of iterations between checkpoints. Default value is 1.
+	 */
+	public static final String CHECKPOINT_INTERVAL_PROPERTY = "checkpoint.interval";
+
+	/**
+	 * Boolean system property. If true, the materialisation is resumed from the checkpoint in {@link #CHECKPOINT_FOLDER_PROPERTY}, if there is one.
+	 */
+	public static final String CHECKPOINT_RESUME_PROPERTY = "checkpoint.resume";
+
+	/**
+	 * System property with a folder of Turtle files with ABox facts added since the checkpoint was written, imported when resuming from a checkpoint. Since
+	 * a checkpoint is also written when the materialisation completes, this materialises ABox additions incrementally.
+	 */
+	public static final String CHECKPOINT_ADDITIONS_PROPERTY = "checkpoint.additions";
+
+	/**
+	 * System property with the port of a {@link QueryServer}. If set, the materialised store is kept after materialisation, and queries are answered over
+	 * it until the process is terminated.
+	 */
+	public static final String SERVER_PORT_PROPERTY = "server.port";
+
+	/**
+	 * System property with the number of queries answered concurrently by the {@link QueryServer}. See {@link QueryServerConfiguration#setThreads(int)}.
+	 */
+	public static final String SERVER_THREADS_PROPERTY = "server.threads";
+
+	/**
+	 * System property with the number of queries whose answers are cached by the {@link QueryServer}. See
+	 * {@link QueryServerConfiguration#setAnswerCacheSize(int)}.
+	 */
+	public static final String SERVER_ANSWER_CACHE_SIZE_PROPERTY = "server.answerCacheSize";
+
+	/**
+	 * System property with a folder the ontology is split into, if it is in OWL/XML syntax: its TBox, compiled with the OWL API, and its ABox assertions,
+	 * streamed to an N-Triples file imported directly into the store. See {@link AboxSplitter}. If not set, the ontology is loaded as a whole.
+	 */
+	public static final String ABOX_SPLIT_FOLDER_PROPERTY = "abox.splitFolder";
+
+	/**
+	 * System property with the comma-separated file name extensions of the imported ABox files. See {@link ImportConfiguration#setExtensions(List)}.
+	 */
+	public static final String ABOX_EXTENSIONS_PROPERTY = "abox.extensions";
+
+	/**
+	 * System property with the number of ABox files parsed in parallel. See {@link ImportConfiguration#setThreads(int)}.
+	 */
+	public static final String ABOX_IMPORT_THREADS_PROPERTY = "abox.importThreads";
+
+	/**
+	 * System property with the number of ABox files passed to the RDFox data store at once. See {@link ImportConfiguration#setBatchSize(int)}.
+	 */
+	public static final String ABOX_IMPORT_BATCH_SIZE_PROPERTY = "abox.importBatchSize";
+
+	/**
+	 * System property with the minimum time between two reports of the ABox import progress, in milliseconds. See
+	 * {@link ImportConfiguration#setProgressInterval(long)}.
+	 */
+	public static final String ABOX_PROGRESS_INTERVAL_PROPERTY = "abox.progressInterval";
+
+	/**
+	 * Value of the rdfoxInputLocation argument for which no rules and facts files are written.
+	 */
+	public static final String NO_INPUT_FILES = "-";
+
 	public static void main(final String[] args) throws OWLOntologyCreationException, IOException, JRDFoxException {
 
 		/**
@@ -31,7 +179,8 @@ public class LaunchMaterialization {
 		final String ontoPath = args[0];
 
 		/**
-		 * Path to the folder where rules files and facts files will be generated, to be imported into RDFox.
+		 * Path to the folder where the rules and facts imported into the data store are also written to, for debugging. If "-", no files are written. The
+		 * rules and facts are handed to the data store in memory in any case.
 		 */
 		final String rdfoxInputLocation = args[1];
 
@@ -56,7 +205,7 @@ public class LaunchMaterialization {
 			exportToFolderLocation = args[4];
 		}
 
-		materialize(ontoPath, new File(rdfoxInputLocation), new File(aboxFolderLocation), nbThreads, exportToFolderLocation);
+		materialize(ontoPath, NO_INPUT_FILES.equals(rdfoxInputLocation) ? null : new File(rdfoxInputLocation), new File(aboxFolderLocation), nbThreads, exportToFolderLocation);
 	}
 
 	/**
@@ -64,7 +213,7 @@ public class LaunchMaterialization {
 	 * @param ontoPath
 	 *            Path to a Horn-ALCHOIQ OWL ontology with axioms in the normal form as discussed in the paper.
 	 * @param rdfoxInputLocation
-	 *            Path to the folder where rules files and facts files will be generated, to be imported into RDFox.
+	 *            if not null, path to the folder where the rules and facts imported into the data store are also written to, for debugging.
 	 * @param aboxFolderLocation
 	 *            Path to the folder where the ABox of the ontology is, in the form of several Turtle (.ttl) files. These files will be imported directly into
 	 *            RDFox, without being processed trough Java. For each named individual in the ABox files, there is a class assertion to
@@ -82,18 +231,41 @@ public class LaunchMaterialization {
 			final String exportToFolderLocation) throws OWLOntologyCreationException, IOException, JRDFoxException {
 		// load
 		final long startTime = System.currentTimeMillis();
-		final DataStoreConfiguration dataStoreConfiguration = new DataStoreConfiguration();
-		dataStoreConfiguration.setRdfoxDataStoreThreads(nbThreads);
-
-		System.out.println("Evaluating ontology: " + ontoPath + "; Time: " + LocalDate.now() + " " + LocalTime.now());
-		final OWLOntology ontology = Util.loadOntologyWithImports(new File(ontoPath));
-		final OntologyToProgram ontologyToProgram = new OntologyToProgram(ontology);
-		final Program program = ontologyToProgram.getProgram();
+		final DataStoreConfiguration dataStoreConfiguration = createDataStoreConfiguration(nbThreads);
+		final Program program;
+		final Materialization materialization;
+		try (MetricsWriter metricsWriter = createMetricsWriter()) {
+			System.out.println("Evaluating ontology: " + ontoPath + "; Time: " + LocalDate.now() + " " + LocalTime.now());
+			final Checkpoint checkpoint = createCheckpoint(null);
+			final Checkpoint resumeFrom = loadCheckpoint(checkpoint);
+			final AboxSplitter aboxSplitter = (resumeFrom == null) ? splitOntology(new File(ontoPath)) : null;
+			if (resumeFrom != null) {
+				program = resumeFrom.getProgram();
+			} else {
+				program = loadProgram((aboxSplitter == null) ? new File(ontoPath) : aboxSplitter.getTBoxFile());
+			}
+			if (metricsWriter != null) {
+				metricsWriter.setRun(new File(ontoPath).getName());
+				metricsWriter.phaseCompleted(compilePhase(program, System.currentTimeMillis() - startTime));
+			}
 
-		// materialize
-		final Materialization materialization = new Materialization(rdfoxInputLocation, aboxFolderLocation, dataStoreConfiguration, program,
-				exportToFolderLocation);
-		materialization.materialize();
+			// materialize
+			materialization = new Materialization(rdfoxInputLocation, aboxFolderLocation, dataStoreConfiguration, program, exportToFolderLocation);
+			materialization.setImportConfiguration(createImportConfiguration());
+			materialization.setExportConfiguration(createExportConfiguration());
+			materialization.setAxiomProfiler(createAxiomProfiler());
+			materialization.setFiringThreads(Integer.getInteger(FIRING_THREADS_PROPERTY, 1));
+			materialization.setSinkMemoryLimit(Integer.getInteger(SINK_MEMORY_LIMIT_PROPERTY, materialization.getSinkMemoryLimit()));
+			if (aboxSplitter != null) {
+				materialization.setEmbeddedAboxFile(aboxSplitter.getAboxFile());
+			}
+			configureCheckpoint(materialization, checkpoint, resumeFrom);
+			materialization.setKeepDataStore(System.getProperty(SERVER_PORT_PROPERTY) != null);
+			if (metricsWriter != null) {
+				materialization.addListener(metricsWriter);
+			}
+			materialization.materialize();
+		}
 
 		final long loadingDuration = materialization.getStartMaterialization() - startTime;
 		final long materializationDuration = materialization.getMaterializationDuration();
@@ -104,6 +276,246 @@ public class LaunchMaterialization {
 		System.out.println(" - #Introduced Unnamed Individuals: " + numberOfUnnamedIndiv);
 		System.out.println(" - total loading   duration: " + loadingDuration + " ms");
 		System.out.println(" - materialization duration: " + materializationDuration + " ms");
+		printAxiomProfile(materialization.getAxiomProfiler());
+		if (materialization.isKeepDataStore()) {
+			serveQueries(materialization);
+		}
+	}
+
+	/**
+	 * Starts a {@link QueryServer} over the kept store of given materialisation, configured by {@link #SERVER_PORT_PROPERTY},
+	 * {@link #SERVER_THREADS_PROPERTY} and {@link #SERVER_ANSWER_CACHE_SIZE_PROPERTY}. The server and the store are released when the process is terminated.
+	 *
+	 * @param materialization
+	 * @throws IOException
+	 */
+	public static void serveQueries(final Materialization materialization) throws IOException {
+		final QueryServerConfiguration configuration = new QueryServerConfiguration();
+		configuration.setPort(Integer.getInteger(SERVER_PORT_PROPERTY));
+		configuration.setThreads(Integer.getInteger(SERVER_THREADS_PROPERTY, configuration.getThreads()));
+		configuration.setAnswerCacheSize(Integer.getInteger(SERVER_ANSWER_CACHE_SIZE_PROPERTY, configuration.getAnswerCacheSize()));
+		final QueryServer server = new QueryServer(materialization.getDataStore(), configuration);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.close();
+			materialization.dispose();
+		}));
+		server.start();
+		System.out.println("Answering queries at http://localhost:" + server.getPort() + QueryServer.QUERY_PATH + "; Time: " + LocalDate.now() + " "
+				+ LocalTime.now());
+	}
+
+	/**
+	 *
+	 * @param nbThreads
+	 *            Number of parallel threads to be used by the data store.
+	 * @return the data store configuration, with the backend given by {@link #DATA_STORE_BACKEND_PROPERTY} and the query cache size given by
+	 *         {@link #QUERY_CACHE_SIZE_PROPERTY}, if set.
+	 */
+	public static DataStoreConfiguration createDataStoreConfiguration(final int nbThreads) {
+		final DataStoreConfiguration dataStoreConfiguration = new DataStoreConfiguration();
+		dataStoreConfiguration.setRdfoxDataStoreThreads(nbThreads);
+		/* -DdataStore.backend=IN_MEMORY selects the pure-Java data store instead of RDFox */
+		final String backend = System.getProperty(DATA_STORE_BACKEND_PROPERTY);
+		if (backend != null) {
+			dataStoreConfiguration.setBackend(DataStoreConfiguration.Backend.valueOf(backend.toUpperCase()));
+		}
+		final String queryCacheSize = System.getProperty(QUERY_CACHE_SIZE_PROPERTY);
+		if (queryCacheSize != null) {
+			dataStoreConfiguration.setQueryCacheSize(Integer.parseInt(queryCacheSize));
+		}
+		return dataStoreConfiguration;
+	}
+
+	/**
+	 * @return the configuration of the ABox import given by {@link #ABOX_EXTENSIONS_PROPERTY}, {@link #ABOX_IMPORT_THREADS_PROPERTY},
+	 *         {@link #ABOX_IMPORT_BATCH_SIZE_PROPERTY} and {@link #ABOX_PROGRESS_INTERVAL_PROPERTY}, with the default values of {@link ImportConfiguration} for
+	 *         the ones that are not set.
+	 */
+	public static ImportConfiguration createImportConfiguration() {
+		final ImportConfiguration importConfiguration = new ImportConfiguration();
+		final String extensions = System.getProperty(ABOX_EXTENSIONS_PROPERTY);
+		if (extensions != null) {
+			importConfiguration.setExtensions(Arrays.asList(extensions.split("\\s*,\\s*")));
+		}
+		importConfiguration.setThreads(Integer.getInteger(ABOX_IMPORT_THREADS_PROPERTY, importConfiguration.getThreads()));
+		importConfiguration.setBatchSize(Integer.getInteger(ABOX_IMPORT_BATCH_SIZE_PROPERTY, importConfiguration.getBatchSize()));
+		importConfiguration.setProgressInterval(Long.getLong(ABOX_PROGRESS_INTERVAL_PROPERTY, importConfiguration.getProgressInterval()));
+		return importConfiguration;
+	}
+
+	/**
+	 * @return the export configuration given by the <code>export.*</code> system properties, or null if none of them is set, in which case the data store
+	 *         exports all its facts.
+	 */
+	public static ExportConfiguration createExportConfiguration() {
+		final String filterAuxiliary = System.getProperty(EXPORT_FILTER_AUXILIARY_PROPERTY);
+		final String dropUnnamed = System.getProperty(EXPORT_DROP_UNNAMED_PROPERTY);
+		final String compression = System.getProperty(EXPORT_COMPRESSION_PROPERTY);
+		final String chunkBytes = System.getProperty(EXPORT_CHUNK_BYTES_PROPERTY);
+		final String threads = System.getProperty(EXPORT_THREADS_PROPERTY);
+		if (filterAuxiliary == null && dropUnnamed == null && compression == null && chunkBytes == null && threads == null) {
+			return null;
+		}
+		final ExportConfiguration exportConfiguration = new ExportConfiguration();
+		exportConfiguration.setFilterAuxiliaryFacts(Boolean.parseBoolean(filterAuxiliary));
+		exportConfiguration.setDropUnnamedIndividuals(Boolean.parseBoolean(dropUnnamed));
+		if (compression != null) {
+			exportConfiguration.setCompression(ExportConfiguration.Compression.valueOf(compression.toUpperCase()));
+		}
+		if (chunkBytes != null) {
+			exportConfiguration.setMaxChunkBytes(Long.parseLong(chunkBytes));
+		}
+		if (threads != null) {
+			exportConfiguration.setThreads(Integer.parseInt(threads));
+		}
+		return exportConfiguration;
+	}
+
+	/**
+	 * @return a writer to the file given by {@link #METRICS_FILE_PROPERTY}, or null if it is not set.
+	 * @throws IOException
+	 */
+	public static MetricsWriter createMetricsWriter() throws IOException {
+		final String metricsFile = System.getProperty(METRICS_FILE_PROPERTY);
+		return (metricsFile == null) ? null : MetricsWriter.toFile(new File(metricsFile));
+	}
+
+	/**
+	 * @return a profiler if {@link #PROFILE_AXIOMS_PROPERTY} is set, and null otherwise.
+	 */
+	public static AxiomProfiler createAxiomProfiler() {
+		return (System.getProperty(PROFILE_AXIOMS_PROPERTY) == null) ? null : new AxiomProfiler();
+	}
+
+	/**
+	 * Prints the {@link #PROFILE_AXIOMS_PROPERTY} most expensive axioms of given profiler, if not null.
+	 *
+	 * @param axiomProfiler
+	 */
+	public static void printAxiomProfile(final AxiomProfiler axiomProfiler) {
+		if (axiomProfiler != null) {
+			axiomProfiler.printReport(System.out, Integer.parseInt(System.getProperty(PROFILE_AXIOMS_PROPERTY)));
+		}
+	}
+
+	/**
+	 * @param program
+	 *            compiled program
+	 * @param durationMs
+	 *            duration of compiling (or of loading from the cache) the program
+	 * @return the metrics of the compilation phase
+	 */
+	public static PhaseMetrics compilePhase(final Program program, final long durationMs) {
+		return new PhaseMetrics(PhaseMetrics.COMPILE, durationMs).put("tboxAxioms", OntologyToProgram.countTBoxAxioms(program.getCountAxiomsByType()))
+				.put("rules", program.getRules().size()).put("facts", program.getFacts().size())
+				.put("roleConjunctions", program.getActiveRoleConjunctions().getRoleConjunctionNames().size());
+	}
+
+	/**
+	 * @param run
+	 *            if not null, the checkpoint is written to a subfolder of {@link #CHECKPOINT_FOLDER_PROPERTY} with this name.
+	 * @return a checkpoint in the folder given by {@link #CHECKPOINT_FOLDER_PROPERTY}, or null if it is not set.
+	 */
+	public static Checkpoint createCheckpoint(final String run) {
+		final String checkpointFolder = System.getProperty(CHECKPOINT_FOLDER_PROPERTY);
+		if (checkpointFolder == null) {
+			return null;
+		}
+		return new Checkpoint((run == null) ? new File(checkpointFolder) : new File(checkpointFolder, run));
+	}
+
+	/**
+	 * Loads given checkpoint, if {@link #CHECKPOINT_RESUME_PROPERTY} is set.
+	 *
+	 * @param checkpoint
+	 * @return given checkpoint, if it is not null, resuming is requested, and a checkpoint was written to its folder. Otherwise, null.
+	 * @throws IOException
+	 */
+	public static Checkpoint loadCheckpoint(final Checkpoint checkpoint) throws IOException {
+		if (checkpoint == null || !Boolean.getBoolean(CHECKPOINT_RESUME_PROPERTY)) {
+			return null;
+		}
+		if (!checkpoint.load()) {
+			System.out.println("  - No checkpoint in " + checkpoint.getFolder() + ", starting from the beginning");
+			return null;
+		}
+		System.out.println("  - Loaded checkpoint " + checkpoint.getFolder() + " after iteration " + checkpoint.getIteration());
+		return checkpoint;
+	}
+
+	public static void configureCheckpoint(final Materialization materialization, final Checkpoint checkpoint, final Checkpoint resumeFrom) {
+		materialization.setCheckpoint(checkpoint);
+		materialization.setCheckpointInterval(Integer.getInteger(CHECKPOINT_INTERVAL_PROPERTY, 1));
+		final String additions = System.getProperty(CHECKPOINT_ADDITIONS_PROPERTY);
+		if (resumeFrom != null && additions != null) {
+			final File[] additionFiles = new File(additions).listFiles();
+			if (additionFiles == null) {
+				throw new CombinedApproachException("Checkpoint additions folder [" + additions + "] is not a readable folder");
+			}
+			materialization.setResumeFrom(resumeFrom, additionFiles);
+		} else {
+			materialization.setResumeFrom(resumeFrom);
+		}
+	}
+
+	/**
+	 * Splits the ABox assertions from given ontology into the folder given by {@link #ABOX_SPLIT_FOLDER_PROPERTY}, if it is set.
+	 *
+	 * @param ontologyFile
+	 * @return the splitter, whose TBox file is to be compiled, and whose ABox file is to be imported; or null, if the ontology is to be loaded as a whole.
+	 * @throws IOException
+	 */
+	public static AboxSplitter splitOntology(final File ontologyFile) throws IOException {
+		final String splitFolder = System.getProperty(ABOX_SPLIT_FOLDER_PROPERTY);
+		if (splitFolder == null) {
+			return null;
+		}
+		System.out.println("  - Splitting ABox from ontology; Time: " + LocalDate.now() + " " + LocalTime.now());
+		final long startSplit = System.currentTimeMillis();
+		final AboxSplitter aboxSplitter = new AboxSplitter(ontologyFile, new File(splitFolder));
+		if (!aboxSplitter.split()) {
+			System.out.println("    Ontology is not in OWL/XML syntax, loading it as a whole");
+			return null;
+		}
+		System.out.println("    Done splitting; #ABox assertions: " + aboxSplitter.getAssertionCount() + ", #axioms kept in TBox: "
+				+ aboxSplitter.getKeptAxiomCount() + "; splitting duration: " + (System.currentTimeMillis() - startSplit) + " ms");
+		return aboxSplitter;
+	}
+
+	/**
+	 * Compiles the program of given ontology. If {@link #PROGRAM_CACHE_PROPERTY} is set, the program is loaded from the program cache instead, if present,
+	 * and stored in the cache otherwise.
+	 *
+	 * @param ontologyFile
+	 *            Horn-ALCHOIQ OWL ontology with axioms in the normal form as discussed in the paper.
+	 * @return
+	 * @throws OWLOntologyCreationException
+	 * @throws IOException
+	 */
+	public static Program loadProgram(final File ontologyFile) throws OWLOntologyCreationException, IOException {
+		final String cacheFolder = System.getProperty(PROGRAM_CACHE_PROPERTY);
+		final ProgramCache programCache = (cacheFolder == null) ? null : new ProgramCache(new File(cacheFolder));
+		if (programCache != null) {
+			final long startLoad = System.currentTimeMillis();
+			final Program cachedProgram = programCache.load(ontologyFile);
+			if (cachedProgram != null) {
+				System.out.println("  - Loaded program from cache " + programCache.getCacheFile(ontologyFile) + "; loading duration: "
+						+ (System.currentTimeMillis() - startLoad) + " ms");
+				return cachedProgram;
+			}
+		}
+
+		final OWLOntology ontology = Util.loadOntologyWithImports(ontologyFile);
+		final OntologyToProgram ontologyToProgram = new OntologyToProgram(ontology);
+		final Program program = ontologyToProgram.getProgram();
+		if (programCache != null) {
+			if (programCache.store(ontologyFile, ontology, program)) {
+				System.out.println("  - Stored program in cache " + programCache.getCacheFile(ontologyFile));
+			} else {
+				System.out.println("  - Program not cached: the ontology imports documents that are not local files");
+			}
+		}
+		return program;
 	}
 
 }
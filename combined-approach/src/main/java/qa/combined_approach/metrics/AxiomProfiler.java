@@ -0,0 +1,170 @@
+package qa.combined_approach.metrics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Records, per TBox axiom fired during materialisation, the cumulative firing time and query latency, the number of queries and answers, and the number
+ * of rules and unnamed individuals the axiom introduced. A firing is delimited by {@link #start(OWLAxiom, int, int)} and {@link #end(int, int)}; the
+ * queries issued in between are attributed to the fired axiom.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class AxiomProfiler {
+
+	/**
+	 * Cumulative cost of an axiom.
+	 */
+	public static class AxiomProfile {
+		private final OWLAxiom axiom;
+		private int firings;
+		private long firingNanos;
+		private int queries;
+		private long queryNanos;
+		private long answers;
+		private int rules;
+		private int unnamedIndividuals;
+
+		private AxiomProfile(final OWLAxiom axiom) {
+			this.axiom = axiom;
+		}
+
+		public OWLAxiom getAxiom() {
+			return axiom;
+		}
+
+		/**
+		 * @return the number of times the axiom was fired (not skipped as unchanged).
+		 */
+		public int getFirings() {
+			return firings;
+		}
+
+		/**
+		 * @return the total time spent firing the axiom: querying, and generating rules and facts.
+		 */
+		public long getFiringNanos() {
+			return firingNanos;
+		}
+
+		public int getQueries() {
+			return queries;
+		}
+
+		public long getQueryNanos() {
+			return queryNanos;
+		}
+
+		public long getAnswers() {
+			return answers;
+		}
+
+		/**
+		 * @return the number of rules generated, after suppressing rules generated before.
+		 */
+		public int getRules() {
+			return rules;
+		}
+
+		/**
+		 * @return the number of new unnamed individuals created.
+		 */
+		public int getUnnamedIndividuals() {
+			return unnamedIndividuals;
+		}
+	}
+
+	/* axioms are compared by identity: the profiled axioms are the unprocessed axioms of the program */
+	private final Map<OWLAxiom, AxiomProfile> profiles = new IdentityHashMap<>();
+
+	private AxiomProfile current;
+	private long currentStart;
+	private int currentRules;
+	private int currentUnnamedIndividuals;
+
+	/**
+	 * Starts a firing of given axiom.
+	 *
+	 * @param axiom
+	 * @param rules
+	 *            number of rules generated so far
+	 * @param unnamedIndividuals
+	 *            number of unnamed individuals created so far
+	 */
+	public void start(final OWLAxiom axiom, final int rules, final int unnamedIndividuals) {
+		this.current = profiles.computeIfAbsent(axiom, AxiomProfile::new);
+		this.currentRules = rules;
+		this.currentUnnamedIndividuals = unnamedIndividuals;
+		this.currentStart = System.nanoTime();
+	}
+
+	/**
+	 * Records a query of the current firing.
+	 *
+	 * @param nanos
+	 *            query latency
+	 * @param answers
+	 *            number of answers
+	 */
+	public void query(final long nanos, final long answers) {
+		if (current != null) {
+			current.queries++;
+			current.queryNanos += nanos;
+			current.answers += answers;
+		}
+	}
+
+	/**
+	 * Ends the current firing.
+	 *
+	 * @param rules
+	 *            number of rules generated so far
+	 * @param unnamedIndividuals
+	 *            number of unnamed individuals created so far
+	 */
+	public void end(final int rules, final int unnamedIndividuals) {
+		current.firingNanos += System.nanoTime() - currentStart;
+		current.firings++;
+		current.rules += rules - currentRules;
+		current.unnamedIndividuals += unnamedIndividuals - currentUnnamedIndividuals;
+		current = null;
+	}
+
+	/**
+	 * @return the profiles of all fired axioms, most expensive (by total firing time) first.
+	 */
+	public List<AxiomProfile> getProfiles() {
+		final List<AxiomProfile> sorted = new ArrayList<>(profiles.values());
+		sorted.sort(Comparator.comparingLong(AxiomProfile::getFiringNanos).reversed());
+		return sorted;
+	}
+
+	/**
+	 * Prints the given number of most expensive axioms.
+	 *
+	 * @param out
+	 * @param topN
+	 */
+	public void printReport(final PrintStream out, final int topN) {
+		final List<AxiomProfile> sorted = getProfiles();
+		long totalNanos = 0;
+		for (final AxiomProfile profile : sorted) {
+			totalNanos += profile.firingNanos;
+		}
+		out.println(" - Top " + Math.min(topN, sorted.size()) + " of " + sorted.size() + " fired axioms; total firing duration: " + totalNanos / 1_000_000
+				+ " ms");
+		out.println("firing (ms)\tquery (ms)\t#firings\t#queries\t#answers\t#rules\t#unnamedIndiv\taxiom");
+		for (final AxiomProfile profile : sorted.subList(0, Math.min(topN, sorted.size()))) {
+			out.println(String.format("%.3f\t%.3f\t%d\t%d\t%d\t%d\t%d\t%s", profile.firingNanos / 1e6, profile.queryNanos / 1e6, profile.firings,
+					profile.queries, profile.answers, profile.rules, profile.unnamedIndividuals, profile.axiom));
+		}
+	}
+
+}
@@ -0,0 +1,195 @@
+package qa.combined_approach.metrics;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+
+/**
+ * Metrics of an iteration of the materialisation loop: how long firing the untreated axioms, importing the generated rules and facts, and reasoning took;
+ * the query time per axiom type; and how many rules, facts, unnamed individuals and role conjunctions the iteration introduced.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class IterationMetrics {
+
+	/**
+	 * Axiom types whose queries are timed.
+	 */
+	public static final HornAlchoiqAxiomType[] QUERIED_AXIOM_TYPES = { HornAlchoiqAxiomType.EXISTS, HornAlchoiqAxiomType.FOR_ALL_ROLES_FROM_DOMAIN,
+			HornAlchoiqAxiomType.AT_MOST_ONE };
+
+	private final int iteration;
+	private long triplesBefore;
+	private long triplesAfter;
+	private long fireMs;
+	private long importMs;
+	private long reasonMs;
+	private int rules;
+	private int facts;
+	private int newUnnamedIndividuals;
+	private int newRoleConjunctions;
+	private int checkedAxioms;
+	private int skippedAxioms;
+	private final Map<HornAlchoiqAxiomType, Long> queryNanos = new EnumMap<>(HornAlchoiqAxiomType.class);
+	private final Map<HornAlchoiqAxiomType, Integer> queries = new EnumMap<>(HornAlchoiqAxiomType.class);
+
+	public IterationMetrics(final int iteration) {
+		this.iteration = iteration;
+	}
+
+	/**
+	 * Records a query issued for an axiom of given type.
+	 *
+	 * @param axiomType
+	 * @param nanos
+	 *            duration of the query
+	 */
+	public void addQuery(final HornAlchoiqAxiomType axiomType, final long nanos) {
+		queryNanos.merge(axiomType, nanos, Long::sum);
+		queries.merge(axiomType, 1, Integer::sum);
+	}
+
+	public int getIteration() {
+		return iteration;
+	}
+
+	public long getTriplesBefore() {
+		return triplesBefore;
+	}
+
+	public void setTriplesBefore(final long triplesBefore) {
+		this.triplesBefore = triplesBefore;
+	}
+
+	public long getTriplesAfter() {
+		return triplesAfter;
+	}
+
+	public void setTriplesAfter(final long triplesAfter) {
+		this.triplesAfter = triplesAfter;
+	}
+
+	/**
+	 * @return the duration of querying the store and generating the rules and facts of the untreated axioms.
+	 */
+	public long getFireMs() {
+		return fireMs;
+	}
+
+	public void setFireMs(final long fireMs) {
+		this.fireMs = fireMs;
+	}
+
+	public long getImportMs() {
+		return importMs;
+	}
+
+	public void setImportMs(final long importMs) {
+		this.importMs = importMs;
+	}
+
+	public long getReasonMs() {
+		return reasonMs;
+	}
+
+	public void setReasonMs(final long reasonMs) {
+		this.reasonMs = reasonMs;
+	}
+
+	/**
+	 * @return the number of rules imported into the store, after suppressing the rules imported in earlier iterations.
+	 */
+	public int getRules() {
+		return rules;
+	}
+
+	public void setRules(final int rules) {
+		this.rules = rules;
+	}
+
+	public int getFacts() {
+		return facts;
+	}
+
+	public void setFacts(final int facts) {
+		this.facts = facts;
+	}
+
+	public int getNewUnnamedIndividuals() {
+		return newUnnamedIndividuals;
+	}
+
+	public void setNewUnnamedIndividuals(final int newUnnamedIndividuals) {
+		this.newUnnamedIndividuals = newUnnamedIndividuals;
+	}
+
+	public int getNewRoleConjunctions() {
+		return newRoleConjunctions;
+	}
+
+	public void setNewRoleConjunctions(final int newRoleConjunctions) {
+		this.newRoleConjunctions = newRoleConjunctions;
+	}
+
+	public int getCheckedAxioms() {
+		return checkedAxioms;
+	}
+
+	public void setCheckedAxioms(final int checkedAxioms) {
+		this.checkedAxioms = checkedAxioms;
+	}
+
+	public int getSkippedAxioms() {
+		return skippedAxioms;
+	}
+
+	public void setSkippedAxioms(final int skippedAxioms) {
+		this.skippedAxioms = skippedAxioms;
+	}
+
+	/**
+	 * @param axiomType
+	 * @return the total duration, in nanoseconds, of the queries issued for axioms of given type.
+	 */
+	public long getQueryNanos(final HornAlchoiqAxiomType axiomType) {
+		return queryNanos.getOrDefault(axiomType, 0L);
+	}
+
+	/**
+	 * @param axiomType
+	 * @return the number of queries issued for axioms of given type.
+	 */
+	public int getQueries(final HornAlchoiqAxiomType axiomType) {
+		return queries.getOrDefault(axiomType, 0);
+	}
+
+	/**
+	 * @return all metrics of this iteration, with query durations in microseconds.
+	 */
+	public Map<String, Object> toMap() {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		map.put("record", "iteration");
+		map.put("iteration", iteration);
+		map.put("durationMs", fireMs + importMs + reasonMs);
+		map.put("triplesBefore", triplesBefore);
+		map.put("triples", triplesAfter);
+		map.put("fireMs", fireMs);
+		map.put("importMs", importMs);
+		map.put("reasonMs", reasonMs);
+		map.put("rules", rules);
+		map.put("facts", facts);
+		map.put("newUnnamedIndividuals", newUnnamedIndividuals);
+		map.put("newRoleConjunctions", newRoleConjunctions);
+		map.put("checkedAxioms", checkedAxioms);
+		map.put("skippedAxioms", skippedAxioms);
+		for (final HornAlchoiqAxiomType axiomType : QUERIED_AXIOM_TYPES) {
+			map.put("queries." + axiomType, getQueries(axiomType));
+			map.put("queryMicros." + axiomType, getQueryNanos(axiomType) / 1000);
+		}
+		return map;
+	}
+
+}
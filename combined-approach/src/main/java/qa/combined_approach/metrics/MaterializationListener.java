@@ -0,0 +1,18 @@
+package qa.combined_approach.metrics;
+
+/**
+ * Receives the metrics of a materialisation run as they are recorded: one {@link PhaseMetrics} per completed phase (compiling the program, importing,
+ * reasoning, exporting, ...), and one {@link IterationMetrics} per completed iteration of the materialisation loop.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public interface MaterializationListener {
+
+	default void phaseCompleted(final PhaseMetrics phase) {
+	}
+
+	default void iterationCompleted(final IterationMetrics iteration) {
+	}
+
+}
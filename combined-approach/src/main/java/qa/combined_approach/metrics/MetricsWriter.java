@@ -0,0 +1,151 @@
+package qa.combined_approach.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+
+/**
+ * {@link MaterializationListener} writing each record to a file, as soon as it is received: as JSON lines (one JSON object per record), or as CSV (one
+ * row per record, with a fixed header; columns that do not apply to a record are left empty, and phase counters without a column are left out). Each
+ * record is labelled with the current run, e.g. the ABox being materialised.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class MetricsWriter implements MaterializationListener, Closeable {
+
+	public enum Format {
+		JSON_LINES, CSV
+	}
+
+	private static final List<String> CSV_COLUMNS = new ArrayList<>(Arrays.asList("run", "record", "name", "iteration", "durationMs", "triplesBefore",
+			"triples", "fireMs", "importMs", "reasonMs", "rules", "facts", "newUnnamedIndividuals", "newRoleConjunctions", "checkedAxioms",
+			"skippedAxioms", "tboxAxioms", "iterations", "unnamedIndividuals", "roleConjunctions"));
+	static {
+		for (final HornAlchoiqAxiomType axiomType : IterationMetrics.QUERIED_AXIOM_TYPES) {
+			CSV_COLUMNS.add("queries." + axiomType);
+			CSV_COLUMNS.add("queryMicros." + axiomType);
+		}
+	}
+
+	private final Writer writer;
+	private final Format format;
+	private String run = "";
+
+	public MetricsWriter(final Writer writer, final Format format) throws IOException {
+		this.writer = writer;
+		this.format = format;
+		if (format == Format.CSV) {
+			writer.write(String.join(",", CSV_COLUMNS));
+			writer.write('\n');
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Creates a writer to given file, in CSV format if the file name ends with <code>.csv</code>, and in JSON lines format otherwise. The file is
+	 * overwritten.
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static MetricsWriter toFile(final File file) throws IOException {
+		final Format format = file.getName().endsWith(".csv") ? Format.CSV : Format.JSON_LINES;
+		return new MetricsWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)), format);
+	}
+
+	/**
+	 * Sets the label of the records written from now on.
+	 *
+	 * @param run
+	 */
+	public void setRun(final String run) {
+		this.run = run;
+	}
+
+	@Override
+	public void phaseCompleted(final PhaseMetrics phase) {
+		write(phase.toMap());
+	}
+
+	@Override
+	public void iterationCompleted(final IterationMetrics iteration) {
+		write(iteration.toMap());
+	}
+
+	private synchronized void write(final Map<String, Object> record) {
+		try {
+			if (format == Format.CSV) {
+				writeCsv(record);
+			} else {
+				writeJson(record);
+			}
+			writer.write('\n');
+			writer.flush();
+		} catch (final IOException e) {
+			throw new CombinedApproachException("Error while writing metrics: " + e.getMessage());
+		}
+	}
+
+	private void writeJson(final Map<String, Object> record) throws IOException {
+		writer.write("{\"run\":");
+		writer.write(quoteJson(run));
+		for (final Map.Entry<String, Object> entry : record.entrySet()) {
+			writer.write(',');
+			writer.write(quoteJson(entry.getKey()));
+			writer.write(':');
+			final Object value = entry.getValue();
+			writer.write(value instanceof Number ? value.toString() : quoteJson(String.valueOf(value)));
+		}
+		writer.write('}');
+	}
+
+	private void writeCsv(final Map<String, Object> record) throws IOException {
+		for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			final String column = CSV_COLUMNS.get(i);
+			final Object value = "run".equals(column) ? run : record.get(column);
+			if (value instanceof Number) {
+				writer.write(value.toString());
+			} else if (value != null) {
+				writer.write('"' + value.toString().replace("\"", "\"\"") + '"');
+			}
+		}
+	}
+
+	private static String quoteJson(final String value) {
+		final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if (c < ' ') {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+}
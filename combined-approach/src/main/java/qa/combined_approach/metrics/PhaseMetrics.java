@@ -0,0 +1,70 @@
+package qa.combined_approach.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Duration of a phase of a materialisation run, with phase-specific counters, such as the number of rules and facts of the compiled program, or the
+ * number of triples in the store after the phase.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class PhaseMetrics {
+
+	public static final String COMPILE = "compile";
+	public static final String WRITE = "write";
+	public static final String IMPORT = "import";
+	public static final String REASON = "reason";
+	public static final String MATERIALIZATION = "materialization";
+	public static final String EXPORT = "export";
+
+	private final String name;
+	private final long durationMs;
+	private final Map<String, Long> counters = new LinkedHashMap<>();
+
+	public PhaseMetrics(final String name, final long durationMs) {
+		this.name = name;
+		this.durationMs = durationMs;
+	}
+
+	/**
+	 * Sets a counter of this phase.
+	 *
+	 * @param counter
+	 * @param value
+	 * @return this
+	 */
+	public PhaseMetrics put(final String counter, final long value) {
+		this.counters.put(counter, value);
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getDurationMs() {
+		return durationMs;
+	}
+
+	/**
+	 * @return the counters of this phase, in insertion order.
+	 */
+	public Map<String, Long> getCounters() {
+		return counters;
+	}
+
+	/**
+	 * @return the name, duration and counters of this phase, in this order.
+	 */
+	public Map<String, Object> toMap() {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		map.put("record", "phase");
+		map.put("name", name);
+		map.put("durationMs", durationMs);
+		map.putAll(counters);
+		return map;
+	}
+
+}
@@ -0,0 +1,106 @@
+package qa.combined_approach.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Query;
+
+/**
+ * Conjunctive query answered by a {@link QueryAnswerer}. Unlike {@link Query}, whose predicates and terms are encoded by the global
+ * {@link qa.combined_approach.rules.Dictionary} for good, its names are kept as strings, so that the queries of clients, e.g. of a {@link QueryServer},
+ * do not grow the dictionary.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ConjunctiveQuery {
+
+	private final String[] answerVariables;
+	private final List<QueryAtom> body;
+	private String filter = "";
+
+	/**
+	 *
+	 * @param answerVariables
+	 *            (some of) the variables of the body
+	 * @param body
+	 */
+	public ConjunctiveQuery(final String[] answerVariables, final List<QueryAtom> body) {
+		this.answerVariables = answerVariables;
+		this.body = Collections.unmodifiableList(new ArrayList<>(body));
+	}
+
+	/**
+	 * @param query
+	 * @return a conjunctive query with the (decoded) answer variables, body and filter of given query
+	 */
+	public static ConjunctiveQuery of(final Query query) {
+		final List<QueryAtom> body = new ArrayList<>();
+		for (final Atom atom : query.getBody()) {
+			body.add(QueryAtom.of(atom));
+		}
+		final ConjunctiveQuery conjunctiveQuery = new ConjunctiveQuery(query.getQuerryVariables(), body);
+		conjunctiveQuery.setFilter(query.getFilter());
+		return conjunctiveQuery;
+	}
+
+	public String[] getAnswerVariables() {
+		return this.answerVariables.clone();
+	}
+
+	public List<QueryAtom> getBody() {
+		return this.body;
+	}
+
+	/**
+	 * @return the answer variables, followed by the other variables of the body, in order of appearance.
+	 */
+	public String[] getVariables() {
+		final Set<String> variables = new LinkedHashSet<>(Arrays.asList(this.answerVariables));
+		for (final QueryAtom atom : this.body) {
+			for (final String arg : atom.getArgs()) {
+				if (Filtration.isVariable(arg)) {
+					variables.add(arg);
+				}
+			}
+		}
+		return variables.toArray(new String[variables.size()]);
+	}
+
+	public String getFilter() {
+		return this.filter;
+	}
+
+	/**
+	 * Sets a SPARQL filter, e.g. a <code>FILTER NOT EXISTS</code> group, added to the basic graph pattern of the body.
+	 *
+	 * @param filter
+	 */
+	public void setFilter(final String filter) {
+		this.filter = filter;
+	}
+
+	public String toSPARQLQuery() {
+		final StringBuilder sparqlQuery = new StringBuilder("SELECT DISTINCT ");
+		for (final String answerVariable : this.answerVariables) {
+			sparqlQuery.append(answerVariable).append(' ');
+		}
+		sparqlQuery.append("WHERE {\n");
+		for (final QueryAtom atom : this.body) {
+			sparqlQuery.append(atom.toTurtleAtom()).append('\n');
+		}
+		sparqlQuery.append(this.filter).append("\n}");
+		return sparqlQuery.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toSPARQLQuery();
+	}
+
+}
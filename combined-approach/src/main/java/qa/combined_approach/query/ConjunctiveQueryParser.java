@@ -0,0 +1,109 @@
+package qa.combined_approach.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.CombinedApproachException;
+
+/**
+ * Parses conjunctive queries written as SPARQL SELECT queries over a basic graph pattern:
+ *
+ * <pre>
+ * SELECT ?x ?y WHERE { ?x &lt;http://example.org/r&gt; ?z . ?z a &lt;http://example.org/A&gt; . ?y &lt;http://example.org/s&gt; ?z }
+ * </pre>
+ *
+ * Terms are variables and full IRIs. Triple patterns with predicate <code>a</code> or <code>rdf:type</code> are class atoms; other triple patterns are role
+ * atoms. The names are not encoded by the {@link qa.combined_approach.rules.Dictionary}, so that client queries do not grow it.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class ConjunctiveQueryParser {
+
+	private static final Pattern SELECT_QUERY = Pattern.compile("(?is)\\s*SELECT\\s+(?:DISTINCT\\s+)?(.*?)\\s*WHERE\\s*\\{(.*)\\}\\s*");
+	private static final Pattern TOKEN = Pattern.compile("<[^<>\\s]*>|\\?\\w+|\\.|[^\\s.]+");
+	private static final String RDF_TYPE = "<" + OWLRDFVocabulary.RDF_TYPE.getIRI() + ">";
+
+	private ConjunctiveQueryParser() {
+	}
+
+	/**
+	 *
+	 * @param sparqlQuery
+	 * @return the conjunctive query, with the selected variables as answer variables
+	 */
+	public static ConjunctiveQuery parse(final String sparqlQuery) {
+		final Matcher selectQuery = SELECT_QUERY.matcher(sparqlQuery);
+		if (!selectQuery.matches()) {
+			throw new CombinedApproachException("Not a SELECT query over a basic graph pattern: " + sparqlQuery);
+		}
+		final List<String> answerVariables = new ArrayList<>();
+		for (final String answerVariable : tokens(selectQuery.group(1))) {
+			if (!Filtration.isVariable(answerVariable)) {
+				throw new CombinedApproachException("Not an answer variable: " + answerVariable);
+			}
+			answerVariables.add(answerVariable);
+		}
+
+		final List<QueryAtom> body = new ArrayList<>();
+		final List<String> triplePattern = new ArrayList<>(3);
+		final List<String> tokens = tokens(selectQuery.group(2));
+		tokens.add(".");
+		for (final String token : tokens) {
+			if (!".".equals(token)) {
+				checkTerm(token);
+				triplePattern.add(token);
+			} else if (!triplePattern.isEmpty()) {
+				body.add(toAtom(triplePattern));
+				triplePattern.clear();
+			}
+		}
+		if (body.isEmpty()) {
+			throw new CombinedApproachException("Empty basic graph pattern: " + sparqlQuery);
+		}
+		return new ConjunctiveQuery(answerVariables.toArray(new String[answerVariables.size()]), body);
+	}
+
+	private static List<String> tokens(final String text) {
+		final List<String> tokens = new ArrayList<>();
+		final Matcher token = TOKEN.matcher(text);
+		while (token.find()) {
+			tokens.add(token.group());
+		}
+		return tokens;
+	}
+
+	private static void checkTerm(final String token) {
+		if (!Filtration.isVariable(token) && !(token.startsWith("<") && token.endsWith(">")) && !"a".equals(token)) {
+			throw new CombinedApproachException("Unsupported term: " + token + ". Terms must be variables or full IRIs.");
+		}
+	}
+
+	private static QueryAtom toAtom(final List<String> triplePattern) {
+		if (triplePattern.size() != 3) {
+			throw new CombinedApproachException("Not a triple pattern: " + String.join(" ", triplePattern));
+		}
+		final String subject = triplePattern.get(0);
+		final String predicate = triplePattern.get(1);
+		final String object = triplePattern.get(2);
+		if ("a".equals(subject) || "a".equals(object) || Filtration.isVariable(predicate)) {
+			throw new CombinedApproachException("Unsupported triple pattern: " + String.join(" ", triplePattern));
+		}
+		if ("a".equals(predicate) || RDF_TYPE.equals(predicate)) {
+			if (Filtration.isVariable(object)) {
+				throw new CombinedApproachException("Unsupported triple pattern with variable class: " + String.join(" ", triplePattern));
+			}
+			return new QueryAtom(iri(object), subject);
+		}
+		return new QueryAtom(iri(predicate), subject, object);
+	}
+
+	private static String iri(final String term) {
+		return term.substring(1, term.length() - 1);
+	}
+
+}
@@ -0,0 +1,179 @@
+package qa.combined_approach.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides whether a match of a conjunctive query over the materialisation is spurious. The materialisation represents all anonymous elements of a class
+ * conjunction by a single unnamed individual <code>&lt;Unnamed_n&gt;</code>, so that a match may merge anonymous elements that are distinct in the
+ * (tree-shaped) models of the ontology. A match is spurious if
+ * <ul>
+ * <li>(fork) two role atoms that connect terms <code>s</code> and <code>s'</code> to terms mapped to the same anonymous element require <code>s</code>
+ * and <code>s'</code> to be the same element (an anonymous element has a single predecessor), but they are mapped to different individuals, or</li>
+ * <li>(cycle) the role atoms that connect terms to anonymous elements form a cycle.</li>
+ * </ul>
+ * Each role atom is followed towards the term mapped to an unnamed individual, whichever of its subject and object it is, since a role and its
+ * inverse connect an anonymous element to its predecessor alike. A role atom between two unnamed individuals is followed from its subject to its
+ * object, the direction the materialisation introduces unnamed individuals in. Instances are immutable and can be shared by threads.
+ *
+ * @author Irina Dragoste
+ *
+ */
+class Filtration {
+
+	private static final String UNNAMED_INDIVIDUAL_PREFIX = "<Unnamed_";
+
+	/* index of each term of the query */
+	private final Map<String, Integer> terms = new LinkedHashMap<>();
+	/* for each term, its value in all matches if it is a constant, and null if it is a variable */
+	private final String[] constants;
+	/* for each role atom, the indices of its subject and object */
+	private final int[] subjects;
+	private final int[] objects;
+
+	/**
+	 *
+	 * @param matchVariables
+	 *            the variables of the query, in the order of the terms of the matches
+	 * @param query
+	 */
+	Filtration(final String[] matchVariables, final ConjunctiveQuery query) {
+		for (final String variable : matchVariables) {
+			this.terms.putIfAbsent(variable, this.terms.size());
+		}
+		final List<QueryAtom> roleAtoms = new ArrayList<>();
+		for (final QueryAtom atom : query.getBody()) {
+			for (final String arg : atom.getArgs()) {
+				this.terms.putIfAbsent(arg, this.terms.size());
+			}
+			if (!atom.isUnary()) {
+				roleAtoms.add(atom);
+			}
+		}
+		this.constants = new String[this.terms.size()];
+		for (final Map.Entry<String, Integer> term : this.terms.entrySet()) {
+			if (!isVariable(term.getKey())) {
+				this.constants[term.getValue()] = term.getKey();
+			}
+		}
+		this.subjects = new int[roleAtoms.size()];
+		this.objects = new int[roleAtoms.size()];
+		for (int i = 0; i < roleAtoms.size(); i++) {
+			this.subjects[i] = this.terms.get(roleAtoms.get(i).getArg(0));
+			this.objects[i] = this.terms.get(roleAtoms.get(i).getArg(1));
+		}
+	}
+
+	static boolean isVariable(final String term) {
+		return term.startsWith("?");
+	}
+
+	static boolean isUnnamed(final String individual) {
+		return individual.startsWith(UNNAMED_INDIVIDUAL_PREFIX);
+	}
+
+	/**
+	 *
+	 * @param match
+	 *            values of the match variables
+	 * @return true, if given match does not correspond to a match in the models of the ontology.
+	 */
+	boolean isSpurious(final String[] match) {
+		final String[] values = Arrays.copyOf(match, this.constants.length);
+		for (int i = 0; i < values.length; i++) {
+			if (this.constants[i] != null) {
+				values[i] = this.constants[i];
+			}
+		}
+		/* for each role atom, the edge towards its anonymous element, if any */
+		final int[] predecessors = new int[this.subjects.length];
+		final int[] anonymous = new int[this.subjects.length];
+		boolean unnamedTerm = false;
+		for (int i = 0; i < this.subjects.length; i++) {
+			if (isUnnamed(values[this.objects[i]])) {
+				predecessors[i] = this.subjects[i];
+				anonymous[i] = this.objects[i];
+			} else if (isUnnamed(values[this.subjects[i]])) {
+				predecessors[i] = this.objects[i];
+				anonymous[i] = this.subjects[i];
+			} else {
+				anonymous[i] = -1;
+				continue;
+			}
+			unnamedTerm = true;
+		}
+		if (!unnamedTerm) {
+			return false;
+		}
+
+		/* fork: equivalence of the terms that must be mapped to the same element */
+		final int[] parents = new int[values.length];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < anonymous.length; i++) {
+				if (anonymous[i] < 0) {
+					continue;
+				}
+				for (int j = i + 1; j < anonymous.length; j++) {
+					if (anonymous[j] >= 0 && find(parents, anonymous[i]) == find(parents, anonymous[j])) {
+						final int predecessor = find(parents, predecessors[i]);
+						final int otherPredecessor = find(parents, predecessors[j]);
+						if (predecessor != otherPredecessor) {
+							if (!values[predecessor].equals(values[otherPredecessor])) {
+								return true;
+							}
+							parents[otherPredecessor] = predecessor;
+							changed = true;
+						}
+					}
+				}
+			}
+		}
+
+		/* cycle: the edges towards anonymous elements must form a forest */
+		final List<List<Integer>> successors = new ArrayList<>();
+		for (int i = 0; i < values.length; i++) {
+			successors.add(new ArrayList<>());
+		}
+		for (int i = 0; i < anonymous.length; i++) {
+			if (anonymous[i] >= 0) {
+				successors.get(find(parents, predecessors[i])).add(find(parents, anonymous[i]));
+			}
+		}
+		final byte[] visited = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			if (visited[i] == 0 && hasCycle(i, successors, visited)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int find(final int[] parents, final int term) {
+		int root = term;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		return root;
+	}
+
+	/* visited: 0 = not visited, 1 = on the current path, 2 = done */
+	private static boolean hasCycle(final int term, final List<List<Integer>> successors, final byte[] visited) {
+		visited[term] = 1;
+		for (final int successor : successors.get(term)) {
+			if (visited[successor] == 1 || (visited[successor] == 0 && hasCycle(successor, successors, visited))) {
+				return true;
+			}
+		}
+		visited[term] = 2;
+		return false;
+	}
+
+}
@@ -0,0 +1,310 @@
+package qa.combined_approach.query;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.Util;
+import qa.combined_approach.dataStore.AnswerHandler;
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.rules.Query;
+
+/**
+ * Answers conjunctive queries over a materialised data store: the second stage of the combined approach. The matches of the query over the
+ * materialisation are streamed from the store, and the spurious ones are filtered out with a {@link Filtration} as they arrive:
+ * <ul>
+ * <li>each role atom <code>r(s, t)</code> also matches the facts <code>INV_r(t, s)</code> of the inverse role, by rewriting the query to a union,</li>
+ * <li>answer variables are restricted to named individuals in the query evaluated by the store,</li>
+ * <li>queries without non-answer variables have no spurious matches, and are answered by the store directly if they have a single rewriting,</li>
+ * <li>matches of answers already accepted are skipped without filtration,</li>
+ * <li>with several threads, matches are filtered in parallel, in batches, while the store computes the next ones.</li>
+ * </ul>
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class QueryAnswerer {
+
+	private final DataStoreInterface dataStore;
+
+	private int threads = 1;
+	private int batchSize = 1024;
+
+	private final AtomicLong matchCount = new AtomicLong();
+	private final AtomicLong spuriousCount = new AtomicLong();
+
+	public QueryAnswerer(final DataStoreInterface dataStore) {
+		this.dataStore = dataStore;
+	}
+
+	/**
+	 * Collects the certain answers to given query. See {@link #answer(ConjunctiveQuery, AnswerHandler)}.
+	 *
+	 * @param query
+	 * @return the answers, as tuples of terms in the order of the answer variables of the query
+	 * @throws IOException
+	 */
+	public Set<List<String>> answer(final Query query) throws IOException {
+		final Set<List<String>> answers = new HashSet<>();
+		answer(ConjunctiveQuery.of(query), tuple -> answers.add(Arrays.asList(tuple.clone())));
+		return answers;
+	}
+
+	/**
+	 * Streams the distinct certain answers to given query to given handler. See {@link #answer(ConjunctiveQuery, AnswerHandler)}.
+	 *
+	 * @param query
+	 * @param handler
+	 * @return the number of answers
+	 * @throws IOException
+	 *             if thrown by the handler
+	 */
+	public long answer(final Query query, final AnswerHandler handler) throws IOException {
+		return answer(ConjunctiveQuery.of(query), handler);
+	}
+
+	/**
+	 * Streams the distinct certain answers to given query to given handler. With several threads, the handler is called by the filtering threads, one call
+	 * at a time.
+	 *
+	 * @param query
+	 *            conjunctive query whose answer variables are (some of) the variables of its body
+	 * @param handler
+	 * @return the number of answers
+	 * @throws IOException
+	 *             if thrown by the handler
+	 */
+	public long answer(final ConjunctiveQuery query, final AnswerHandler handler) throws IOException {
+		this.matchCount.set(0);
+		this.spuriousCount.set(0);
+		final String[] answerVariables = query.getAnswerVariables();
+		final String[] matchVariables = query.getVariables();
+		final List<ConjunctiveQuery> rewritings = rewriteInverseRoles(query);
+
+		if (rewritings.size() == 1 && matchVariables.length == answerVariables.length) {
+			/* all terms are named individuals */
+			final long answers = this.dataStore.forEachAnswer(toMatchQuery(rewritings.get(0), matchVariables).toSPARQLQuery(), handler);
+			this.matchCount.set(answers);
+			return answers;
+		}
+
+		final Set<List<String>> accepted = ConcurrentHashMap.newKeySet();
+		for (final ConjunctiveQuery rewriting : rewritings) {
+			final Filtration filtration = new Filtration(matchVariables, rewriting);
+			final MatchFilter matchFilter = new MatchFilter(filtration, answerVariables.length, accepted, handler);
+			final ConjunctiveQuery matchQuery = toMatchQuery(rewriting, matchVariables);
+			if (this.threads <= 1) {
+				this.dataStore.forEachAnswer(matchQuery.toSPARQLQuery(), matchFilter::filter);
+			} else {
+				filterInParallel(matchQuery, matchFilter);
+			}
+		}
+		return accepted.size();
+	}
+
+	/**
+	 * The materialisation has the facts of a role <code>r</code> in the direction the role occurs in the TBox: as <code>r</code> facts, as
+	 * <code>INV_r</code> facts, or both. A role atom <code>r(s, t)</code> of the query is thus matched both by <code>r(s, t)</code> and by
+	 * <code>INV_r(t, s)</code>. Each role atom is rewritten to those of the two atoms whose predicate has facts in the store, and the query to the
+	 * union of the queries of all their combinations.
+	 *
+	 * @param query
+	 * @return the queries whose answers are the answers to given query
+	 */
+	private List<ConjunctiveQuery> rewriteInverseRoles(final ConjunctiveQuery query) {
+		final Map<String, Boolean> hasFacts = new HashMap<>();
+		final Function<String, Boolean> askFacts = predicate -> this.dataStore.answerASKQuery("ASK { ?x <" + predicate + "> ?y }");
+		List<List<QueryAtom>> bodies = Collections.singletonList(Collections.emptyList());
+		for (final QueryAtom atom : query.getBody()) {
+			final List<QueryAtom> alternatives = new ArrayList<>();
+			if (atom.isUnary() || hasFacts.computeIfAbsent(atom.getPredicate(), askFacts)) {
+				alternatives.add(atom);
+			}
+			if (!atom.isUnary() && hasFacts.computeIfAbsent(atom.inverse().getPredicate(), askFacts)) {
+				alternatives.add(atom.inverse());
+			}
+			if (alternatives.isEmpty()) {
+				/* the query has no matches */
+				alternatives.add(atom);
+			}
+			final List<List<QueryAtom>> extendedBodies = new ArrayList<>();
+			for (final List<QueryAtom> body : bodies) {
+				for (final QueryAtom alternative : alternatives) {
+					final List<QueryAtom> extendedBody = new ArrayList<>(body);
+					extendedBody.add(alternative);
+					extendedBodies.add(extendedBody);
+				}
+			}
+			bodies = extendedBodies;
+		}
+		final List<ConjunctiveQuery> rewritings = new ArrayList<>();
+		for (final List<QueryAtom> body : bodies) {
+			final ConjunctiveQuery rewriting = new ConjunctiveQuery(query.getAnswerVariables(), body);
+			rewriting.setFilter(query.getFilter());
+			rewritings.add(rewriting);
+		}
+		return rewritings;
+	}
+
+	/* the query evaluated by the store: the answer variables are restricted to named individuals, and all variables are returned */
+	private static ConjunctiveQuery toMatchQuery(final ConjunctiveQuery query, final String[] matchVariables) {
+		final List<QueryAtom> matchBody = new ArrayList<>();
+		for (final String answerVariable : query.getAnswerVariables()) {
+			matchBody.add(new QueryAtom(Util.NAMED_PRED, answerVariable));
+		}
+		matchBody.addAll(query.getBody());
+		final ConjunctiveQuery matchQuery = new ConjunctiveQuery(matchVariables, matchBody);
+		matchQuery.setFilter(query.getFilter());
+		return matchQuery;
+	}
+
+	private void filterInParallel(final ConjunctiveQuery matchQuery, final MatchFilter matchFilter) throws IOException {
+		final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		/* bounds the number of batches waiting to be filtered, and thus the memory used */
+		final Semaphore inFlightBatches = new Semaphore(2 * this.threads);
+		final List<Future<?>> filteredBatches = new ArrayList<>();
+		try {
+			final AtomicReference<List<String[]>> batch = new AtomicReference<>(new ArrayList<>(this.batchSize));
+			this.dataStore.forEachAnswer(matchQuery.toSPARQLQuery(), tuple -> {
+				batch.get().add(tuple.clone());
+				if (batch.get().size() >= this.batchSize) {
+					filteredBatches.add(submitBatch(executor, inFlightBatches, batch.get(), matchFilter));
+					batch.set(new ArrayList<>(this.batchSize));
+				}
+			});
+			if (!batch.get().isEmpty()) {
+				filteredBatches.add(submitBatch(executor, inFlightBatches, batch.get(), matchFilter));
+			}
+			for (final Future<?> filteredBatch : filteredBatches) {
+				filteredBatch.get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while answering query");
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new CombinedApproachException("Error while answering query: " + e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Future<?> submitBatch(final ExecutorService executor, final Semaphore inFlightBatches, final List<String[]> matches,
+			final MatchFilter matchFilter) throws IOException {
+		try {
+			inFlightBatches.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while answering query");
+		}
+		return executor.submit(() -> {
+			try {
+				for (final String[] match : matches) {
+					matchFilter.filter(match);
+				}
+			} finally {
+				inFlightBatches.release();
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Filters the matches of a query, and hands the answers of the non-spurious ones to the handler, once each.
+	 */
+	private class MatchFilter {
+
+		private final Filtration filtration;
+		private final int answerArity;
+		private final Set<List<String>> accepted;
+		private final AnswerHandler handler;
+
+		MatchFilter(final Filtration filtration, final int answerArity, final Set<List<String>> accepted, final AnswerHandler handler) {
+			this.filtration = filtration;
+			this.answerArity = answerArity;
+			this.accepted = accepted;
+			this.handler = handler;
+		}
+
+		void filter(final String[] match) throws IOException {
+			QueryAnswerer.this.matchCount.incrementAndGet();
+			final String[] answer = Arrays.copyOf(match, this.answerArity);
+			final List<String> answerTuple = Arrays.asList(answer);
+			if (this.accepted.contains(answerTuple)) {
+				return;
+			}
+			if (this.filtration.isSpurious(match)) {
+				QueryAnswerer.this.spuriousCount.incrementAndGet();
+				return;
+			}
+			if (this.accepted.add(answerTuple)) {
+				synchronized (this.handler) {
+					this.handler.answer(answer);
+				}
+			}
+		}
+	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * Sets the number of threads filtering the matches of a query. Default value is 1 (matches are filtered as they are streamed from the store).
+	 *
+	 * @param threads
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Sets the number of matches filtered by a thread at once, when filtering with several threads. Default value is 1024.
+	 *
+	 * @param batchSize
+	 */
+	public void setBatchSize(final int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @return the number of matches of the last answered query over the materialisation
+	 */
+	public long getMatchCount() {
+		return this.matchCount.get();
+	}
+
+	/**
+	 * @return the number of spurious matches filtered out while answering the last query
+	 */
+	public long getSpuriousCount() {
+		return this.spuriousCount.get();
+	}
+
+}
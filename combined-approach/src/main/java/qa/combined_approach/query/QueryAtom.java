@@ -0,0 +1,81 @@
+package qa.combined_approach.query;
+
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Converter;
+
+/**
+ * Atom of a {@link ConjunctiveQuery}: a unary (class) or binary (role) atom over a predicate IRI, and variables or full IRIs as terms. Unlike
+ * {@link Atom}, its names are kept as strings, and are not encoded by the {@link qa.combined_approach.rules.Dictionary}.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class QueryAtom {
+
+	private static final String RDF_TYPE = " <" + OWLRDFVocabulary.RDF_TYPE + "> <";
+
+	private final String predicate;
+	private final String[] args;
+
+	/**
+	 *
+	 * @param predicate
+	 *            IRI of the predicate, without angle brackets
+	 * @param args
+	 *            variables, or full IRIs in angle brackets
+	 */
+	public QueryAtom(final String predicate, final String... args) {
+		this.predicate = predicate;
+		this.args = args;
+	}
+
+	/**
+	 * @param atom
+	 * @return a query atom with the (decoded) predicate and terms of given atom
+	 */
+	public static QueryAtom of(final Atom atom) {
+		return new QueryAtom(atom.getPredicate(), atom.getArgs());
+	}
+
+	public boolean isUnary() {
+		return this.args.length == 1;
+	}
+
+	public String getPredicate() {
+		return this.predicate;
+	}
+
+	public String getArg(final int i) {
+		return this.args[i];
+	}
+
+	public String[] getArgs() {
+		return this.args.clone();
+	}
+
+	/**
+	 * @return the equivalent role atom over the inverse role: <code>INV_r(t, s)</code> for <code>r(s, t)</code>, and <code>r(t, s)</code> for
+	 *         <code>INV_r(s, t)</code>
+	 */
+	public QueryAtom inverse() {
+		final String inversePredicate = this.predicate.startsWith(Converter.INVERSE_ROLE_PREFIX)
+				? this.predicate.substring(Converter.INVERSE_ROLE_PREFIX.length())
+				: Converter.INVERSE_ROLE_PREFIX + this.predicate;
+		return new QueryAtom(inversePredicate, this.args[1], this.args[0]);
+	}
+
+	public String toTurtleAtom() {
+		if (isUnary()) {
+			return this.args[0] + RDF_TYPE + this.predicate + "> .";
+		}
+		return this.args[0] + " <" + this.predicate + "> " + this.args[1] + " .";
+	}
+
+	@Override
+	public String toString() {
+		return toTurtleAtom();
+	}
+
+}
@@ -0,0 +1,217 @@
+package qa.combined_approach.query;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import qa.combined_approach.CombinedApproachException;
+import qa.combined_approach.dataStore.DataStoreInterface;
+
+/**
+ * HTTP endpoint answering conjunctive queries over a materialised data store, which stays resident between queries. Queries are SPARQL SELECT queries over
+ * a basic graph pattern (see {@link ConjunctiveQueryParser}), sent to <code>/query</code> either as the <code>query</code> parameter of a GET request, or
+ * as the body of a POST request. Answers are returned as SPARQL tab-separated values. <br>
+ * Queries are answered concurrently by a bounded pool of workers, and the answers to recent queries are cached. The store must not change while queries
+ * are answered, and {@link #clearAnswerCache()} must be called after it changed.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class QueryServer implements AutoCloseable {
+
+	public static final String QUERY_PATH = "/query";
+
+	private static final String QUERY_PARAMETER = "query=";
+	private static final String CONTENT_TYPE = "text/tab-separated-values; charset=utf-8";
+
+	private final DataStoreInterface dataStore;
+	private final QueryServerConfiguration configuration;
+	private final HttpServer httpServer;
+	private final ThreadPoolExecutor workers;
+	/* answers of recent queries, by query text; null if answers are not cached */
+	private final LinkedHashMap<String, byte[]> answerCache;
+
+	private final AtomicLong queryCount = new AtomicLong();
+	private final AtomicLong cacheHits = new AtomicLong();
+
+	/**
+	 *
+	 * @param dataStore
+	 *            materialised store
+	 * @param configuration
+	 * @throws IOException
+	 *             if the port cannot be bound
+	 */
+	public QueryServer(final DataStoreInterface dataStore, final QueryServerConfiguration configuration) throws IOException {
+		this.dataStore = dataStore;
+		this.configuration = configuration;
+		/* when all workers are busy and the queue is full, the thread accepting connections answers the request itself */
+		this.workers = new ThreadPoolExecutor(configuration.getThreads(), configuration.getThreads(), 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(configuration.getQueueCapacity()), new ThreadPoolExecutor.CallerRunsPolicy());
+		if (configuration.getAnswerCacheSize() > 0) {
+			/* access order: the eldest entry is the least recently used one */
+			this.answerCache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+					return size() > configuration.getAnswerCacheSize();
+				}
+			};
+		} else {
+			this.answerCache = null;
+		}
+		this.httpServer = HttpServer.create(new InetSocketAddress(configuration.getPort()), 0);
+		this.httpServer.createContext(QUERY_PATH, this::handle);
+		this.httpServer.setExecutor(this.workers);
+	}
+
+	public void start() {
+		this.httpServer.start();
+	}
+
+	/**
+	 * Stops the server. The data store is not disposed.
+	 */
+	@Override
+	public void close() {
+		this.httpServer.stop(0);
+		this.workers.shutdownNow();
+	}
+
+	/**
+	 * @return the port the server listens to
+	 */
+	public int getPort() {
+		return this.httpServer.getAddress().getPort();
+	}
+
+	/**
+	 * Must be called after the data store was changed, e.g. by {@link qa.combined_approach.Materialization#update(java.io.File...)}.
+	 */
+	public void clearAnswerCache() {
+		if (this.answerCache != null) {
+			synchronized (this.answerCache) {
+				this.answerCache.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of queries answered so far
+	 */
+	public long getQueryCount() {
+		return this.queryCount.get();
+	}
+
+	/**
+	 * @return the number of queries answered from the answer cache so far
+	 */
+	public long getCacheHits() {
+		return this.cacheHits.get();
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			final String queryText = readQuery(exchange);
+			if (queryText == null || queryText.trim().isEmpty()) {
+				respond(exchange, 400, "Missing query\n".getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			respond(exchange, 200, answer(queryText.trim()));
+		} catch (final CombinedApproachException e) {
+			respond(exchange, 400, (e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+		} catch (final RuntimeException e) {
+			respond(exchange, 500, (e + "\n").getBytes(StandardCharsets.UTF_8));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * @return the answers to given query, as tab-separated values
+	 */
+	private byte[] answer(final String queryText) throws IOException {
+		this.queryCount.incrementAndGet();
+		if (this.answerCache != null) {
+			synchronized (this.answerCache) {
+				final byte[] cachedAnswers = this.answerCache.get(queryText);
+				if (cachedAnswers != null) {
+					this.cacheHits.incrementAndGet();
+					return cachedAnswers;
+				}
+			}
+		}
+
+		final ConjunctiveQuery query = ConjunctiveQueryParser.parse(queryText);
+		final StringBuilder answers = new StringBuilder();
+		answers.append(String.join("\t", query.getAnswerVariables())).append('\n');
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(this.dataStore);
+		queryAnswerer.setThreads(this.configuration.getFilterThreads());
+		final long answerCount = queryAnswerer.answer(query, tuple -> answers.append(String.join("\t", tuple)).append('\n'));
+		final byte[] encodedAnswers = answers.toString().getBytes(StandardCharsets.UTF_8);
+
+		if (this.answerCache != null && answerCount <= this.configuration.getMaxCachedAnswers()) {
+			synchronized (this.answerCache) {
+				this.answerCache.put(queryText, encodedAnswers);
+			}
+		}
+		return encodedAnswers;
+	}
+
+	private static String readQuery(final HttpExchange exchange) throws IOException {
+		if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+			final String body = new String(readFully(exchange.getRequestBody()), StandardCharsets.UTF_8);
+			final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+				return queryParameter(body);
+			}
+			return body;
+		}
+		return queryParameter(exchange.getRequestURI().getRawQuery());
+	}
+
+	private static String queryParameter(final String parameters) throws UnsupportedEncodingException {
+		if (parameters == null) {
+			return null;
+		}
+		for (final String parameter : parameters.split("&")) {
+			if (parameter.startsWith(QUERY_PARAMETER)) {
+				return URLDecoder.decode(parameter.substring(QUERY_PARAMETER.length()), "UTF-8");
+			}
+		}
+		return null;
+	}
+
+	private static byte[] readFully(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+			bytes.write(buffer, 0, read);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", status == 200 ? CONTENT_TYPE : "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(body);
+		}
+	}
+
+}
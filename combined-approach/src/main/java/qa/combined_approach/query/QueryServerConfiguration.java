@@ -0,0 +1,98 @@
+package qa.combined_approach.query;
+
+/**
+ * Configuration for {@link QueryServer}. Enables us to configure the endpoint, the number of queries answered concurrently, and the answer cache.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public class QueryServerConfiguration {
+
+	private int port = 8080;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int queueCapacity = 256;
+	private int answerCacheSize = 1024;
+	private int maxCachedAnswers = 10000;
+	private int filterThreads = 1;
+
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * Sets the port of the HTTP endpoint. If 0, an ephemeral port is chosen. Default value is 8080.
+	 *
+	 * @param port
+	 */
+	public void setPort(final int port) {
+		this.port = port;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of queries answered concurrently. Default value is the number of available processors.
+	 *
+	 * @param threads
+	 */
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Sets the number of requests waiting for a free worker. When the queue is full, requests are answered by the thread accepting connections, which
+	 * stops accepting new ones meanwhile. Default value is 256.
+	 *
+	 * @param queueCapacity
+	 */
+	public void setQueueCapacity(final int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getAnswerCacheSize() {
+		return answerCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of queries whose answers are cached, with least-recently-used eviction. If 0, answers are not cached. Default value is
+	 * 1024.
+	 *
+	 * @param answerCacheSize
+	 */
+	public void setAnswerCacheSize(final int answerCacheSize) {
+		this.answerCacheSize = answerCacheSize;
+	}
+
+	public int getMaxCachedAnswers() {
+		return maxCachedAnswers;
+	}
+
+	/**
+	 * Sets the maximum number of answers of a query for them to be cached, which bounds the memory used by the answer cache. Default value is 10000.
+	 *
+	 * @param maxCachedAnswers
+	 */
+	public void setMaxCachedAnswers(final int maxCachedAnswers) {
+		this.maxCachedAnswers = maxCachedAnswers;
+	}
+
+	public int getFilterThreads() {
+		return filterThreads;
+	}
+
+	/**
+	 * Sets the number of threads filtering the matches of each query. See {@link QueryAnswerer#setThreads(int)}. Default value is 1.
+	 *
+	 * @param filterThreads
+	 */
+	public void setFilterThreads(final int filterThreads) {
+		this.filterThreads = filterThreads;
+	}
+
+}
@@ -1,13 +1,35 @@
 package qa.combined_approach.rules;
 
+import java.util.Arrays;
+
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
+/**
+ * Atom over a predicate and terms encoded by the {@link Dictionary}.
+ */
 public class Atom {
 
-	private String predicate;
-	private String[] args;
+	private static final String RDF_TYPE = " <" + OWLRDFVocabulary.RDF_TYPE + "> <";
+
+	private final int predicate;
+	private final int[] args;
 
 	public Atom(String predicate, String... args) {
+		this.predicate = Dictionary.encode(predicate);
+		this.args = new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			this.args[i] = Dictionary.encode(args[i]);
+		}
+	}
+
+	/**
+	 * 
+	 * @param predicate
+	 *            id of the predicate in the {@link Dictionary}
+	 * @param args
+	 *            ids of the terms in the {@link Dictionary}
+	 */
+	public Atom(final int predicate, final int... args) {
 		this.predicate = predicate;
 		this.args = args;
 	}
@@ -18,24 +40,66 @@ public class Atom {
 
 	public String toTurtleAtom() {
 		if (isUnary())
-			return args[0] + " <" + OWLRDFVocabulary.RDF_TYPE + "> <" + predicate + "> .";
+			return Dictionary.decode(args[0]) + RDF_TYPE + Dictionary.decode(predicate) + "> .";
 		else
-			return args[0] + " <" + predicate + "> " + args[1] + " .";
+			return Dictionary.decode(args[0]) + " <" + Dictionary.decode(predicate) + "> " + Dictionary.decode(args[1]) + " .";
 	}
 
 	public String toRDFOxFormat() {
 		if (isUnary())
-			return "<" + predicate + ">(" + args[0] + ")";
+			return "<" + Dictionary.decode(predicate) + ">(" + Dictionary.decode(args[0]) + ")";
 		else
-			return "<" + predicate + ">(" + args[0] + ", " + args[1] + ")";
+			return "<" + Dictionary.decode(predicate) + ">(" + Dictionary.decode(args[0]) + ", " + Dictionary.decode(args[1]) + ")";
 	}
 
 	public String getPredicate() {
-		return predicate;
+		return Dictionary.decode(predicate);
 	}
 
 	public String[] getArgs() {
-		return args;
+		final String[] decodedArgs = new String[args.length];
+		for (int i = 0; i < args.length; i++) {
+			decodedArgs[i] = Dictionary.decode(args[i]);
+		}
+		return decodedArgs;
+	}
+
+	public int getPredicateId() {
+		return predicate;
+	}
+
+	public int getArity() {
+		return args.length;
+	}
+
+	/**
+	 * @param i
+	 * @return the id of the i-th argument in the {@link Dictionary}
+	 */
+	public int getArgId(final int i) {
+		return args[i];
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * predicate + Arrays.hashCode(args);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Atom)) {
+			return false;
+		}
+		final Atom other = (Atom) obj;
+		return predicate == other.predicate && Arrays.equals(args, other.args);
+	}
+
+	@Override
+	public String toString() {
+		return toRDFOxFormat();
 	}
 
 }
@@ -6,6 +6,11 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 
 public class Converter {
 
+	/* prefix of the name of the inverse of a role */
+	public static final String INVERSE_ROLE_PREFIX = "INV_";
+
+	/* names are rendered on each call and encoded by the Dictionary, which stores each of them once: no OWLAPI object is kept after conversion */
+
 	public static Atom ConceptToAtom(OWLClassExpression classExpression, OWLIndividual individual) {
 		return ConceptToAtom(classExpression, IndividualToString(individual));
 	}
@@ -29,7 +34,7 @@ public class Converter {
 			return simplified.asOWLObjectProperty().toStringID();
 		} else {
 			OWLObjectPropertyExpression inverseProperty = simplified.getInverseProperty().getSimplified();
-			return "INV_" + inverseProperty.asOWLObjectProperty().toStringID();
+			return INVERSE_ROLE_PREFIX + inverseProperty.asOWLObjectProperty().toStringID();
 		}
 	}
 	
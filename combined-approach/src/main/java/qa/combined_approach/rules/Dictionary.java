@@ -0,0 +1,69 @@
+package qa.combined_approach.rules;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global dictionary encoding the predicates and terms (individuals, variables) of {@link Atom}s to consecutive int ids, so that each distinct name is
+ * stored once, and atoms, rules and queries can be compared by ids. Names are rendered back only when atoms are written in RDFox or SPARQL syntax.
+ * Encoding of new names is synchronised; look-ups and decoding can be performed concurrently.<br>
+ * Ids are never released, so the dictionary lives as long as the JVM. Its size is bounded by the names of the programs: the classes, roles and
+ * individuals of the TBox, the variables of the rules, and the unnamed individuals and role conjunctions introduced by the materialisation. ABox files
+ * are imported into the data store directly, and the client queries of a {@link qa.combined_approach.query.QueryServer} are kept as strings (see
+ * {@link qa.combined_approach.query.ConjunctiveQuery}), so neither grows the dictionary. A long-lived process materialising several ABoxes over the
+ * same TBox, as a batch does, reuses the names of the TBox.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public final class Dictionary {
+
+	private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private static volatile String[] names = new String[1 << 16];
+	private static volatile int size;
+
+	private Dictionary() {
+	}
+
+	/**
+	 * Returns the id of given name, encoding it if it is new.
+	 *
+	 * @param name
+	 * @return
+	 */
+	public static int encode(final String name) {
+		final Integer existing = ids.get(name);
+		if (existing != null) {
+			return existing;
+		}
+		return encodeNew(name);
+	}
+
+	private static synchronized int encodeNew(final String name) {
+		final Integer existing = ids.get(name);
+		if (existing != null) {
+			return existing;
+		}
+		final int id = size;
+		if (id == names.length) {
+			names = Arrays.copyOf(names, id * 2);
+		}
+		names[id] = name;
+		size = id + 1;
+		ids.put(name, id);
+		return id;
+	}
+
+	public static String decode(final int id) {
+		return names[id];
+	}
+
+	/**
+	 * @return the number of encoded names
+	 */
+	public static int size() {
+		return size;
+	}
+
+}
@@ -2,45 +2,53 @@ package qa.combined_approach.rules;
 
 public class Query {
 
-	private final String[] querryVariables;
+	/* ids of the answer variables in the Dictionary */
+	private final int[] querryVariables;
 	public Atom[] body;
 	private String filter = "";
 
 	public Query(final String inputAnswerVar, final Atom inputBodyAtom) {
-		querryVariables = new String[] { inputAnswerVar };
+		querryVariables = new int[] { Dictionary.encode(inputAnswerVar) };
 		body = new Atom[] { inputBodyAtom };
 	}
 
 	public Query(final String inputAnswerVar, final Atom... inputBody) {
-		querryVariables = new String[] { inputAnswerVar };
+		querryVariables = new int[] { Dictionary.encode(inputAnswerVar) };
 		body = inputBody;
 	}
 
 	public Query(final String inputAnswerVar1, final String inputAnswerVar2, final Atom... inputBody) {
-		querryVariables = new String[] { inputAnswerVar1, inputAnswerVar2 };
+		querryVariables = new int[] { Dictionary.encode(inputAnswerVar1), Dictionary.encode(inputAnswerVar2) };
 		body = inputBody;
 	}
 
 	public Query(final String[] inputAnswerVar, final Atom... inputBody) {
-		querryVariables = inputAnswerVar;
+		querryVariables = new int[inputAnswerVar.length];
+		for (int i = 0; i < inputAnswerVar.length; i++) {
+			querryVariables[i] = Dictionary.encode(inputAnswerVar[i]);
+		}
 		body = inputBody;
 	}
 
 	public String toSPARQLQuery() {
-		String sparqlQuery = "SELECT DISTINCT ";
-		for (final String answerVar : querryVariables) {
-			sparqlQuery += answerVar + " ";
+		final StringBuilder sparqlQuery = new StringBuilder("SELECT DISTINCT ");
+		for (final int answerVar : querryVariables) {
+			sparqlQuery.append(Dictionary.decode(answerVar)).append(' ');
 		}
-		sparqlQuery += "WHERE {\n";
+		sparqlQuery.append("WHERE {\n");
 		for (final Atom bodyAtom : body) {
-			sparqlQuery += bodyAtom.toTurtleAtom() + "\n";
+			sparqlQuery.append(bodyAtom.toTurtleAtom()).append('\n');
 		}
-		sparqlQuery += filter + "\n}";
-		return sparqlQuery;
+		sparqlQuery.append(filter).append("\n}");
+		return sparqlQuery.toString();
 	}
 
 	public String[] getQuerryVariables() {
-		return querryVariables;
+		final String[] decodedVariables = new String[querryVariables.length];
+		for (int i = 0; i < querryVariables.length; i++) {
+			decodedVariables[i] = Dictionary.decode(querryVariables[i]);
+		}
+		return decodedVariables;
 	}
 
 	public Atom[] getBody() {
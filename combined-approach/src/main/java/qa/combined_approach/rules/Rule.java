@@ -9,6 +9,8 @@ import uk.ac.manchester.cs.owl.owlapi.InternalizedEntities;
 
 public class Rule {
 
+	private static final int OWL_THING = Dictionary.encode(InternalizedEntities.OWL_THING.toStringID());
+
 	private final Atom[] body;
 	private final Atom[] head;
 
@@ -50,13 +52,35 @@ public class Rule {
 		return body;
 	}
 
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(head) + Arrays.hashCode(body);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Rule)) {
+			return false;
+		}
+		final Rule other = (Rule) obj;
+		return Arrays.equals(head, other.head) && Arrays.equals(body, other.body);
+	}
+
+	@Override
+	public String toString() {
+		return toRDFOxFormat();
+	}
+
 	public static Atom[] eliminateTop(final Atom[] atomSet) {
 		boolean changed = false;
 		final List<Atom> atomSetCopy = new ArrayList<>(Arrays.asList(atomSet));
 		final Iterator<Atom> iterator = atomSetCopy.iterator();
 		while (iterator.hasNext()) {
 			final Atom atom = iterator.next();
-			if (atom.getPredicate().equals(InternalizedEntities.OWL_THING.toStringID()) && atom.getArgs().length == 1) {
+			if (atom.getPredicateId() == OWL_THING && atom.isUnary()) {
 				if (atomSetCopy.size() > 1) {
 					iterator.remove();
 					changed = true;
@@ -0,0 +1,79 @@
+package qa.combined_approach;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import qa.combined_approach.dataStore.DataStoreConfiguration;
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+
+/**
+ * Set-up shared by the tests that materialise a synthetic ontology with the in-memory data store.
+ *
+ * @author Irina Dragoste
+ *
+ */
+public final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @return a configuration of the in-memory data store
+	 */
+	public static DataStoreConfiguration inMemory() {
+		final DataStoreConfiguration dataStoreConfiguration = new DataStoreConfiguration();
+		dataStoreConfiguration.setBackend(DataStoreConfiguration.Backend.IN_MEMORY);
+		return dataStoreConfiguration;
+	}
+
+	/**
+	 * Writes an ABox of 200 individuals, 200 class assertions and 100 role assertions, split into given number of files, to a new temporary
+	 * folder.
+	 *
+	 * @param generator
+	 * @param files
+	 *            number of ABox files
+	 * @return the ABox folder
+	 * @throws IOException
+	 */
+	public static File writeABox(final SyntheticOntologyGenerator generator, final int files) throws IOException {
+		final File aboxFolder = Files.createTempDirectory("abox").toFile();
+		generator.writeABox(aboxFolder, 200, 200, 100, files);
+		return aboxFolder;
+	}
+
+	/**
+	 * @return a new temporary file to export a materialisation to, deleted on exit
+	 * @throws IOException
+	 */
+	public static File createExportFile() throws IOException {
+		final File exported = File.createTempFile("materialization", ".nt");
+		exported.deleteOnExit();
+		return exported;
+	}
+
+	/**
+	 * @param exported
+	 * @return the sorted facts of given exported materialisation
+	 * @throws IOException
+	 */
+	public static List<String> readSorted(final File exported) throws IOException {
+		final List<String> facts = Files.readAllLines(exported.toPath());
+		Collections.sort(facts);
+		return facts;
+	}
+
+	/**
+	 * @param exported
+	 * @return the sorted facts of given exported materialisation that do not mention unnamed individuals, whose names depend on the order of firing
+	 * @throws IOException
+	 */
+	public static List<String> readNamedSorted(final File exported) throws IOException {
+		return readSorted(exported).stream().filter(fact -> !fact.contains("<Unnamed_")).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,83 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import qa.combined_approach.abox.AboxImporter;
+import qa.combined_approach.abox.ImportConfiguration;
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+
+public class TestAboxImporter {
+
+	@Test
+	public void testImportFolder() throws IOException {
+		final File aboxFolder = writeABox(new SyntheticOntologyGenerator(), 4);
+		final DataStoreInterface expected = new InMemoryDataStore();
+		expected.importFiles(aboxFolder.listFiles());
+
+		/* one file compressed, and a file that is not an ABox file */
+		final File abox1 = new File(aboxFolder, "abox1.ttl");
+		try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(new File(aboxFolder, "abox1.ttl.gz")))) {
+			outputStream.write(Files.readAllBytes(abox1.toPath()));
+		}
+		abox1.delete();
+		Files.write(new File(aboxFolder, "README.txt").toPath(), "not an ABox file".getBytes(StandardCharsets.UTF_8));
+
+		final ImportConfiguration configuration = new ImportConfiguration();
+		configuration.setThreads(3);
+		configuration.setProgressInterval(1);
+		final AboxImporter importer = new AboxImporter(configuration);
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		assertEquals(4, importer.importFolder(dataStore, aboxFolder));
+		assertEquals(expected.countTriples(), dataStore.countTriples());
+		assertEquals(expected.countTriples(), importer.getImportedTriples());
+		expected.dispose();
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testImportBatches() throws IOException {
+		final File aboxFolder = writeABox(new SyntheticOntologyGenerator(), 4);
+		final DataStoreInterface expected = new InMemoryDataStore();
+		expected.importFiles(aboxFolder.listFiles());
+
+		/* a store that imports the files of each call itself, as RDFox */
+		final List<Integer> importedBatches = new ArrayList<>();
+		final DataStoreInterface dataStore = new InMemoryDataStore() {
+			@Override
+			public boolean isConcurrentImport() {
+				return false;
+			}
+
+			@Override
+			public void importFiles(final File... fileArray) {
+				importedBatches.add(fileArray.length);
+				super.importFiles(fileArray);
+			}
+		};
+		final ImportConfiguration configuration = new ImportConfiguration();
+		configuration.setThreads(3);
+		configuration.setBatchSize(3);
+		assertEquals(4, new AboxImporter(configuration).importFolder(dataStore, aboxFolder));
+		assertEquals(Arrays.asList(3, 1), importedBatches);
+		assertEquals(expected.countTriples(), dataStore.countTriples());
+		expected.dispose();
+		dataStore.dispose();
+	}
+
+}
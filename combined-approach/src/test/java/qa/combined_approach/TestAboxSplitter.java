@@ -0,0 +1,103 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static qa.combined_approach.Fixtures.createExportFile;
+import static qa.combined_approach.Fixtures.inMemory;
+import static qa.combined_approach.Fixtures.readNamedSorted;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestAboxSplitter {
+
+	@Test
+	public void testSplitMaterialization()
+			throws OWLOntologyCreationException, OWLOntologyStorageException, IOException, JRDFoxException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final OWLOntology ontology = generator.generateTBox();
+		final File aboxFolder = writeABox(generator, 1);
+		final long tboxAxioms = ontology.getLogicalAxiomCount();
+		addAssertions(ontology, new File(aboxFolder, "abox0.ttl"), generator.getNamespace());
+		final File ontologyFile = File.createTempFile("ontology", ".owl");
+		ontologyFile.deleteOnExit();
+		try (OutputStream outputStream = new FileOutputStream(ontologyFile)) {
+			ontology.getOWLOntologyManager().saveOntology(ontology, new OWLXMLDocumentFormat(), outputStream);
+		}
+
+		final File exported = createExportFile();
+		final OWLOntology loadedOntology = Util.loadOntologyWithImports(ontologyFile);
+		final long assertions = loadedOntology.getAxiomCount(AxiomType.CLASS_ASSERTION) + loadedOntology.getAxiomCount(AxiomType.OBJECT_PROPERTY_ASSERTION);
+		new Materialization(null, null, inMemory(), new OntologyToProgram(loadedOntology).getProgram(), exported.getPath()).materialize();
+		final List<String> loadedAsWhole = readNamedSorted(exported);
+
+		final AboxSplitter aboxSplitter = new AboxSplitter(ontologyFile, Files.createTempDirectory("split").toFile());
+		assertTrue(aboxSplitter.split());
+		assertEquals(assertions, aboxSplitter.getAssertionCount());
+		final OWLOntology tbox = Util.loadOntologyWithImports(aboxSplitter.getTBoxFile());
+		assertEquals(tboxAxioms, tbox.getLogicalAxiomCount());
+		assertEquals(0, tbox.getAxiomCount(AxiomType.CLASS_ASSERTION));
+
+		final Materialization materialization = new Materialization(null, null, inMemory(), new OntologyToProgram(tbox).getProgram(), exported.getPath());
+		materialization.setEmbeddedAboxFile(aboxSplitter.getAboxFile());
+		materialization.materialize();
+		assertEquals(loadedAsWhole, readNamedSorted(exported));
+	}
+
+	@Test
+	public void testNotOwlXml() throws IOException {
+		final File ontologyFile = File.createTempFile("ontology", ".ofn");
+		ontologyFile.deleteOnExit();
+		Files.write(ontologyFile.toPath(), "Prefix(:=<http://example.org/>)\nOntology(<http://example.org/ontology>\nClassAssertion(:A :a)\n)\n"
+				.getBytes(StandardCharsets.UTF_8));
+		final File splitFolder = Files.createTempDirectory("split").toFile();
+		final AboxSplitter aboxSplitter = new AboxSplitter(ontologyFile, splitFolder);
+		assertFalse(aboxSplitter.split());
+		assertFalse(aboxSplitter.getTBoxFile().exists());
+		assertFalse(aboxSplitter.getAboxFile().exists());
+		splitFolder.delete();
+	}
+
+	/**
+	 * Adds the facts of given ABox file to the ontology, as assertions, together with an inverse role assertion.
+	 */
+	private static void addAssertions(final OWLOntology ontology, final File aboxFile, final String namespace) throws IOException {
+		final OWLDataFactory factory = OWLManager.getOWLDataFactory();
+		for (final String fact : Files.readAllLines(aboxFile.toPath())) {
+			final String[] terms = fact.replaceAll("[<>]", "").split(" ");
+			if (terms.length < 3 || Util.NAMED_PRED.equals(terms[2])) {
+				continue;
+			}
+			if (OWLRDFVocabulary.RDF_TYPE.getIRI().toString().equals(terms[1])) {
+				ontology.add(factory.getOWLClassAssertionAxiom(factory.getOWLClass(IRI.create(terms[2])), factory.getOWLNamedIndividual(IRI.create(terms[0]))));
+			} else {
+				ontology.add(factory.getOWLObjectPropertyAssertionAxiom(factory.getOWLObjectProperty(IRI.create(terms[1])),
+						factory.getOWLNamedIndividual(IRI.create(terms[0])), factory.getOWLNamedIndividual(IRI.create(terms[2]))));
+			}
+		}
+		ontology.add(factory.getOWLObjectPropertyAssertionAxiom(factory.getOWLObjectInverseOf(factory.getOWLObjectProperty(IRI.create(namespace + "r0"))),
+				factory.getOWLNamedIndividual(IRI.create(namespace + "i0")), factory.getOWLNamedIndividual(IRI.create(namespace + "i1"))));
+	}
+
+}
@@ -0,0 +1,81 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+
+import com.google.common.collect.Sets;
+
+public class TestActiveRoleConjunctions {
+
+	private static final OWLDataFactory FACTORY = OWLManager.getOWLDataFactory();
+	private static final OWLObjectPropertyExpression R = FACTORY.getOWLObjectProperty(IRI.create("http://example.org/r"));
+	private static final OWLObjectPropertyExpression S = FACTORY.getOWLObjectProperty(IRI.create("http://example.org/s"));
+	private static final OWLObjectPropertyExpression T = FACTORY.getOWLObjectProperty(IRI.create("http://example.org/t"));
+	private static final OWLObjectPropertyExpression U = FACTORY.getOWLObjectProperty(IRI.create("http://example.org/u"));
+
+	@Test
+	public void testRoleConjunctionsContainingRole() {
+		final ActiveRoleConjunctions activeRoleConjunctions = activeSingleRoles();
+		final OWLObjectPropertyExpression rs = activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(R, S)).getRoleName();
+		final OWLObjectPropertyExpression st = activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(S, T)).getRoleName();
+		final OWLObjectPropertyExpression rst = activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(R, S, T)).getRoleName();
+		assertEquals(7, Sets.newHashSet(R, S, T, U, rs, st, rst).size());
+
+		assertEquals(Sets.newHashSet(R, rs, rst), activeRoleConjunctions.getRoleConjunctionsContainingRole(R));
+		assertEquals(Sets.newHashSet(S, rs, st, rst), activeRoleConjunctions.getRoleConjunctionsContainingRole(S));
+		assertEquals(Sets.newHashSet(T, st, rst), activeRoleConjunctions.getRoleConjunctionsContainingRole(T));
+		assertEquals(Sets.newHashSet(U), activeRoleConjunctions.getRoleConjunctionsContainingRole(U));
+		assertTrue(activeRoleConjunctions.getRoleConjunctionsContainingRole(R.getInverseProperty()).isEmpty());
+
+		/* the returned set is a copy */
+		final Set<OWLObjectPropertyExpression> containingU = activeRoleConjunctions.getRoleConjunctionsContainingRole(U);
+		final OWLObjectPropertyExpression ru = activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(R, U)).getRoleName();
+		assertEquals(Sets.newHashSet(U), containingU);
+		assertEquals(Sets.newHashSet(U, ru), activeRoleConjunctions.getRoleConjunctionsContainingRole(U));
+	}
+
+	@Test
+	public void testUniquePerRoleSet() {
+		final ActiveRoleConjunctions activeRoleConjunctions = activeSingleRoles();
+		final OWLObjectPropertyExpression rs = activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(R, S)).getRoleName();
+		activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(R, S, T));
+
+		assertEquals(rs, activeRoleConjunctions.getRoleConjunctionName(Sets.newHashSet(S, R)));
+		assertEquals(R, activeRoleConjunctions.getRoleConjunctionName(Sets.newHashSet(R)));
+		/* known roles without a role conjunction, and a role that occurs in no role conjunction */
+		assertNull(activeRoleConjunctions.getRoleConjunctionName(Sets.newHashSet(R, T)));
+		assertNull(activeRoleConjunctions.getRoleConjunctionName(Sets.newHashSet(R, R.getInverseProperty())));
+		try {
+			activeRoleConjunctions.addRoleConjunction(Sets.newHashSet(S, R));
+			fail();
+		} catch (final CombinedApproachException e) {
+			assertEquals(rs, activeRoleConjunctions.getRoleConjunctionName(Sets.newHashSet(R, S)));
+		}
+
+		/* the inverse role conjunction is named by the inverse name */
+		final OWLObjectPropertyExpression inverseRs = activeRoleConjunctions
+				.addRoleConjunction(Sets.newHashSet(R.getInverseProperty(), S.getInverseProperty())).getRoleName();
+		assertEquals(rs.getInverseProperty().getSimplified(), inverseRs);
+		assertEquals(Sets.newHashSet(R.getInverseProperty(), S.getInverseProperty()), activeRoleConjunctions.getRoleConjunctionByName(inverseRs));
+		assertEquals(Sets.newHashSet(inverseRs), activeRoleConjunctions.getRoleConjunctionsContainingRole(R.getInverseProperty()));
+	}
+
+	private static ActiveRoleConjunctions activeSingleRoles() {
+		final ActiveRoleConjunctions activeRoleConjunctions = new ActiveRoleConjunctions();
+		for (final OWLObjectPropertyExpression role : Sets.newHashSet(R, S, T, U)) {
+			activeRoleConjunctions.restoreRoleConjunction(new RoleConjunction(role, Sets.newHashSet(role)));
+		}
+		return activeRoleConjunctions;
+	}
+
+}
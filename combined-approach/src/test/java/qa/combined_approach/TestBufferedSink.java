@@ -0,0 +1,85 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static qa.combined_approach.Fixtures.createExportFile;
+import static qa.combined_approach.Fixtures.inMemory;
+import static qa.combined_approach.Fixtures.readSorted;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Query;
+import qa.combined_approach.rules.Rule;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestBufferedSink {
+
+	private static final String A = "http://example.org/A";
+	private static final String B = "http://example.org/B";
+
+	@Test
+	public void testSpillToTemporaryFile() throws IOException {
+		final BufferedSink facts = BufferedSink.inMemory(100);
+		final Set<String> individuals = new HashSet<>();
+		for (int i = 0; i < 20; i++) {
+			facts.appendFact(new Atom(A, "<http://example.org/i" + i + ">"));
+			individuals.add("<http://example.org/i" + i + ">");
+		}
+		assertTrue(facts.isSpilled());
+		final BufferedSink rules = BufferedSink.inMemory(10);
+		rules.appendRule(new Rule(new Atom(B, "?x"), new Atom(A, "?x")));
+		rules.appendRule(new Rule(new Atom(A, "?x"), new Atom(B, "?x")));
+		assertTrue(rules.isSpilled());
+
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		rules.importInto(dataStore);
+		facts.importInto(dataStore);
+		dataStore.reason();
+		/* facts written before and after the spill are imported */
+		assertEquals(individuals, dataStore.answerUnaryQuery(new Query("?x", new Atom(B, "?x"))));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testBelowMemoryLimit() throws IOException {
+		final BufferedSink facts = BufferedSink.inMemory();
+		facts.appendFact(new Atom(A, "<http://example.org/i>"));
+		assertFalse(facts.isSpilled());
+	}
+
+	@Test
+	public void testSameMaterializationWhenSpilled() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final OWLOntology tbox = generator.generateTBox();
+		final File aboxFolder = writeABox(generator, 2);
+
+		final List<String> inMemory = materialize(tbox, aboxFolder, BufferedSink.DEFAULT_MEMORY_LIMIT);
+		final List<String> spilled = materialize(tbox, aboxFolder, 1);
+		assertEquals(inMemory, spilled);
+	}
+
+	private static List<String> materialize(final OWLOntology tbox, final File aboxFolder, final int sinkMemoryLimit)
+			throws IOException, JRDFoxException {
+		final Program program = new OntologyToProgram(tbox).getProgram();
+		final File exported = createExportFile();
+		final Materialization materialization = new Materialization(null, aboxFolder, inMemory(), program, exported.getPath());
+		materialization.setSinkMemoryLimit(sinkMemoryLimit);
+		materialization.materialize();
+		return readSorted(exported);
+	}
+
+}
@@ -0,0 +1,87 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static qa.combined_approach.Fixtures.createExportFile;
+import static qa.combined_approach.Fixtures.inMemory;
+import static qa.combined_approach.Fixtures.readSorted;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import qa.combined_approach.main.LaunchMaterialization;
+import qa.combined_approach.metrics.IterationMetrics;
+import qa.combined_approach.metrics.MaterializationListener;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestCheckpoint {
+
+	private static final String INTERRUPTED = "interrupted";
+
+	@Test
+	public void testResumeAfterInterruption() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final OWLOntology tbox = generator.generateTBox();
+		final File aboxFolder = writeABox(generator, 2);
+		final File checkpointFolder = Files.createTempDirectory("checkpoint").toFile();
+
+		final File exported = createExportFile();
+		new Materialization(null, aboxFolder, inMemory(), new OntologyToProgram(tbox).getProgram(), exported.getPath()).materialize();
+		final List<String> uninterrupted = readSorted(exported);
+
+		assertFalse(new Checkpoint(checkpointFolder).load());
+		final Materialization interrupted = new Materialization(null, aboxFolder, inMemory(), new OntologyToProgram(tbox).getProgram(), null);
+		interrupted.setCheckpoint(new Checkpoint(checkpointFolder));
+		interrupted.addListener(new MaterializationListener() {
+			@Override
+			public void iterationCompleted(final IterationMetrics iteration) {
+				if (iteration.getIteration() == 2) {
+					throw new CombinedApproachException(INTERRUPTED);
+				}
+			}
+		});
+		try {
+			interrupted.materialize();
+			fail();
+		} catch (final CombinedApproachException e) {
+			assertEquals(INTERRUPTED, e.getMessage());
+		}
+
+		final Checkpoint checkpoint = new Checkpoint(checkpointFolder);
+		assertTrue(checkpoint.load());
+		assertEquals(1, checkpoint.getIteration());
+		final Materialization resumed = new Materialization(null, aboxFolder, inMemory(), checkpoint.getProgram(), exported.getPath());
+		resumed.setResumeFrom(checkpoint);
+		resumed.materialize();
+		/* same facts, including the names of the unnamed individuals */
+		assertEquals(uninterrupted, readSorted(exported));
+	}
+
+	@Test
+	public void testMissingAdditionsFolder() throws OWLOntologyCreationException, IOException {
+		final File checkpointFolder = Files.createTempDirectory("checkpoint").toFile();
+		final File additions = new File(checkpointFolder, "additions");
+		final Materialization materialization = new Materialization(null, null, inMemory(),
+				new OntologyToProgram(new SyntheticOntologyGenerator().generateTBox()).getProgram(), null);
+		System.setProperty(LaunchMaterialization.CHECKPOINT_ADDITIONS_PROPERTY, additions.getPath());
+		try {
+			LaunchMaterialization.configureCheckpoint(materialization, null, new Checkpoint(checkpointFolder));
+			fail();
+		} catch (final CombinedApproachException e) {
+			assertTrue(e.getMessage().contains(additions.getPath()));
+		} finally {
+			System.clearProperty(LaunchMaterialization.CHECKPOINT_ADDITIONS_PROPERTY);
+		}
+	}
+
+}
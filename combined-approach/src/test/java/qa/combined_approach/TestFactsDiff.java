@@ -0,0 +1,71 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class TestFactsDiff {
+
+	private static final String TYPE = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+	private static final String A = "<http://example.org/A>";
+	private static final String B = "<http://example.org/B>";
+	private static final String R = "<http://example.org/r>";
+
+	@Test
+	public void testParseNTriple() {
+		assertArrayEquals(new String[] { "<a>", R, "<b>" }, SortedFacts.parseNTriple("  <a>   " + R + "\t<b> . "));
+		assertArrayEquals(new String[] { "_:b0", R, "\"x y\"@en-GB" }, SortedFacts.parseNTriple("_:b0 " + R + " \"x y\"@en-GB."));
+		assertArrayEquals(new String[] { "<a>", R, "\"1 \\\" 2\"^^<http://www.w3.org/2001/XMLSchema#string>" },
+				SortedFacts.parseNTriple("<a> " + R + " \"1 \\\" 2\"^^<http://www.w3.org/2001/XMLSchema#string> ."));
+		assertNull(SortedFacts.parseNTriple("# comment"));
+		assertNull(SortedFacts.parseNTriple(""));
+	}
+
+	@Test
+	public void testDiffPerPredicate() throws IOException {
+		final File folder = Files.createTempDirectory("diff").toFile();
+		final File a = write(new File(folder, "a.nt"), "<x> " + TYPE + " " + A + " .", "<y> " + TYPE + " " + A + " .", "<x> " + R + " <y> .",
+				"<x> " + R + " <y> .");
+		final File b = write(new File(folder, "b.nt.gz"), "<y>  " + TYPE + " " + A + " .", "<y> " + TYPE + " " + B + " .", "<x> " + R + " <y>.");
+
+		/* a fact per run forces the external sort */
+		final FactsDiff diff = FactsDiff.compare(a, b, 1, folder, 10);
+		assertFalse(diff.isEqual());
+		assertEquals(2, diff.getCommon());
+		assertEquals(1, diff.getMissing());
+		assertEquals(1, diff.getExtra());
+		assertEquals(1, diff.getPredicateDiffs().get(A).getMissing());
+		assertEquals(Arrays.asList("<x> " + TYPE + " " + A + " ."), diff.getPredicateDiffs().get(A).getMissingSamples());
+		assertEquals(1, diff.getPredicateDiffs().get(B).getExtra());
+		assertEquals(1, diff.getPredicateDiffs().get(R).getCommon());
+		/* temporary run files are deleted */
+		assertEquals(2, folder.listFiles().length);
+
+		assertTrue(FactsDiff.compare(a, a).isEqual());
+	}
+
+	private static File write(final File file, final String... lines) throws IOException {
+		try (Writer writer = new OutputStreamWriter(
+				file.getName().endsWith(".gz") ? new GZIPOutputStream(Files.newOutputStream(file.toPath())) : Files.newOutputStream(file.toPath()),
+				StandardCharsets.UTF_8)) {
+			for (final String line : lines) {
+				writer.write(line + "\n");
+			}
+		}
+		return file;
+	}
+
+}
@@ -0,0 +1,147 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Query;
+import qa.combined_approach.rules.Rule;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+import uk.ac.ox.cs.JRDFox.store.DataStore.Format;
+
+public class TestInMemoryDataStore {
+
+	private static final String pathToTestFile = "src/test/data/sample.ttl";
+
+	private static final String A = "http://example.org/A";
+	private static final String B = "http://example.org/B";
+	private static final String R = "http://example.org/r";
+	private static final String SAME_AS = "http://www.w3.org/2002/07/owl#sameAs";
+
+	@Test
+	public void testImportTurtleABox() {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importFiles(new File(pathToTestFile));
+		dataStore.reason();
+
+		final Set<String> named = dataStore.answerUnaryQuery(new Query("?x", new Atom(Util.NAMED_PRED, "?x")));
+		assertFalse(named.isEmpty());
+		assertTrue(named.contains("<http://www.University1.edu>"));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testReasonSemiNaive() {
+		final DataStoreInterface dataStore = new InMemoryDataStore(2);
+		dataStore.importText("<a> <" + R + "> <b> .\n<b> <" + R + "> <c> .\n<c> <" + R + "> <d> .\n<a> a <" + A + "> .", TextFormat.TURTLE);
+		/* transitive closure, and propagation of A along r */
+		dataStore.importText(new Rule(new Atom(R, "?x", "?z"), new Atom(R, "?x", "?y"), new Atom(R, "?y", "?z")).toRDFOxFormat()
+				+ new Rule(new Atom(A, "?y"), new Atom(A, "?x"), new Atom(R, "?x", "?y")).toRDFOxFormat(), TextFormat.DATALOG);
+		dataStore.reason();
+
+		assertEquals(Sets.newHashSet("<b>", "<c>", "<d>"), dataStore.answerUnaryQuery(new Query("?y", new Atom(R, "<a>", "?y"))));
+		assertEquals(Sets.newHashSet("<a>", "<b>", "<c>", "<d>"), dataStore.answerUnaryQuery(new Query("?x", new Atom(A, "?x"))));
+		assertEquals(10, dataStore.countTriples());
+		assertEquals(6, dataStore.countFacts(new Atom(R, "?x", "?y")));
+		assertEquals(4, dataStore.countFacts(new Atom(A, "?x")));
+		assertEquals(0, dataStore.countFacts(new Atom(B, "?x")));
+
+		/* rules and facts imported after reasoning */
+		dataStore.importText(new Rule(new Atom(B, "?x"), new Atom(A, "?x"), new Atom(R, "?x", "<e>")).toRDFOxFormat(), TextFormat.DATALOG);
+		dataStore.importText("<d> <" + R + "> <e> .", TextFormat.TURTLE);
+		dataStore.reason();
+		assertEquals(Sets.newHashSet("<a>", "<b>", "<c>", "<d>"), dataStore.answerUnaryQuery(new Query("?x", new Atom(B, "?x"))));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testSameAs() {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText("<a> a <" + A + "> .\n<b> a <" + B + "> .\n<c> <" + R + "> <a> .", TextFormat.TURTLE);
+		dataStore.importText(new Rule(new Atom(SAME_AS, "<b>", "?x"), new Atom(A, "?x")).toRDFOxFormat()
+				+ new Rule(new Atom(B, "?y"), new Atom(R, "?x", "?y"), new Atom(B, "?y")).toRDFOxFormat(), TextFormat.DATALOG);
+		dataStore.reason();
+
+		assertEquals(Sets.newHashSet("<a>", "<b>"), dataStore.answerUnaryQuery(new Query("?x", new Atom(A, "?x"))));
+		assertEquals(Sets.newHashSet("<a>", "<b>"), dataStore.answerUnaryQuery(new Query("?y", new Atom(R, "<c>", "?y"))));
+		assertTrue(dataStore.answerASKQuery("ASK { <c> <" + R + "> <b> . }"));
+
+		final Map<String, String> substitution = new HashMap<>();
+		substitution.put("?x", "<c>");
+		substitution.put("?y", "<b>");
+		assertTrue(dataStore.answerQuery(new Query("?x", "?y", new Atom(R, "?x", "?y"), new Atom(B, "?y"))).contains(substitution));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testForEachAnswer() throws IOException {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText("<a> <" + R + "> <b> .\n<a> <" + R + "> <c> .\n<b> a <" + B + "> .\n<c> a <" + B + "> .\n<d> <" + R + "> <b> .",
+				TextFormat.TURTLE);
+		dataStore.reason();
+
+		final Set<List<String>> answers = new HashSet<>();
+		final long count = dataStore.forEachAnswer(new Query("?x", "?y", new Atom(R, "?x", "?y"), new Atom(B, "?y")),
+				tuple -> answers.add(Arrays.asList(tuple.clone())));
+		assertEquals(3, count);
+		assertEquals(answers(Arrays.asList("<a>", "<b>"), Arrays.asList("<a>", "<c>"), Arrays.asList("<d>", "<b>")), answers);
+		/* distinct answers */
+		assertEquals(2, dataStore.forEachAnswer(new Query("?x", new Atom(R, "?x", "?y")), tuple -> {
+		}));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testFilterNotExists() {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText("<a> a <" + A + "> .\n<b> a <" + A + "> .\n<b> a <" + B + "> .", TextFormat.TURTLE);
+		dataStore.reason();
+
+		final String query = "SELECT DISTINCT ?x WHERE {\n?x a <" + A + "> .\n FILTER NOT EXISTS {?x a <" + B + "> . }\n}";
+		assertEquals(Sets.newHashSet("<a>"), dataStore.answerSPARQLUnaryQuery(query));
+		assertFalse(dataStore.answerASKQuery("ASK { <a> a <" + B + "> }"));
+		assertFalse(dataStore.answerASKQuery("ASK { <unknown> a <" + B + "> }"));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testExport() throws IOException, JRDFoxException {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importFiles(new File(pathToTestFile));
+		dataStore.reason();
+
+		final File exported = File.createTempFile("export", ".nt");
+		exported.deleteOnExit();
+		dataStore.export(exported, Format.NTriples);
+		assertEquals(dataStore.countTriples(), Files.readAllLines(exported.toPath()).size());
+		dataStore.dispose();
+	}
+
+	@SafeVarargs
+	private static Set<List<String>> answers(final List<String>... answers) {
+		final Set<List<String>> answerSet = new HashSet<>();
+		for (final List<String> answer : answers) {
+			answerSet.add(answer);
+		}
+		return answerSet;
+	}
+
+}
@@ -0,0 +1,50 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static qa.combined_approach.Fixtures.createExportFile;
+import static qa.combined_approach.Fixtures.inMemory;
+import static qa.combined_approach.Fixtures.readNamedSorted;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestIncrementalUpdate {
+
+	@Test
+	public void testUpdate() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final OWLOntology tbox = generator.generateTBox();
+		final File aboxFolder = writeABox(generator, 2);
+		/* the initial ABox, without the additions of abox1.ttl */
+		final File initialAboxFolder = Files.createTempDirectory("abox").toFile();
+		Files.copy(new File(aboxFolder, "abox0.ttl").toPath(), new File(initialAboxFolder, "abox0.ttl").toPath());
+
+		final File exported = createExportFile();
+		new Materialization(null, aboxFolder, inMemory(), new OntologyToProgram(tbox).getProgram(), exported.getPath()).materialize();
+		final List<String> fromScratch = readNamedSorted(exported);
+
+		final Materialization materialization = new Materialization(null, initialAboxFolder, inMemory(), new OntologyToProgram(tbox).getProgram(),
+				exported.getPath());
+		materialization.setKeepDataStore(true);
+		materialization.materialize();
+		final List<String> initial = readNamedSorted(exported);
+		materialization.update(new File(aboxFolder, "abox1.ttl"));
+		materialization.dispose();
+
+		assertTrue(initial.size() < fromScratch.size());
+		/* same facts about the named individuals */
+		assertEquals(fromScratch, readNamedSorted(exported));
+	}
+
+}
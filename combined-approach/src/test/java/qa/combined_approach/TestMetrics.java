@@ -0,0 +1,109 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.dataStore.DataStoreConfiguration;
+import qa.combined_approach.metrics.AxiomProfiler;
+import qa.combined_approach.metrics.AxiomProfiler.AxiomProfile;
+import qa.combined_approach.metrics.IterationMetrics;
+import qa.combined_approach.metrics.MaterializationListener;
+import qa.combined_approach.metrics.MetricsWriter;
+import qa.combined_approach.metrics.PhaseMetrics;
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestMetrics {
+
+	private static final String ontologyFile = "src/test/data/first_paper_example/norm-paper_example.owl";
+
+	@Test
+	public void testListener() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final Program program = new OntologyToProgram(Util.loadOntologyWithImports(new File(ontologyFile))).getProgram();
+		final DataStoreConfiguration dataStoreConfiguration = new DataStoreConfiguration();
+		dataStoreConfiguration.setBackend(DataStoreConfiguration.Backend.IN_MEMORY);
+		final Materialization materialization = new Materialization(null, null, dataStoreConfiguration, program, null);
+
+		final List<String> phases = new ArrayList<>();
+		final List<IterationMetrics> iterations = new ArrayList<>();
+		materialization.addListener(new MaterializationListener() {
+			@Override
+			public void phaseCompleted(final PhaseMetrics phase) {
+				phases.add(phase.getName());
+			}
+
+			@Override
+			public void iterationCompleted(final IterationMetrics iteration) {
+				iterations.add(iteration);
+			}
+		});
+		final StringWriter csv = new StringWriter();
+		final MetricsWriter metricsWriter = new MetricsWriter(csv, MetricsWriter.Format.CSV);
+		materialization.addListener(metricsWriter);
+		materialization.materialize();
+
+		assertEquals(4, phases.size());
+		assertEquals(PhaseMetrics.MATERIALIZATION, phases.get(3));
+		int newUnnamedIndividuals = 0;
+		for (final IterationMetrics iteration : iterations) {
+			newUnnamedIndividuals += iteration.getNewUnnamedIndividuals();
+		}
+		assertEquals(program.getUnnamedIndividualNames().size(), newUnnamedIndividuals);
+		assertTrue(iterations.get(0).getQueries(HornAlchoiqAxiomType.EXISTS) > 0);
+		assertEquals(iterations.get(iterations.size() - 1).getTriplesBefore(), iterations.get(iterations.size() - 1).getTriplesAfter());
+
+		/* header, phases and iterations */
+		assertEquals(1 + phases.size() + iterations.size(), csv.toString().split("\n").length);
+	}
+
+	@Test
+	public void testAxiomProfiler() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final Program program = new OntologyToProgram(Util.loadOntologyWithImports(new File(ontologyFile))).getProgram();
+		final DataStoreConfiguration dataStoreConfiguration = new DataStoreConfiguration();
+		dataStoreConfiguration.setBackend(DataStoreConfiguration.Backend.IN_MEMORY);
+		final Materialization materialization = new Materialization(null, null, dataStoreConfiguration, program, null);
+		final AxiomProfiler axiomProfiler = new AxiomProfiler();
+		materialization.setAxiomProfiler(axiomProfiler);
+		materialization.materialize();
+
+		final List<AxiomProfile> profiles = axiomProfiler.getProfiles();
+		assertFalse(profiles.isEmpty());
+		int unnamedIndividuals = 0;
+		for (int i = 0; i < profiles.size(); i++) {
+			assertTrue(profiles.get(i).getFirings() > 0);
+			assertTrue(profiles.get(i).getQueries() > 0);
+			if (i > 0) {
+				assertTrue(profiles.get(i - 1).getFiringNanos() >= profiles.get(i).getFiringNanos());
+			}
+			unnamedIndividuals += profiles.get(i).getUnnamedIndividuals();
+		}
+		assertEquals(program.getUnnamedIndividualNames().size(), unnamedIndividuals);
+
+		final ByteArrayOutputStream report = new ByteArrayOutputStream();
+		axiomProfiler.printReport(new PrintStream(report), 2);
+		/* title, header and top 2 axioms */
+		assertEquals(4, report.toString().split("\n").length);
+	}
+
+	@Test
+	public void testJsonLines() throws IOException {
+		final StringWriter json = new StringWriter();
+		final MetricsWriter metricsWriter = new MetricsWriter(json, MetricsWriter.Format.JSON_LINES);
+		metricsWriter.setRun("a\"b");
+		metricsWriter.phaseCompleted(new PhaseMetrics(PhaseMetrics.IMPORT, 12).put("triples", 3));
+		assertEquals("{\"run\":\"a\\\"b\",\"record\":\"phase\",\"name\":\"import\",\"durationMs\":12,\"triples\":3}\n", json.toString());
+	}
+
+}
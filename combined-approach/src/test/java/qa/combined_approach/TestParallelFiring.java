@@ -0,0 +1,46 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static qa.combined_approach.Fixtures.createExportFile;
+import static qa.combined_approach.Fixtures.inMemory;
+import static qa.combined_approach.Fixtures.readSorted;
+import static qa.combined_approach.Fixtures.writeABox;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestParallelFiring {
+
+	@Test
+	public void testSameResultAsSequential() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final OWLOntology tbox = generator.generateTBox();
+		final File aboxFolder = writeABox(generator, 2);
+
+		final List<String> sequential = materialize(tbox, aboxFolder, 1);
+		final List<String> parallel = materialize(tbox, aboxFolder, 4);
+		assertTrue(sequential.stream().anyMatch(fact -> fact.contains("<Unnamed_")));
+		/* same facts, including the names of the unnamed individuals */
+		assertEquals(sequential, parallel);
+	}
+
+	private static List<String> materialize(final OWLOntology tbox, final File aboxFolder, final int firingThreads)
+			throws IOException, JRDFoxException {
+		final Program program = new OntologyToProgram(tbox).getProgram();
+		final File exported = createExportFile();
+		final Materialization materialization = new Materialization(null, aboxFolder, inMemory(), program, exported.getPath());
+		materialization.setFiringThreads(firingThreads);
+		materialization.materialize();
+		return readSorted(exported);
+	}
+
+}
@@ -0,0 +1,74 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+
+public class TestProgramCache {
+
+	private static final String pathToOntology = "src/test/data/first_paper_example/norm-paper_example.owl";
+
+	@Test
+	public void testRoundTrip() throws OWLOntologyCreationException, IOException {
+		final File ontologyFile = new File(pathToOntology);
+		final OWLOntology ontology = Util.loadOntologyWithImports(ontologyFile);
+		final Program program = new OntologyToProgram(ontology).getProgram();
+
+		final File cacheFolder = Files.createTempDirectory("programCache").toFile();
+		final ProgramCache programCache = new ProgramCache(cacheFolder);
+		assertNull(programCache.load(ontologyFile));
+		assertTrue(programCache.store(ontologyFile, ontology, program));
+		final Program cachedProgram = programCache.load(ontologyFile);
+
+		assertEquals(program.getRules(), cachedProgram.getRules());
+		assertEquals(program.getFacts(), cachedProgram.getFacts());
+		assertEquals(program.getSuperProperties().getSuperProperties(), cachedProgram.getSuperProperties().getSuperProperties());
+		assertEquals(program.getActiveRoleConjunctions().getRoleConjunctionsByName(),
+				cachedProgram.getActiveRoleConjunctions().getRoleConjunctionsByName());
+		for (final HornAlchoiqAxiomType axiomType : HornAlchoiqAxiomType.values()) {
+			assertEquals(new HashSet<>(program.getUnprocessedAxioms(axiomType)), new HashSet<>(cachedProgram.getUnprocessedAxioms(axiomType)));
+		}
+		assertEquals(program.getCountAxiomsByType(), cachedProgram.getCountAxiomsByType());
+
+		programCache.getCacheFile(ontologyFile).delete();
+		cacheFolder.delete();
+	}
+
+	@Test
+	public void testChangedImport() throws OWLOntologyCreationException, IOException {
+		final File folder = Files.createTempDirectory("ontologies").toFile();
+		final File importedFile = new File(folder, "imported.owl");
+		final String importedIRI = importedFile.toURI().toString();
+		writeOntology(importedFile, importedIRI, "SubClassOf(:A :B)");
+		final File ontologyFile = new File(folder, "ontology.owl");
+		writeOntology(ontologyFile, "http://example.org/ontology", "Import(<" + importedIRI + ">)\nSubClassOf(:B :C)");
+
+		final OWLOntology ontology = Util.loadOntologyWithImports(ontologyFile);
+		final ProgramCache programCache = new ProgramCache(new File(folder, "cache"));
+		assertTrue(programCache.store(ontologyFile, ontology, new OntologyToProgram(ontology).getProgram()));
+		assertNotNull(programCache.load(ontologyFile));
+
+		/* only the imported ontology changes */
+		writeOntology(importedFile, importedIRI, "SubClassOf(:A :B)\nSubClassOf(:C :D)");
+		assertNull(programCache.load(ontologyFile));
+	}
+
+	private static void writeOntology(final File file, final String ontologyIRI, final String axioms) throws IOException {
+		final String ontology = "Prefix(:=<http://example.org/>)\nOntology(<" + ontologyIRI + ">\n" + axioms + "\n)\n";
+		Files.write(file.toPath(), ontology.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,138 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static qa.combined_approach.Fixtures.inMemory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.query.QueryAnswerer;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Query;
+import uk.ac.ox.cs.JRDFox.JRDFoxException;
+
+public class TestQueryAnswerer {
+
+	private static final String A = "http://example.org/A";
+	private static final String R = "http://example.org/r";
+	private static final String S = "http://example.org/s";
+
+	/**
+	 * <a> and <b> have distinct r-successors in the models, represented by the same unnamed individual. The unnamed individuals have s-successors
+	 * represented by each other.
+	 */
+	private static DataStoreInterface materialization() {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText("<a> a <" + Util.NAMED_PRED + "> .\n<b> a <" + Util.NAMED_PRED + "> .\n<c> a <" + Util.NAMED_PRED + "> .\n" //
+				+ "<Unnamed_1> a <" + Util.UNNAMED_PRED + "> .\n<Unnamed_2> a <" + Util.UNNAMED_PRED + "> .\n" //
+				+ "<a> <" + R + "> <Unnamed_1> .\n<b> <" + R + "> <Unnamed_1> .\n<Unnamed_1> <" + S + "> <Unnamed_2> .\n" //
+				+ "<Unnamed_2> <" + S + "> <Unnamed_1> .\n<Unnamed_1> a <" + A + "> .\n<a> <" + R + "> <c> .\n<b> <" + R + "> <c> .\n<c> a <" + A + "> .",
+				TextFormat.TURTLE);
+		dataStore.reason();
+		return dataStore;
+	}
+
+	@Test
+	public void testAnswerVariablesNamed() throws IOException {
+		final DataStoreInterface dataStore = materialization();
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(dataStore);
+		assertEquals(Collections.singleton(Collections.singletonList("<c>")), queryAnswerer.answer(new Query("?y", new Atom(A, "?y"))));
+		assertEquals(answers(Collections.singletonList("<a>"), Collections.singletonList("<b>")),
+				queryAnswerer.answer(new Query("?x", new Atom(R, "?x", "?y"), new Atom(A, "?y"))));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testFork() throws IOException {
+		final DataStoreInterface dataStore = materialization();
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(dataStore);
+		final Query query = new Query("?x", "?y", new Atom(R, "?x", "?z"), new Atom(R, "?y", "?z"));
+		/* (a, b) only through the named individual c */
+		assertEquals(answers(Arrays.asList("<a>", "<a>"), Arrays.asList("<a>", "<b>"), Arrays.asList("<b>", "<a>"), Arrays.asList("<b>", "<b>")),
+				queryAnswerer.answer(query));
+
+		final Query anonymousQuery = new Query("?x", "?y", new Atom(R, "?x", "?z"), new Atom(R, "?y", "?z"), new Atom(S, "?z", "?w"));
+		assertEquals(answers(Arrays.asList("<a>", "<a>"), Arrays.asList("<b>", "<b>")), queryAnswerer.answer(anonymousQuery));
+		assertEquals(2, queryAnswerer.getSpuriousCount());
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testCycle() throws IOException {
+		final DataStoreInterface dataStore = materialization();
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(dataStore);
+		assertEquals(Collections.singleton(Collections.singletonList("<a>")),
+				queryAnswerer.answer(new Query("?x", new Atom(R, "<a>", "?y"), new Atom(S, "?y", "?z"), new Atom(R, "?x", "?y"), new Atom(A, "?y"))));
+		assertEquals(Collections.emptySet(), queryAnswerer.answer(new Query("?x", new Atom(R, "?x", "?y"), new Atom(S, "?y", "?z"), new Atom(S, "?z", "?y"))));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testParallelFiltration() throws IOException {
+		final DataStoreInterface dataStore = materialization();
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(dataStore);
+		final Query query = new Query("?x", "?y", new Atom(R, "?x", "?z"), new Atom(R, "?y", "?z"), new Atom(S, "?z", "?w"));
+		final Set<List<String>> sequential = queryAnswerer.answer(query);
+		queryAnswerer.setThreads(4);
+		queryAnswerer.setBatchSize(1);
+		assertEquals(sequential, queryAnswerer.answer(query));
+		dataStore.dispose();
+	}
+
+	/**
+	 * The materialisation of an existential restriction over an inverse role has facts of the inverse role, from the named individuals to the
+	 * unnamed individual.
+	 */
+	@Test
+	public void testInverseRole() throws OWLOntologyCreationException, IOException, JRDFoxException {
+		final OWLDataFactory factory = OWLManager.getOWLDataFactory();
+		final OWLClass a = factory.getOWLClass(IRI.create(A));
+		final OWLClass b = factory.getOWLClass(IRI.create("http://example.org/B"));
+		final OWLObjectProperty r = factory.getOWLObjectProperty(IRI.create(R));
+		final OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+		ontology.add(factory.getOWLSubClassOfAxiom(a, factory.getOWLObjectMinCardinality(1, factory.getOWLObjectInverseOf(r), b)));
+		ontology.add(factory.getOWLClassAssertionAxiom(a, factory.getOWLNamedIndividual(IRI.create("http://example.org/a"))));
+		ontology.add(factory.getOWLClassAssertionAxiom(a, factory.getOWLNamedIndividual(IRI.create("http://example.org/b"))));
+		final Materialization materialization = new Materialization(null, null, inMemory(), new OntologyToProgram(ontology).getProgram(), null);
+		materialization.setKeepDataStore(true);
+		materialization.materialize();
+
+		final QueryAnswerer queryAnswerer = new QueryAnswerer(materialization.getDataStore());
+		final Set<List<String>> expected = answers(Arrays.asList("<http://example.org/a>", "<http://example.org/a>"),
+				Arrays.asList("<http://example.org/b>", "<http://example.org/b>"));
+		assertEquals(expected, queryAnswerer.answer(new Query("?x1", "?x2", new Atom(R, "?y", "?x1"), new Atom(R, "?y", "?x2"))));
+		assertEquals(2, queryAnswerer.getSpuriousCount());
+		/* the same query, over the inverse role */
+		assertEquals(expected, queryAnswerer.answer(new Query("?x1", "?x2", new Atom("INV_" + R, "?x1", "?y"), new Atom("INV_" + R, "?x2", "?y"))));
+		assertEquals(2, queryAnswerer.getSpuriousCount());
+		/* an inverse atom and a direct atom */
+		assertEquals(expected, queryAnswerer.answer(new Query("?x1", "?x2", new Atom(R, "?y", "?x1"), new Atom("INV_" + R, "?x2", "?y"))));
+		materialization.dispose();
+	}
+
+	@SafeVarargs
+	private static Set<List<String>> answers(final List<String>... answers) {
+		final Set<List<String>> answerSet = new HashSet<>();
+		for (final List<String> answer : answers) {
+			answerSet.add(answer);
+		}
+		return answerSet;
+	}
+
+}
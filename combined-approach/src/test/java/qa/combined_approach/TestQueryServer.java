@@ -0,0 +1,80 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.query.QueryServer;
+import qa.combined_approach.query.QueryServerConfiguration;
+import qa.combined_approach.rules.Dictionary;
+
+public class TestQueryServer {
+
+	private static final String A = "http://example.org/A";
+	private static final String R = "http://example.org/r";
+
+	@Test
+	public void testAnswerQueries() throws IOException {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText("<a> a <" + Util.NAMED_PRED + "> .\n<b> a <" + Util.NAMED_PRED + "> .\n<Unnamed_1> a <" + Util.UNNAMED_PRED + "> .\n" //
+				+ "<a> <" + R + "> <Unnamed_1> .\n<b> <" + R + "> <Unnamed_1> .\n<Unnamed_1> a <" + A + "> .", TextFormat.TURTLE);
+		dataStore.reason();
+		final QueryServerConfiguration configuration = new QueryServerConfiguration();
+		configuration.setPort(0);
+		configuration.setThreads(2);
+
+		try (QueryServer server = new QueryServer(dataStore, configuration)) {
+			server.start();
+			final int dictionarySize = Dictionary.size();
+			final String query = "SELECT ?x ?y WHERE { ?x <" + R + "> ?z . ?y <" + R + "> ?z . ?z a <" + A + "> }";
+			final String answers = "?x\t?y\n<a>\t<a>\n<b>\t<b>\n";
+			assertEquals(answers, sortRows(request(server, query, 200)));
+			assertEquals(answers, sortRows(request(server, query, 200)));
+			assertEquals(1, server.getCacheHits());
+			assertEquals("?x\n", request(server, "SELECT ?x WHERE { ?x a <" + A + "> . }", 200));
+			request(server, "SELECT ?x WHERE { ?x ?p ?y }", 400);
+			assertEquals("?u\t?v\n", request(server, "SELECT ?u ?v WHERE { ?u <http://example.org/unknown> ?v }", 200));
+			/* client queries do not grow the dictionary of the program */
+			assertEquals(dictionarySize, Dictionary.size());
+		}
+		dataStore.dispose();
+	}
+
+	private static String request(final QueryServer server, final String query, final int expectedStatus) throws IOException {
+		final URL url = new URL("http://localhost:" + server.getPort() + QueryServer.QUERY_PATH + "?query=" + URLEncoder.encode(query, "UTF-8"));
+		final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			assertEquals(expectedStatus, connection.getResponseCode());
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (InputStream inputStream = (expectedStatus == 200) ? connection.getInputStream() : connection.getErrorStream()) {
+				final byte[] buffer = new byte[4096];
+				for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+					bytes.write(buffer, 0, read);
+				}
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/* the answers are not ordered */
+	private static String sortRows(final String answers) {
+		final String[] rows = answers.split("\n");
+		Arrays.sort(rows, 1, rows.length);
+		return String.join("\n", rows) + "\n";
+	}
+
+}
@@ -0,0 +1,50 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.Rule;
+
+public class TestRuleRegistry {
+
+	private static final String C = "http://example.org/C";
+	private static final String R = "http://example.org/R";
+
+	@Test
+	public void testStructuralEquality() {
+		final Rule rule = new Rule(new Atom(R, "?x", "<Unnamed_0>"), new Atom(C, "?x"));
+		final Rule equalRule = new Rule(new Atom(R, "?x", "<Unnamed_0>"), new Atom(C, "?x"));
+		assertEquals(rule, equalRule);
+		assertEquals(rule.hashCode(), equalRule.hashCode());
+		assertFalse(rule.equals(new Rule(new Atom(R, "?x", "<Unnamed_1>"), new Atom(C, "?x"))));
+		assertFalse(rule.equals(new Rule(new Atom(C, "?x"), new Atom(R, "?x", "<Unnamed_0>"))));
+	}
+
+	@Test
+	public void testFilterSuppressesRegisteredRules() throws IOException {
+		final RuleRegistry ruleRegistry = new RuleRegistry();
+		final Rule rule = new Rule(new Atom(R, "?x", "<Unnamed_0>"), new Atom(C, "?x"));
+
+		final BufferedSink firstIteration = BufferedSink.inMemory();
+		ruleRegistry.filter(firstIteration).appendRule(rule);
+		assertFalse(firstIteration.isEmpty());
+
+		final BufferedSink secondIteration = BufferedSink.inMemory();
+		final RuleSink filter = ruleRegistry.filter(secondIteration);
+		filter.appendRule(new Rule(new Atom(R, "?x", "<Unnamed_0>"), new Atom(C, "?x")));
+		filter.close();
+		assertTrue(secondIteration.isEmpty());
+
+		assertEquals(1, ruleRegistry.size());
+		assertEquals(1, ruleRegistry.getSuppressed());
+		assertSame(rule, ruleRegistry.getCanonical(new Rule(new Atom(R, "?x", "<Unnamed_0>"), new Atom(C, "?x"))));
+	}
+
+}
@@ -0,0 +1,42 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import com.google.common.collect.Sets;
+
+public class TestSuperProperties {
+
+	private final OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+	private final OWLObjectProperty p = dataFactory.getOWLObjectProperty(IRI.create("http://example.org/p"));
+	private final OWLObjectProperty q = dataFactory.getOWLObjectProperty(IRI.create("http://example.org/q"));
+	private final OWLObjectProperty r = dataFactory.getOWLObjectProperty(IRI.create("http://example.org/r"));
+	private final OWLObjectProperty s = dataFactory.getOWLObjectProperty(IRI.create("http://example.org/s"));
+
+	@Test
+	public void testTransitiveClosureWithCycle() {
+		final SuperProperties superProperties = new SuperProperties();
+		for (final OWLObjectProperty property : new OWLObjectProperty[] { p, q, r, s }) {
+			superProperties.addPropertyAndItsInverse(property);
+		}
+		/* p < q, q < r, r < q */
+		superProperties.addPropertySubsumptionAndItsInverse(p, q);
+		superProperties.addPropertySubsumptionAndItsInverse(q, r);
+		superProperties.addPropertySubsumptionAndItsInverse(r, q);
+		superProperties.computeSuperProperties();
+
+		assertEquals(Sets.newHashSet(p, q, r), superProperties.getSuperProperties(p));
+		assertEquals(Sets.newHashSet(q, r), superProperties.getSuperProperties(q));
+		assertEquals(Sets.newHashSet(q, r), superProperties.getSuperProperties(r));
+		assertEquals(Sets.newHashSet(s), superProperties.getSuperProperties(s));
+		assertEquals(Sets.newHashSet(p.getInverseProperty(), q.getInverseProperty(), r.getInverseProperty()),
+				superProperties.getSuperProperties(p.getInverseProperty()));
+		assertEquals(8, superProperties.getSuperProperties().size());
+	}
+
+}
@@ -0,0 +1,60 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.generator.SyntheticOntologyGenerator;
+import qa.combined_approach.rules.Atom;
+import qa.combined_approach.rules.HornAlchoiqAxiomType;
+import qa.combined_approach.rules.Query;
+
+public class TestSyntheticOntologyGenerator {
+
+	@Test
+	public void testTBoxInNormalForm() throws OWLOntologyCreationException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		generator.setClasses(20);
+		generator.setRoles(9);
+		generator.setRoleHierarchyDepth(2);
+		final OWLOntology tbox = generator.generateTBox();
+
+		/* all axioms are accepted */
+		final Program program = new OntologyToProgram(tbox).getProgram();
+		/* role chains r0 < r1 < r2, r3 < r4 < r5, r6 < r7 < r8 */
+		assertEquals(6, (int) program.getCountAxiomsByType().get(HornAlchoiqAxiomType.ROLE_SUBSUMPTION));
+		assertEquals(generator.getNominalAxioms(), (int) program.getCountAxiomsByType().get(HornAlchoiqAxiomType.NOMINAL));
+		final OWLObjectProperty r0 = tbox.getOWLOntologyManager().getOWLDataFactory()
+				.getOWLObjectProperty(IRI.create(SyntheticOntologyGenerator.DEFAULT_NAMESPACE + "r0"));
+		assertEquals(3, program.getSuperProperties().getSuperProperties(r0).size());
+
+		/* deterministic */
+		assertEquals(tbox.axioms().collect(Collectors.toSet()), generator.generateTBox().axioms().collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void testABox() throws IOException {
+		final SyntheticOntologyGenerator generator = new SyntheticOntologyGenerator();
+		final File aboxFolder = Files.createTempDirectory("abox").toFile();
+		generator.writeABox(aboxFolder, 50, 100, 80, 3);
+		assertEquals(3, aboxFolder.listFiles().length);
+
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importFiles(aboxFolder.listFiles());
+		dataStore.reason();
+		assertEquals(50, dataStore.answerUnaryQuery(new Query("?x", new Atom(Util.NAMED_PRED, "?x"))).size());
+		dataStore.dispose();
+	}
+
+}
@@ -0,0 +1,100 @@
+package qa.combined_approach;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+import qa.combined_approach.dataStore.DataStoreInterface;
+import qa.combined_approach.dataStore.TextFormat;
+import qa.combined_approach.dataStore.memory.InMemoryDataStore;
+import qa.combined_approach.export.ExportConfiguration;
+import qa.combined_approach.export.TripleExporter;
+
+public class TestTripleExporter {
+
+	private static final String TYPE = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+	private static final String A = "<http://example.org/A>";
+	private static final String R = "<http://example.org/r>";
+
+	private static final String A_FACT = "<a> " + TYPE + " " + A + " .";
+	private static final String R_FACT = "<a> " + R + " <b> .";
+	private static final String NAMED_FACT = "<a> " + TYPE + " <" + Util.NAMED_PRED + "> .";
+	private static final String UNNAMED_FACT = "<Unnamed_0> " + TYPE + " <" + Util.UNNAMED_PRED + "> .";
+	private static final String UNNAMED_A_FACT = "<Unnamed_0> " + TYPE + " " + A + " .";
+	private static final String INVERSE_FACT = "<b> <INV_http://example.org/r> <a> .";
+	private static final String ROLE_CONJUNCTION_FACT = "<a> <RS_0> <Unnamed_0> .";
+
+	private static DataStoreInterface createDataStore() {
+		final DataStoreInterface dataStore = new InMemoryDataStore();
+		dataStore.importText(String.join("\n", A_FACT, R_FACT, NAMED_FACT, UNNAMED_FACT, UNNAMED_A_FACT, INVERSE_FACT, ROLE_CONJUNCTION_FACT),
+				TextFormat.TURTLE);
+		dataStore.reason();
+		return dataStore;
+	}
+
+	@Test
+	public void testFilters() throws IOException {
+		final DataStoreInterface dataStore = createDataStore();
+		final File folder = Files.createTempDirectory("export").toFile();
+
+		final ExportConfiguration configuration = new ExportConfiguration();
+		final TripleExporter exporter = new TripleExporter(configuration);
+		assertEquals(7, exporter.export(dataStore, new File(folder, "all.nt")));
+
+		configuration.setFilterAuxiliaryFacts(true);
+		exporter.export(dataStore, new File(folder, "auxiliary.nt"));
+		assertEquals(Sets.newHashSet(A_FACT, R_FACT, UNNAMED_A_FACT), readLines(new File(folder, "auxiliary.nt")));
+		assertEquals(4, exporter.getFilteredCount());
+
+		configuration.setDropUnnamedIndividuals(true);
+		exporter.export(dataStore, new File(folder, "named.nt"));
+		assertEquals(Sets.newHashSet(A_FACT, R_FACT), readLines(new File(folder, "named.nt")));
+		dataStore.dispose();
+	}
+
+	@Test
+	public void testCompressedChunks() throws IOException {
+		final DataStoreInterface dataStore = createDataStore();
+		final File folder = Files.createTempDirectory("export").toFile();
+
+		final ExportConfiguration configuration = new ExportConfiguration();
+		configuration.setCompression(ExportConfiguration.Compression.GZIP);
+		configuration.setMaxChunkBytes(60);
+		configuration.setThreads(2);
+		final TripleExporter exporter = new TripleExporter(configuration);
+		exporter.export(dataStore, new File(folder, "out.nt"));
+
+		final Set<String> exported = new HashSet<>();
+		for (int i = 0; i < exporter.getChunkCount(); i++) {
+			exported.addAll(readLines(new File(folder, String.format("out.nt.%05d.gz", i))));
+		}
+		assertEquals(folder.listFiles().length, exporter.getChunkCount());
+		assertEquals(Sets.newHashSet(A_FACT, R_FACT, NAMED_FACT, UNNAMED_FACT, UNNAMED_A_FACT, INVERSE_FACT, ROLE_CONJUNCTION_FACT), exported);
+		dataStore.dispose();
+	}
+
+	private static Set<String> readLines(final File file) throws IOException {
+		final Set<String> lines = new HashSet<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				file.getName().endsWith(".gz") ? new GZIPInputStream(new FileInputStream(file)) : new FileInputStream(file), StandardCharsets.UTF_8))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+}